@@ -16,7 +16,6 @@
 package io.arenadata.dtm.cache.service;
 
 import io.arenadata.dtm.common.cache.QueryTemplateKey;
-import io.arenadata.dtm.common.cache.QueryTemplateValue;
 import io.arenadata.dtm.common.cache.SourceQueryTemplateValue;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 
@@ -25,10 +24,10 @@ import java.util.function.Predicate;
 
 public class EvictQueryTemplateCacheServiceImpl implements EvictQueryTemplateCacheService {
     private final CacheService<QueryTemplateKey, SourceQueryTemplateValue> cacheService;
-    private final List<CacheService<QueryTemplateKey, QueryTemplateValue>> cacheServiceList;
+    private final List<? extends CacheService<QueryTemplateKey, ?>> cacheServiceList;
 
     public EvictQueryTemplateCacheServiceImpl(CacheService<QueryTemplateKey, SourceQueryTemplateValue> cacheService,
-                                              List<CacheService<QueryTemplateKey, QueryTemplateValue>> cacheServiceList) {
+                                              List<? extends CacheService<QueryTemplateKey, ?>> cacheServiceList) {
         this.cacheService = cacheService;
         this.cacheServiceList = cacheServiceList;
     }
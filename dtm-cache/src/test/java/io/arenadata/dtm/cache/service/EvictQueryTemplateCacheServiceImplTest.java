@@ -63,9 +63,10 @@ public class EvictQueryTemplateCacheServiceImplTest {
     private final CacheService<QueryTemplateKey, QueryTemplateValue> adbCacheService = mock(CacheService.class);
     private final CacheService<QueryTemplateKey, QueryTemplateValue> adgCacheService = mock(CacheService.class);
     private final CacheService<QueryTemplateKey, QueryTemplateValue> adqmCacheService = mock(CacheService.class);
+    private final CacheService<QueryTemplateKey, Object> otherCacheService = mock(CacheService.class);
     private final EvictQueryTemplateCacheService evictQueryTemplateCacheService =
             new EvictQueryTemplateCacheServiceImpl(cacheService,
-                    Arrays.asList(adbCacheService, adgCacheService, adqmCacheService));
+                    Arrays.asList(adbCacheService, adgCacheService, adqmCacheService, otherCacheService));
 
     @BeforeEach
     void init() {
@@ -73,6 +74,7 @@ public class EvictQueryTemplateCacheServiceImplTest {
         doNothing().when(adbCacheService).removeIf(any());
         doNothing().when(adgCacheService).removeIf(any());
         doNothing().when(adqmCacheService).removeIf(any());
+        doNothing().when(otherCacheService).removeIf(any());
     }
 
     @Test
@@ -98,6 +100,7 @@ public class EvictQueryTemplateCacheServiceImplTest {
         validate(adbCacheService, expectedTemplateList);
         validate(adgCacheService, expectedTemplateList);
         validate(adqmCacheService, expectedTemplateList);
+        validate(otherCacheService, expectedTemplateList);
     }
 
     private void validate(CacheService<QueryTemplateKey, ?> cacheService, List<String> expectedTemplateList) {
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.common.converter;
+
+import io.arenadata.dtm.common.converter.transformer.ColumnTransformer;
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+
+import java.util.Map;
+
+/**
+ * Converter of a single result column, compiled once per result schema by {@link SqlTypeConverter#compile}.
+ * The transformers of the column type are resolved up front, the transformer of the value class is
+ * remembered, so values of the same class as the previous one are transformed without map lookups.
+ */
+public final class ColumnConverter {
+    private final ColumnType type;
+    private final Map<Class<?>, ColumnTransformer> transformerClassMap;
+    private final ColumnTransformer defaultTransformer;
+    private Class<?> lastValueClass;
+    private ColumnTransformer lastTransformer;
+
+    ColumnConverter(ColumnType type, Map<Class<?>, ColumnTransformer> transformerClassMap) {
+        this.type = type;
+        this.transformerClassMap = transformerClassMap == null || transformerClassMap.isEmpty() ? null : transformerClassMap;
+        this.defaultTransformer = this.transformerClassMap == null ? null : this.transformerClassMap.get(Object.class);
+    }
+
+    public Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+        final Class<?> valueClass = value.getClass();
+        if (valueClass == lastValueClass) {
+            return lastTransformer.transform(value);
+        }
+        if (transformerClassMap == null) {
+            throw new DtmException(String.format("Can't find transformers for type [%s]", type));
+        }
+        final ColumnTransformer columnTransformer = transformerClassMap.get(valueClass);
+        if (columnTransformer != null) {
+            lastValueClass = valueClass;
+            lastTransformer = columnTransformer;
+            return columnTransformer.transform(value);
+        }
+        try {
+            return defaultTransformer.transform(value);
+        } catch (Exception e) {
+            throw new DtmException(String.format("Can't transform value for column type [%s] and class [%s]",
+                type, valueClass), e);
+        }
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+}
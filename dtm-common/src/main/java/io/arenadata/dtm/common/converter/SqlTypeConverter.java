@@ -18,7 +18,9 @@ package io.arenadata.dtm.common.converter;
 import io.arenadata.dtm.common.converter.transformer.ColumnTransformer;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 
+import java.util.List;
 import java.util.Map;
 
 public interface SqlTypeConverter {
@@ -45,5 +47,20 @@ public interface SqlTypeConverter {
         }
     }
 
+    /**
+     * Compiles converters of the result columns, so rows are converted positionally
+     * without looking up transformers for every value.
+     * Converters keep per-column state and must not be shared between concurrently processed results.
+     */
+    default ColumnConverter[] compile(List<ColumnMetadata> metadata) {
+        final Map<ColumnType, Map<Class<?>, ColumnTransformer>> transformerMap = getTransformerMap();
+        final ColumnConverter[] converters = new ColumnConverter[metadata.size()];
+        for (int i = 0; i < converters.length; i++) {
+            final ColumnType type = metadata.get(i).getType();
+            converters[i] = new ColumnConverter(type, transformerMap.get(type));
+        }
+        return converters;
+    }
+
     Map<ColumnType, Map<Class<?>, ColumnTransformer>> getTransformerMap();
 }
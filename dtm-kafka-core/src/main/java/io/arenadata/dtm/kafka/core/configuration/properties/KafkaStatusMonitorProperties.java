@@ -19,6 +19,28 @@ import lombok.Data;
 
 @Data
 public class KafkaStatusMonitorProperties {
+    private static final String STATUS_PATH = "/status";
+    private static final String STATUSES_PATH = "/statuses";
+
     private String statusUrl;
+    private String statusBatchUrl;
     private String versionUrl;
+    /**
+     * Window for coalescing status checks into one request to statusBatchUrl, batching is disabled if 0
+     */
+    private long batchWindowMs;
+    private int maxBatchSize = 100;
+
+    /**
+     * Returns statusBatchUrl, or the statuses endpoint next to statusUrl when it is not set
+     */
+    public String getStatusBatchUrl() {
+        if (statusBatchUrl != null && !statusBatchUrl.isEmpty()) {
+            return statusBatchUrl;
+        }
+        if (statusUrl != null && statusUrl.endsWith(STATUS_PATH)) {
+            return statusUrl.substring(0, statusUrl.length() - STATUS_PATH.length()) + STATUSES_PATH;
+        }
+        return null;
+    }
 }
@@ -21,10 +21,12 @@ import io.arenadata.dtm.common.plugin.status.kafka.KafkaPartitionInfo;
 import io.arenadata.dtm.common.status.kafka.StatusRequest;
 import io.arenadata.dtm.common.status.kafka.StatusResponse;
 import io.arenadata.dtm.kafka.core.configuration.properties.KafkaProperties;
+import io.arenadata.dtm.kafka.core.configuration.properties.KafkaStatusMonitorProperties;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
@@ -35,24 +37,55 @@ import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @Slf4j
 public class RestConsumerMonitorImpl implements KafkaConsumerMonitor {
+    private final Vertx vertx;
     private final WebClient webClient;
     private final KafkaProperties kafkaProperties;
+    private final Map<StatusRequest, List<Promise<KafkaPartitionInfo>>> pendingChecks = new LinkedHashMap<>();
+    private boolean flushScheduled;
 
     @Autowired
     public RestConsumerMonitorImpl(@Qualifier("coreVertx") Vertx vertx,
                                    @Qualifier("coreKafkaProperties") KafkaProperties kafkaProperties) {
+        this.vertx = vertx;
         this.webClient = WebClient.create(vertx);
         this.kafkaProperties = kafkaProperties;
     }
 
     @Override
     public Future<KafkaPartitionInfo> getAggregateGroupConsumerInfo(String consumerGroup, String topic) {
+        StatusRequest request = new StatusRequest(topic, consumerGroup);
+        KafkaStatusMonitorProperties statusMonitor = kafkaProperties.getStatusMonitor();
+        if (statusMonitor.getBatchWindowMs() <= 0 || statusMonitor.getStatusBatchUrl() == null) {
+            return getStatus(request);
+        }
+
+        return Future.future((Promise<KafkaPartitionInfo> p) -> {
+            boolean flushNow = false;
+            synchronized (pendingChecks) {
+                pendingChecks.computeIfAbsent(request, r -> new ArrayList<>()).add(p);
+                if (pendingChecks.size() >= statusMonitor.getMaxBatchSize()) {
+                    flushNow = true;
+                } else if (!flushScheduled) {
+                    flushScheduled = true;
+                    vertx.setTimer(statusMonitor.getBatchWindowMs(), timerId -> flushPendingChecks());
+                }
+            }
+            if (flushNow) {
+                flushPendingChecks();
+            }
+        });
+    }
+
+    private Future<KafkaPartitionInfo> getStatus(StatusRequest request) {
         return Future.future((Promise<KafkaPartitionInfo> p) -> {
-            StatusRequest request = new StatusRequest(topic, consumerGroup);
             webClient.postAbs(kafkaProperties.getStatusMonitor().getStatusUrl()).sendJsonObject(JsonObject.mapFrom(request), ar -> {
                 if (ar.succeeded()) {
                     HttpResponse<Buffer> response = ar.result();
@@ -64,15 +97,7 @@ public class RestConsumerMonitorImpl implements KafkaConsumerMonitor {
                             p.fail(new DtmException("Error deserializing status response from json", e));
                             return;
                         }
-                        KafkaPartitionInfo kafkaPartitionInfo = KafkaPartitionInfo.builder()
-                                .consumerGroup(statusResponse.getConsumerGroup())
-                                .topic(statusResponse.getTopic())
-                                .offset(statusResponse.getConsumerOffset())
-                                .end(statusResponse.getProducerOffset())
-                                .lastCommitTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(statusResponse.getLastCommitTime()), CoreConstants.CORE_ZONE_ID))
-                                .lastMessageTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(statusResponse.getLastMessageTime()), CoreConstants.CORE_ZONE_ID))
-                                .build();
-                        p.complete(kafkaPartitionInfo);
+                        p.complete(toPartitionInfo(statusResponse));
                     } else {
                         p.fail(new DtmException(String.format("Received HTTP status %s, msg %s",
                                 response.statusCode(),
@@ -84,4 +109,79 @@ public class RestConsumerMonitorImpl implements KafkaConsumerMonitor {
             });
         });
     }
+
+    private void flushPendingChecks() {
+        Map<StatusRequest, List<Promise<KafkaPartitionInfo>>> checks;
+        synchronized (pendingChecks) {
+            flushScheduled = false;
+            if (pendingChecks.isEmpty()) {
+                return;
+            }
+            checks = new LinkedHashMap<>(pendingChecks);
+            pendingChecks.clear();
+        }
+
+        List<StatusRequest> requests = new ArrayList<>(checks.keySet());
+        log.debug("Sending {} batched status checks", requests.size());
+        webClient.postAbs(kafkaProperties.getStatusMonitor().getStatusBatchUrl()).sendJson(requests, ar -> {
+            if (ar.failed()) {
+                failChecks(checks, ar.cause());
+                return;
+            }
+
+            HttpResponse<Buffer> response = ar.result();
+            if (response.statusCode() >= 400 || response.statusCode() < 200) {
+                failChecks(checks, new DtmException(String.format("Received HTTP status %s, msg %s",
+                        response.statusCode(),
+                        response.bodyAsString())));
+                return;
+            }
+
+            List<StatusResponse> statusResponses;
+            try {
+                JsonArray body = response.bodyAsJsonArray();
+                if (body.size() != requests.size()) {
+                    throw new DtmException(String.format("Expected %d statuses, received %d",
+                            requests.size(),
+                            body.size()));
+                }
+                statusResponses = new ArrayList<>(requests.size());
+                for (int i = 0; i < body.size(); i++) {
+                    JsonObject statusResponse = body.getJsonObject(i);
+                    statusResponses.add(statusResponse == null ? null : statusResponse.mapTo(StatusResponse.class));
+                }
+            } catch (Exception e) {
+                failChecks(checks, new DtmException("Error deserializing status response from json", e));
+                return;
+            }
+
+            for (int i = 0; i < requests.size(); i++) {
+                StatusRequest request = requests.get(i);
+                List<Promise<KafkaPartitionInfo>> promises = checks.get(request);
+                StatusResponse statusResponse = statusResponses.get(i);
+                if (statusResponse == null) {
+                    // status monitor could not collect this status, the single request reports why
+                    getStatus(request).onComplete(statusAr -> promises.forEach(p -> p.handle(statusAr)));
+                } else {
+                    KafkaPartitionInfo partitionInfo = toPartitionInfo(statusResponse);
+                    promises.forEach(p -> p.complete(partitionInfo));
+                }
+            }
+        });
+    }
+
+    private void failChecks(Map<StatusRequest, List<Promise<KafkaPartitionInfo>>> checks, Throwable error) {
+        checks.values().forEach(promises -> promises.forEach(p -> p.fail(error)));
+    }
+
+    private KafkaPartitionInfo toPartitionInfo(StatusResponse statusResponse) {
+        return KafkaPartitionInfo.builder()
+                .consumerGroup(statusResponse.getConsumerGroup())
+                .topic(statusResponse.getTopic())
+                .offset(statusResponse.getConsumerOffset())
+                .end(statusResponse.getProducerOffset())
+                .lastCommitTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(statusResponse.getLastCommitTime()), CoreConstants.CORE_ZONE_ID))
+                .lastMessageTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(statusResponse.getLastMessageTime()), CoreConstants.CORE_ZONE_ID))
+                .build();
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.kafka.core.service.kafka;
+
+import io.arenadata.dtm.common.plugin.status.kafka.KafkaPartitionInfo;
+import io.arenadata.dtm.common.status.kafka.StatusRequest;
+import io.arenadata.dtm.common.status.kafka.StatusResponse;
+import io.arenadata.dtm.kafka.core.configuration.properties.KafkaProperties;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+class RestConsumerMonitorImplTest {
+    private static final String FAILING_TOPIC = "failing_topic";
+
+    private final List<String> requestedPaths = new CopyOnWriteArrayList<>();
+    private final List<JsonArray> batches = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private RestConsumerMonitorImpl consumerMonitor;
+
+    @BeforeEach
+    void setUp(Vertx vertx, VertxTestContext testContext) {
+        server = vertx.createHttpServer()
+                .requestHandler(this::handleStatusRequest)
+                .listen(0, testContext.succeeding(started -> {
+                    KafkaProperties kafkaProperties = new KafkaProperties();
+                    kafkaProperties.getStatusMonitor().setStatusUrl("http://localhost:" + started.actualPort() + "/status");
+                    kafkaProperties.getStatusMonitor().setBatchWindowMs(50);
+                    consumerMonitor = new RestConsumerMonitorImpl(vertx, kafkaProperties);
+                    testContext.completeNow();
+                }));
+    }
+
+    @AfterEach
+    void tearDown(VertxTestContext testContext) {
+        server.close(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void shouldSendCoalescedChecksInOneBatch(VertxTestContext testContext) {
+        // act
+        Future<KafkaPartitionInfo> first = consumerMonitor.getAggregateGroupConsumerInfo("group", "topic1");
+        Future<KafkaPartitionInfo> second = consumerMonitor.getAggregateGroupConsumerInfo("group", "topic2");
+        Future<KafkaPartitionInfo> duplicate = consumerMonitor.getAggregateGroupConsumerInfo("group", "topic1");
+
+        // assert
+        CompositeFuture.all(first, second, duplicate)
+                .onComplete(testContext.succeeding(ignored -> testContext.verify(() -> {
+                    assertEquals(1, requestedPaths.size());
+                    assertEquals("/statuses", requestedPaths.get(0));
+                    assertEquals(2, batches.get(0).size());
+                    assertEquals("topic1", first.result().getTopic());
+                    assertEquals(1L, first.result().getOffset());
+                    assertEquals("topic2", second.result().getTopic());
+                    assertEquals("topic1", duplicate.result().getTopic());
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void shouldRequestFailedBatchItemSeparately(VertxTestContext testContext) {
+        // act
+        Future<KafkaPartitionInfo> succeeded = consumerMonitor.getAggregateGroupConsumerInfo("group", "topic1");
+        Future<KafkaPartitionInfo> failed = consumerMonitor.getAggregateGroupConsumerInfo("group", FAILING_TOPIC);
+
+        // assert
+        CompositeFuture.join(succeeded, failed)
+                .onComplete(ignored -> testContext.verify(() -> {
+                    assertTrue(succeeded.succeeded());
+                    assertEquals("topic1", succeeded.result().getTopic());
+                    assertTrue(failed.failed());
+                    assertTrue(failed.cause().getMessage().contains("500"));
+                    assertEquals("/statuses", requestedPaths.get(0));
+                    assertEquals("/status", requestedPaths.get(1));
+                    assertEquals(2, requestedPaths.size());
+                    testContext.completeNow();
+                }));
+    }
+
+    @Test
+    void shouldNotBatchWhenWindowIsDisabled(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        KafkaProperties kafkaProperties = new KafkaProperties();
+        kafkaProperties.getStatusMonitor().setStatusUrl("http://localhost:" + server.actualPort() + "/status");
+        consumerMonitor = new RestConsumerMonitorImpl(vertx, kafkaProperties);
+
+        // act
+        consumerMonitor.getAggregateGroupConsumerInfo("group", "topic1")
+                .onComplete(testContext.succeeding(info -> testContext.verify(() -> {
+                    assertEquals("topic1", info.getTopic());
+                    assertEquals(1, requestedPaths.size());
+                    assertEquals("/status", requestedPaths.get(0));
+                    assertTrue(batches.isEmpty());
+                    testContext.completeNow();
+                })));
+    }
+
+    private void handleStatusRequest(HttpServerRequest request) {
+        requestedPaths.add(request.path());
+        request.body().onSuccess(body -> {
+            if ("/statuses".equals(request.path())) {
+                JsonArray statusRequests = body.toJsonArray();
+                batches.add(statusRequests);
+                JsonArray statusResponses = new JsonArray();
+                for (int i = 0; i < statusRequests.size(); i++) {
+                    StatusRequest statusRequest = statusRequests.getJsonObject(i).mapTo(StatusRequest.class);
+                    statusResponses.add(FAILING_TOPIC.equals(statusRequest.getTopic()) ? null : toStatusResponse(statusRequest));
+                }
+                request.response().end(statusResponses.encode());
+            } else {
+                StatusRequest statusRequest = body.toJsonObject().mapTo(StatusRequest.class);
+                if (FAILING_TOPIC.equals(statusRequest.getTopic())) {
+                    request.response().setStatusCode(500).end("topic is not available");
+                } else {
+                    request.response().end(toStatusResponse(statusRequest).encode());
+                }
+            }
+        });
+    }
+
+    private JsonObject toStatusResponse(StatusRequest statusRequest) {
+        StatusResponse statusResponse = new StatusResponse();
+        statusResponse.setTopic(statusRequest.getTopic());
+        statusResponse.setConsumerGroup(statusRequest.getConsumerGroup());
+        statusResponse.setConsumerOffset(1L);
+        statusResponse.setProducerOffset(2L);
+        return JsonObject.mapFrom(statusResponse);
+    }
+}
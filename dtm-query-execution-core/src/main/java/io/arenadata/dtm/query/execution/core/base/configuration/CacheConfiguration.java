@@ -25,12 +25,14 @@ import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewCacheValue;
 import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
 import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
+import io.arenadata.dtm.query.execution.core.dml.dto.EstimatedPlugin;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Configuration
@@ -43,6 +45,7 @@ public class CacheConfiguration {
     public static final String HOT_DELTA_CACHE = "hotDelta";
     public static final String OK_DELTA_CACHE = "okDelta";
     public static final String MATERIALIZED_VIEW_CACHE = "materializedView";
+    public static final String ESTIMATED_PLUGIN_CACHE = "estimatedPlugin";
 
     @Bean("entityCacheService")
     public CacheService<EntityKey, Entity> entityCacheService(@Qualifier("caffeineCacheManager")
@@ -72,6 +75,13 @@ public class CacheConfiguration {
                 .create(MATERIALIZED_VIEW_CACHE);
     }
 
+    @Bean("estimatedPluginCacheService")
+    public CacheService<QueryTemplateKey, EstimatedPlugin> estimatedPluginCacheService(@Qualifier("caffeineCacheManager")
+                                                                                               CacheManager cacheManager) {
+        return new CaffeineCacheServiceFactory<QueryTemplateKey, EstimatedPlugin>(cacheManager)
+                .create(ESTIMATED_PLUGIN_CACHE);
+    }
+
     @Bean("coreQueryTemplateCacheService")
     public CacheService<QueryTemplateKey, SourceQueryTemplateValue> queryCacheService(@Qualifier("caffeineCacheManager")
                                                                                               CacheManager cacheManager) {
@@ -82,7 +92,10 @@ public class CacheConfiguration {
     @Bean("evictQueryTemplateCacheServiceImpl")
     public EvictQueryTemplateCacheService evictQueryTemplateCacheService(
             CacheService<QueryTemplateKey, SourceQueryTemplateValue> cacheService,
-            List<CacheService<QueryTemplateKey, QueryTemplateValue>> cacheServiceList) {
-        return new EvictQueryTemplateCacheServiceImpl(cacheService, cacheServiceList);
+            List<CacheService<QueryTemplateKey, QueryTemplateValue>> cacheServiceList,
+            @Qualifier("estimatedPluginCacheService") CacheService<QueryTemplateKey, EstimatedPlugin> estimatedPluginCacheService) {
+        List<CacheService<QueryTemplateKey, ?>> evictedCacheServices = new ArrayList<>(cacheServiceList);
+        evictedCacheServices.add(estimatedPluginCacheService);
+        return new EvictQueryTemplateCacheServiceImpl(cacheService, evictedCacheServices);
     }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("core.check")
+@Data
+public class CheckProperties {
+    /**
+     * Concurrent CHECK_DATA checksum queries limit per plugin
+     */
+    private int dataMaxParallel = 4;
+    /**
+     * Concurrent CHECK_SUM checksum queries limit per plugin
+     */
+    private int sumMaxParallel = 4;
+    /**
+     * Whether matching checksums of committed deltas are stored and reused by next CHECK_DATA and CHECK_SUM calls
+     */
+    private boolean storeCheckSums = true;
+    /**
+     * Number of latest deltas whose checksums are stored per table and check, checksums of older deltas are removed
+     */
+    private int storedCheckSumDeltas = 100;
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("core.llw")
+@Data
+public class LlwProperties {
+    /**
+     * Whether concurrent UPSERT VALUES into one table are combined into one write operation
+     */
+    private boolean groupCommitEnabled = false;
+    /**
+     * Time the first UPSERT VALUES into an idle table waits for others to join its group
+     */
+    private long groupCommitWindowMs = 5;
+    /**
+     * Rows limit of one combined UPSERT VALUES
+     */
+    private int groupCommitMaxRows = 10000;
+    /**
+     * Limit of UPSERT VALUES waiting for their group in one table, new ones are rejected above it
+     */
+    private int groupCommitMaxPendingWrites = 10000;
+}
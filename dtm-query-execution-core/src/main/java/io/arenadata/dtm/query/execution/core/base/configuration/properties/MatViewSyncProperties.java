@@ -15,10 +15,14 @@
  */
 package io.arenadata.dtm.query.execution.core.base.configuration.properties;
 
+import io.arenadata.dtm.common.reader.SourceType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties("core.matviewsync")
 @Data
@@ -26,4 +30,12 @@ public class MatViewSyncProperties {
     private long periodMs = 5000;
     private int retryCount = 10;
     private int maxConcurrent = 2;
+    /**
+     * Deltas synchronized in one pass of a lagging view, each delta is sent to plugin as a separate request
+     */
+    private int maxDeltaSpan = 10;
+    /**
+     * Concurrent syncs limit per destination, destinations not listed are limited by maxConcurrent only
+     */
+    private Map<SourceType, Integer> destinationMaxConcurrent = new EnumMap<>(SourceType.class);
 }
@@ -15,15 +15,35 @@
  */
 package io.arenadata.dtm.query.execution.core.base.configuration.properties;
 
+import io.arenadata.dtm.common.reader.SourceType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties("core.restoration")
 @Data
 public class RestorationProperties {
 
     private boolean autoRestoreState = true;
+    /**
+     * Datamarts restored concurrently on startup
+     */
+    private int restoreMaxParallel = 4;
+    /**
+     * How long queries to a datamart being restored wait for restoration before rejection, 0 rejects at once
+     */
+    private long queryWaitMs = 30000;
+    /**
+     * Concurrent write operation rollbacks limit per plugin
+     */
+    private int rollbackMaxParallel = 4;
+    /**
+     * Rollback limits of particular plugins, plugins not listed are limited by rollbackMaxParallel
+     */
+    private Map<SourceType, Integer> rollbackPluginMaxParallel = new EnumMap<>(SourceType.class);
 
 }
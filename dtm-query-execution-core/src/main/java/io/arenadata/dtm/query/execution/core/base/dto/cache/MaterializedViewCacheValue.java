@@ -31,6 +31,8 @@ public class MaterializedViewCacheValue {
     private final AtomicReference<LocalDateTime> lastSyncTime = new AtomicReference<>();
     private final AtomicReference<Throwable> lastSyncError = new AtomicReference<>();
     private final AtomicBoolean inSync = new AtomicBoolean();
+    private final AtomicReference<MaterializedViewQuery> query = new AtomicReference<>();
+    private final AtomicLong lastSyncDeltaDurationMs = new AtomicLong();
 
     public MaterializedViewCacheValue(Entity entity) {
         this.entity = entity;
@@ -103,4 +105,24 @@ public class MaterializedViewCacheValue {
     public void setNotInSync() {
         inSync.set(false);
     }
+
+    public MaterializedViewQuery getQuery() {
+        return query.get();
+    }
+
+    public void setQuery(MaterializedViewQuery value) {
+        query.set(value);
+    }
+
+    public void resetQuery() {
+        query.set(null);
+    }
+
+    public long getLastSyncDeltaDurationMs() {
+        return lastSyncDeltaDurationMs.get();
+    }
+
+    public void setLastSyncDeltaDurationMs(long value) {
+        lastSyncDeltaDurationMs.set(value);
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.dto.cache;
+
+import io.arenadata.dtm.query.execution.model.metadata.Datamart;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.calcite.sql.SqlNode;
+
+import java.util.List;
+
+/**
+ * Parsed view query of a materialized view with datamarts resolved from it.
+ * The node must be copied before passing it further, because plugins modify it while processing.
+ */
+@Getter
+@AllArgsConstructor
+public class MaterializedViewQuery {
+    private final String viewQuery;
+    private final SqlNode sqlNode;
+    private final List<Datamart> datamarts;
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.repository.zookeeper;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckProperties;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
+import io.arenadata.dtm.query.execution.core.check.dto.DeltaCheckSums;
+import io.vertx.core.Future;
+import lombok.val;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.ZooKeeper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.arenadata.dtm.query.execution.core.base.repository.DaoUtils.deserialize;
+import static io.arenadata.dtm.query.execution.core.base.repository.DaoUtils.serialize;
+
+/**
+ * Checksums of committed deltas calculated by CHECK_DATA, stored as
+ * /{env}/{datamart}/checksum/{entity}/{check}/{deltaNum} -> checksum per source type.
+ * Only checksums of the latest storedCheckSumDeltas deltas are kept per check.
+ */
+@Repository
+public class DataCheckSumDao {
+    private static final String CHECKSUM_PATH = "%s/%s/checksum";
+    private final ZookeeperExecutor executor;
+    private final String envPath;
+    private final CheckProperties checkProperties;
+
+    public DataCheckSumDao(@Qualifier("zookeeperExecutor") ZookeeperExecutor executor,
+                           @Value("${core.env.name}") String systemName,
+                           CheckProperties checkProperties) {
+        this.executor = executor;
+        this.envPath = "/" + systemName;
+        this.checkProperties = checkProperties;
+    }
+
+    public Future<Map<SourceType, Long>> getCheckSums(String datamart, String entityName, String checkName, long deltaNum) {
+        return executor.getData(getDeltaPath(datamart, entityName, checkName, deltaNum))
+                .map(bytes -> deserialize(bytes, datamart, DeltaCheckSums.class).getCheckSums())
+                .otherwise(error -> {
+                    if (error instanceof KeeperException.NoNodeException) {
+                        return Collections.emptyMap();
+                    }
+
+                    throw new DtmException(String.format("Can't get checksums of [%s.%s] for delta [%d]",
+                            datamart, entityName, deltaNum), error);
+                });
+    }
+
+    public Future<Void> saveCheckSums(String datamart, String entityName, String checkName, long deltaNum,
+                                      Map<SourceType, Long> checkSums) {
+        val checkPath = getCheckPath(datamart, entityName, checkName);
+        val data = serialize(new DeltaCheckSums(checkSums));
+        return executor.executeVoid(zk -> {
+            createIfNotExists(zk, getCheckSumPath(datamart), null);
+            createIfNotExists(zk, getEntityPath(datamart, entityName), null);
+            createIfNotExists(zk, checkPath, null);
+            val deltaPath = checkPath + "/" + deltaNum;
+            if (!createIfNotExists(zk, deltaPath, data)) {
+                zk.setData(deltaPath, data, -1);
+            }
+            deleteOldDeltas(zk, checkPath);
+        }).otherwise(error -> {
+            throw new DtmException(String.format("Can't save checksums of [%s.%s] for delta [%d]",
+                    datamart, entityName, deltaNum), error);
+        });
+    }
+
+    public Future<Void> deleteCheckSums(String datamart, String entityName) {
+        val entityPath = getEntityPath(datamart, entityName);
+        return executor.deleteRecursive(entityPath)
+                .otherwise(error -> {
+                    if (error instanceof KeeperException.NoNodeException) {
+                        return null;
+                    }
+
+                    throw new DtmException(String.format("Can't delete checksums of [%s.%s]", datamart, entityName), error);
+                });
+    }
+
+    private void deleteOldDeltas(ZooKeeper zk, String checkPath) throws KeeperException, InterruptedException {
+        val deltas = zk.getChildren(checkPath, false);
+        val keepDeltas = Math.max(checkProperties.getStoredCheckSumDeltas(), 1);
+        if (deltas.size() <= keepDeltas) {
+            return;
+        }
+
+        List<Long> oldDeltas = deltas.stream()
+                .map(Long::parseLong)
+                .sorted()
+                .limit(deltas.size() - keepDeltas)
+                .collect(Collectors.toList());
+        for (Long deltaNum : oldDeltas) {
+            try {
+                zk.delete(checkPath + "/" + deltaNum, -1);
+            } catch (KeeperException.NoNodeException e) {
+                // already removed by a concurrent save
+            }
+        }
+    }
+
+    private boolean createIfNotExists(ZooKeeper zk, String path, byte[] data) throws KeeperException, InterruptedException {
+        try {
+            zk.create(path, data, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+            return true;
+        } catch (KeeperException.NodeExistsException e) {
+            return false;
+        }
+    }
+
+    private String getCheckSumPath(String datamart) {
+        return String.format(CHECKSUM_PATH, envPath, datamart);
+    }
+
+    private String getEntityPath(String datamart, String entityName) {
+        return getCheckSumPath(datamart) + "/" + entityName;
+    }
+
+    private String getCheckPath(String datamart, String entityName, String checkName) {
+        return getEntityPath(datamart, entityName) + "/" + checkName;
+    }
+
+    private String getDeltaPath(String datamart, String entityName, String checkName, long deltaNum) {
+        return getCheckPath(datamart, entityName, checkName) + "/" + deltaNum;
+    }
+}
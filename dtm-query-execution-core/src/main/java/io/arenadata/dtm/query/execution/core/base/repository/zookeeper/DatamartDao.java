@@ -105,8 +105,22 @@ public class DatamartDao implements ZookeeperDao<String> {
                         ));
     }
 
+    /**
+     * Reads datamart names and leaves the watcher on the list of datamarts.
+     */
+    public Future<List<DatamartInfo>> getDatamartMeta(Watcher watcher) {
+        return handleGetDatamartsError(executor.getChildren(envPath, watcher))
+                .map(names -> names.stream()
+                        .map(DatamartInfo::new)
+                        .collect(Collectors.toList()));
+    }
+
     public Future<List<String>> getDatamarts() {
-        return executor.getChildren(envPath)
+        return handleGetDatamartsError(executor.getChildren(envPath));
+    }
+
+    private Future<List<String>> handleGetDatamartsError(Future<List<String>> datamarts) {
+        return datamarts
                 .otherwise(error -> {
                     if (error instanceof KeeperException.NoNodeException) {
                         throw new DtmException(
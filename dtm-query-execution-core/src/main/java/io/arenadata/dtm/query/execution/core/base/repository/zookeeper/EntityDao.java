@@ -33,6 +33,7 @@ import lombok.val;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.Op;
+import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.ZooDefs;
 import org.apache.zookeeper.data.Stat;
 import org.springframework.beans.factory.annotation.Value;
@@ -68,10 +69,30 @@ public class EntityDao implements ZookeeperDao<Entity> {
     public Future<List<DatamartEntity>> getEntitiesMeta(String datamartMnemonic) {
         //TODO implemented receiving entity column informations
         return getEntityNamesByDatamart(datamartMnemonic)
-                .map(names -> names.stream()
-                        .filter(name -> !name.startsWith("logic_schema_"))
-                        .map(name -> new DatamartEntity(null, name, datamartMnemonic))
-                        .collect(Collectors.toList()));
+                .map(names -> toEntitiesMeta(datamartMnemonic, names));
+    }
+
+    /**
+     * Reads entity names of the datamart and leaves the watcher on the list of its entities.
+     */
+    public Future<List<DatamartEntity>> getEntitiesMeta(String datamartMnemonic, Watcher watcher) {
+        return executor.getChildren(getEntitiesPath(datamartMnemonic), watcher)
+                .otherwise(error -> {
+                    if (error instanceof KeeperException.NoNodeException) {
+                        throw warn(new DatamartNotExistsException(datamartMnemonic));
+                    } else {
+                        throw new DtmException(String.format("Can't get entity names by datamart [%s]",
+                                datamartMnemonic), error);
+                    }
+                })
+                .map(names -> toEntitiesMeta(datamartMnemonic, names));
+    }
+
+    private List<DatamartEntity> toEntitiesMeta(String datamartMnemonic, List<String> names) {
+        return names.stream()
+                .filter(name -> !name.startsWith("logic_schema_"))
+                .map(name -> new DatamartEntity(null, name, datamartMnemonic))
+                .collect(Collectors.toList());
     }
 
     @CacheEvict(
@@ -219,6 +240,22 @@ public class EntityDao implements ZookeeperDao<Entity> {
                 });
     }
 
+    /**
+     * Reads the entity bypassing the entity cache and leaves the watcher on its node.
+     */
+    public Future<Entity> getEntity(String datamartMnemonic, String entityName, Watcher watcher) {
+        val nameWithSchema = getNameWithSchema(datamartMnemonic, entityName);
+        return executor.getData(getTargetPath(datamartMnemonic, entityName), watcher, null)
+                .map(entityData -> deserialize(entityData, datamartMnemonic, Entity.class, MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS))
+                .otherwise(error -> {
+                    if (error instanceof KeeperException.NoNodeException) {
+                        throw warn(new EntityNotExistsException((nameWithSchema)));
+                    } else {
+                        throw new DtmException(String.format("Can't get entity [%s]", nameWithSchema), error);
+                    }
+                });
+    }
+
     public Future<List<String>> getEntityNamesByDatamart(String datamartMnemonic) {
         return executor.getChildren(getEntitiesPath(datamartMnemonic))
                 .onFailure(error -> {
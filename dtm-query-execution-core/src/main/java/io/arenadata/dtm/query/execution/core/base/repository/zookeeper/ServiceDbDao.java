@@ -24,6 +24,7 @@ public class ServiceDbDao {
     private final DatamartDao datamartDao;
     private final EntityDao entityDao;
     private final ChangelogDao changelogDao;
+    private final DataCheckSumDao dataCheckSumDao;
 
     public DatamartDao getDatamartDao() {
         return datamartDao;
@@ -36,4 +37,8 @@ public class ServiceDbDao {
     public ChangelogDao getChangelogDao() {
         return changelogDao;
     }
+
+    public DataCheckSumDao getDataCheckSumDao() {
+        return dataCheckSumDao;
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.MatViewSyncProperties;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewCacheValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Orders materialized views waiting for sync and keeps concurrency budgets of sync destinations.
+ * <p>
+ * Views of one datamart are ordered by staleness (number of deltas behind delta ok), then by estimated cost,
+ * so the cheaper of equally stale views goes first. Datamarts are then taken in turns, one view at a time,
+ * so views of a datamart with many stale views don't hold all the sync slots.
+ */
+public class MaterializedViewSyncScheduler {
+    private final Map<SourceType, Integer> destinationMaxConcurrent;
+    private final Map<SourceType, AtomicInteger> destinationSyncCount = new ConcurrentHashMap<>();
+
+    public MaterializedViewSyncScheduler(MatViewSyncProperties matViewSyncProperties) {
+        this.destinationMaxConcurrent = new EnumMap<>(SourceType.class);
+        destinationMaxConcurrent.putAll(matViewSyncProperties.getDestinationMaxConcurrent());
+    }
+
+    public List<SyncCandidate> order(Collection<SyncCandidate> candidates) {
+        Map<String, Deque<SyncCandidate>> datamartQueues = candidates.stream()
+                .sorted(Comparator.comparingLong(SyncCandidate::getLag).reversed()
+                        .thenComparingLong(SyncCandidate::getEstimatedCost))
+                .collect(Collectors.groupingBy(candidate -> candidate.getKey().getDatamartName(),
+                        LinkedHashMap::new,
+                        Collectors.toCollection(ArrayDeque::new)));
+
+        List<SyncCandidate> ordered = new ArrayList<>(candidates.size());
+        while (!datamartQueues.isEmpty()) {
+            Iterator<Deque<SyncCandidate>> queues = datamartQueues.values().iterator();
+            while (queues.hasNext()) {
+                Deque<SyncCandidate> queue = queues.next();
+                ordered.add(queue.poll());
+                if (queue.isEmpty()) {
+                    queues.remove();
+                }
+            }
+        }
+        return ordered;
+    }
+
+    public boolean tryAcquire(SourceType destination) {
+        Integer maxConcurrent = destinationMaxConcurrent.get(destination);
+        AtomicInteger syncCount = destinationSyncCount.computeIfAbsent(destination, d -> new AtomicInteger());
+        int count = syncCount.incrementAndGet();
+        if (maxConcurrent != null && count > maxConcurrent) {
+            syncCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(SourceType destination) {
+        destinationSyncCount.computeIfAbsent(destination, d -> new AtomicInteger()).decrementAndGet();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SyncCandidate {
+        private final EntityKey key;
+        private final MaterializedViewCacheValue value;
+        private final long okDeltaNum;
+        private final long maxDeltaSpan;
+
+        public long getLag() {
+            Long materializedDeltaNum = value.getEntity().getMaterializedDeltaNum();
+            return okDeltaNum - (materializedDeltaNum == null ? -1L : materializedDeltaNum);
+        }
+
+        /**
+         * Estimated duration of the next sync: duration of the last successful sync per delta
+         * multiplied by the number of deltas the next sync will cover. Zero for views never synchronized.
+         */
+        public long getEstimatedCost() {
+            return value.getLastSyncDeltaDurationMs() * Math.min(getLag(), maxDeltaSpan);
+        }
+    }
+}
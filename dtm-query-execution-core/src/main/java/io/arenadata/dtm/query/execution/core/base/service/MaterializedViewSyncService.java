@@ -23,12 +23,15 @@ import io.arenadata.dtm.common.metrics.RequestMetrics;
 import io.arenadata.dtm.common.model.RequestStatus;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.query.calcite.core.service.DefinitionService;
+import io.arenadata.dtm.query.calcite.core.util.SqlNodeUtil;
 import io.arenadata.dtm.query.execution.core.base.configuration.AppConfiguration;
 import io.arenadata.dtm.query.execution.core.base.configuration.properties.MatViewSyncProperties;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewCacheValue;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewQuery;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewSyncStatus;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
+import io.arenadata.dtm.query.execution.core.base.service.MaterializedViewSyncScheduler.SyncCandidate;
 import io.arenadata.dtm.query.execution.core.base.service.delta.DeltaInformationService;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.LogicalSchemaProvider;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
@@ -37,6 +40,7 @@ import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginServ
 import io.arenadata.dtm.query.execution.core.query.utils.LoggerContextUtils;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import lombok.extern.slf4j.Slf4j;
@@ -46,10 +50,15 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -66,7 +75,9 @@ public class MaterializedViewSyncService {
     private final long retryCount;
     private final long periodMs;
     private final long maxConcurrent;
+    private final long maxDeltaSpan;
     private final AtomicInteger concurrentSyncCount = new AtomicInteger(0);
+    private final MaterializedViewSyncScheduler syncScheduler;
     private final AppConfiguration appConfiguration;
 
     public MaterializedViewSyncService(DataSourcePluginService dataSourcePluginService,
@@ -90,6 +101,8 @@ public class MaterializedViewSyncService {
         this.retryCount = matViewSyncProperties.getRetryCount();
         this.periodMs = matViewSyncProperties.getPeriodMs();
         this.maxConcurrent = matViewSyncProperties.getMaxConcurrent();
+        this.maxDeltaSpan = Math.max(matViewSyncProperties.getMaxDeltaSpan(), 1);
+        this.syncScheduler = new MaterializedViewSyncScheduler(matViewSyncProperties);
         this.appConfiguration = appConfiguration;
     }
 
@@ -101,80 +114,132 @@ public class MaterializedViewSyncService {
         return vertx.setTimer(periodMs, timerId -> {
             LoggerContextUtils.setRequestId(UUID.randomUUID());
             log.info("Materialized view synchronization tick");
-            materializedViewCacheService.forEach(this::startSyncProcess);
+            collectSyncCandidates()
+                    .onSuccess(candidates -> syncScheduler.order(candidates).forEach(this::startSyncProcess));
             startPeriodicalSync();
         });
     }
 
-    private Future<Void> startSyncProcess(EntityKey key, MaterializedViewCacheValue value) {
-        return Future.future(promise -> {
-            val datamart = key.getDatamartName();
-            val origUUID = value.getUuid();
-            val entity = value.getEntity();
+    private Future<List<SyncCandidate>> collectSyncCandidates() {
+        Map<String, Map<EntityKey, MaterializedViewCacheValue>> readyViewsByDatamart = new HashMap<>();
+        materializedViewCacheService.forEach((key, value) -> {
             if (value.isMarkedForDeletion()) {
                 materializedViewCacheService.remove(key);
-                promise.complete();
                 return;
             }
-            isReadyForSync(datamart, value.getStatus(), entity.getMaterializedDeltaNum(), value.getFailsCount())
-                    .onSuccess(isReady -> {
-                        if (isReady) {
-                            log.info("Started sync process for {}", value);
-                            runSync(datamart, value, origUUID)
-                                    .onComplete(event -> value.setNotInSync())
-                                    .onSuccess(v -> {
-                                        value.resetLastSyncError();
-                                        concurrentSyncCount.decrementAndGet();
-                                        log.info("Materialized view {} synchronized", entity.getNameWithSchema());
-                                        promise.complete();
-                                    })
-                                    .onFailure(error -> {
-                                        value.setLastSyncError(error);
-                                        concurrentSyncCount.decrementAndGet();
-                                        log.error("Failed to sync materialized view {}, fails count {}/{}", entity.getNameWithSchema(), value.getFailsCount() + 1, retryCount, error);
-                                        if (origUUID.equals(value.getUuid())) {
-                                            value.incrementFailsCount();
-                                            value.setStatus(MaterializedViewSyncStatus.READY);
-                                        }
-                                        promise.complete();
-                                    });
-                        } else {
-                            promise.complete();
-                        }
-                    })
-                    .onFailure(error -> {
-                        log.warn("Can't start materialized view sync cause can't get delta ok for datamart {}", datamart, error);
-                        promise.complete();
-                    });
+            if (MaterializedViewSyncStatus.READY == value.getStatus() && value.getFailsCount() < retryCount) {
+                readyViewsByDatamart.computeIfAbsent(key.getDatamartName(), datamart -> new HashMap<>()).put(key, value);
+            }
         });
+
+        List<Future> datamartFutures = new ArrayList<>(readyViewsByDatamart.size());
+        readyViewsByDatamart.forEach((datamart, views) -> datamartFutures.add(collectSyncCandidates(datamart, views)));
+        return CompositeFuture.join(datamartFutures)
+                .map(result -> result.<List<SyncCandidate>>list().stream()
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList()));
     }
 
-    private Future<Boolean> isReadyForSync(String datamart, MaterializedViewSyncStatus matViewStatus, Long matViewDeltaNum, long matViewRetryCount) {
-        if (concurrentSyncCount.get() >= maxConcurrent || MaterializedViewSyncStatus.READY != matViewStatus || matViewRetryCount >= retryCount) {
-            return Future.succeededFuture(false);
-        }
+    private Future<List<SyncCandidate>> collectSyncCandidates(String datamart, Map<EntityKey, MaterializedViewCacheValue> views) {
         return deltaServiceDao.getDeltaOk(datamart)
-                .map(okDelta -> ((okDelta != null && okDelta.getDeltaNum() >= 0L)
-                        && (matViewDeltaNum == null || matViewDeltaNum < okDelta.getDeltaNum())));
+                .map(okDelta -> {
+                    if (okDelta == null || okDelta.getDeltaNum() < 0L) {
+                        return Collections.<SyncCandidate>emptyList();
+                    }
+                    return views.entrySet().stream()
+                            .map(view -> new SyncCandidate(view.getKey(), view.getValue(), okDelta.getDeltaNum(), maxDeltaSpan))
+                            .filter(candidate -> candidate.getLag() > 0)
+                            .collect(Collectors.toList());
+                })
+                .otherwise(error -> {
+                    log.warn("Can't start materialized view sync cause can't get delta ok for datamart {}", datamart, error);
+                    return Collections.emptyList();
+                });
     }
 
-    private Future<Void> runSync(String datamart, MaterializedViewCacheValue value, UUID origUUID) {
+    private void startSyncProcess(SyncCandidate candidate) {
+        val datamart = candidate.getKey().getDatamartName();
+        val value = candidate.getValue();
+        val origUUID = value.getUuid();
+        val entity = value.getEntity();
+        val destination = entity.getMaterializedDataSource();
+        if (origUUID == null || MaterializedViewSyncStatus.READY != value.getStatus()
+                || concurrentSyncCount.get() >= maxConcurrent || !syncScheduler.tryAcquire(destination)) {
+            return;
+        }
+
+        log.info("Started sync process for {}", value);
+        val startTime = System.currentTimeMillis();
+        val lag = candidate.getLag();
+        runSync(datamart, value, origUUID, candidate.getOkDeltaNum())
+                .onComplete(event -> {
+                    value.setNotInSync();
+                    syncScheduler.release(destination);
+                })
+                .onSuccess(v -> {
+                    value.resetLastSyncError();
+                    value.setLastSyncDeltaDurationMs((System.currentTimeMillis() - startTime) / Math.min(lag, maxDeltaSpan));
+                    concurrentSyncCount.decrementAndGet();
+                    log.info("Materialized view {} synchronized", entity.getNameWithSchema());
+                })
+                .onFailure(error -> {
+                    value.setLastSyncError(error);
+                    value.resetQuery();
+                    concurrentSyncCount.decrementAndGet();
+                    log.error("Failed to sync materialized view {}, fails count {}/{}", entity.getNameWithSchema(), value.getFailsCount() + 1, retryCount, error);
+                    if (origUUID.equals(value.getUuid())) {
+                        value.incrementFailsCount();
+                        value.setStatus(MaterializedViewSyncStatus.READY);
+                    }
+                });
+    }
+
+    private Future<Void> runSync(String datamart, MaterializedViewCacheValue value, UUID origUUID, long okDeltaNum) {
         value.setInSync();
         value.setLastSyncTime(LocalDateTime.now());
         concurrentSyncCount.incrementAndGet();
         value.setStatus(MaterializedViewSyncStatus.RUN);
-        return synchronize(datamart, value.getEntity())
-                .compose(deltaNum -> origUUID.equals(value.getUuid()) ? updateEntity(deltaNum, value) : Future.succeededFuture());
+        long deltaNumFrom = getDeltaNumToBe(value.getEntity());
+        long deltaNumTo = Math.max(Math.min(deltaNumFrom + maxDeltaSpan - 1, okDeltaNum), deltaNumFrom);
+        return synchronizeDeltas(datamart, value, origUUID, deltaNumFrom, deltaNumTo)
+                .map(v -> {
+                    if (origUUID.equals(value.getUuid())) {
+                        value.resetFailsCount();
+                        value.setStatus(MaterializedViewSyncStatus.READY);
+                    }
+                    return v;
+                });
+    }
+
+    /**
+     * Synchronizes the delta range from the next not synchronized delta up to delta ok, limited by maxDeltaSpan,
+     * in one pass. Each delta is passed to plugin as a separate request with its own cn interval, so history
+     * of the view keeps the delta boundaries. Materialized delta num is saved after each delta,
+     * so a failed pass is resumed from the first not synchronized delta.
+     */
+    private Future<Void> synchronizeDeltas(String datamart, MaterializedViewCacheValue value, UUID origUUID,
+                                           long deltaNum, long deltaNumTo) {
+        return synchronize(datamart, value, deltaNum)
+                .compose(syncedDeltaNum -> {
+                    if (!origUUID.equals(value.getUuid())) {
+                        return Future.succeededFuture();
+                    }
+                    return updateEntity(syncedDeltaNum, value)
+                            .compose(v -> deltaNum < deltaNumTo
+                                    ? synchronizeDeltas(datamart, value, origUUID, deltaNum + 1, deltaNumTo)
+                                    : Future.succeededFuture());
+                });
     }
 
-    private Future<Long> synchronize(String datamart, Entity matViewEntity) {
+    private Future<Long> synchronize(String datamart, MaterializedViewCacheValue value, long deltaNum) {
         return Future.future(promise -> {
+            val matViewEntity = value.getEntity();
             if (!dataSourcePluginService.hasSourceType(matViewEntity.getMaterializedDataSource())) {
                 throw new SuitablePluginNotExistsException();
             }
 
             val uuid = UUID.randomUUID();
-            preparePluginContext(datamart, matViewEntity)
+            preparePluginContext(datamart, value, deltaNum)
                     .compose(context -> dataSourcePluginService.synchronize(matViewEntity.getMaterializedDataSource(),
                             createRequestMetrics(uuid), prepareRequest(uuid, datamart, matViewEntity, context)))
                     .onComplete(promise);
@@ -186,19 +251,18 @@ public class MaterializedViewSyncService {
                 matViewEntity, context.viewQuery, context.deltaToBe, context.previousDeltaCnTo);
     }
 
-    private Future<SynchronizePluginContext> preparePluginContext(String datamart, Entity matViewEntity) {
+    private Future<SynchronizePluginContext> preparePluginContext(String datamart, MaterializedViewCacheValue value, long deltaNumToBe) {
         return Future.future(promise -> {
-            val sqlNode = definitionService.processingQuery(matViewEntity.getViewQuery());
-            val synchronizeRequest = new SynchronizePluginContext(sqlNode);
-            long deltaNumToBe = getDeltaNumToBe(matViewEntity);
             long deltaNumBefore = deltaNumToBe - 1;
-            logicalSchemaProvider.getSchemaFromQuery(sqlNode, datamart)
-                    .compose(datamarts -> {
-                        synchronizeRequest.querySchema = datamarts;
+            val synchronizeRequest = new SynchronizePluginContext();
+            getViewQuery(datamart, value)
+                    .compose(viewQuery -> {
+                        synchronizeRequest.viewQuery = SqlNodeUtil.copy(viewQuery.getSqlNode());
+                        synchronizeRequest.querySchema = viewQuery.getDatamarts();
                         return deltaServiceDao.getDeltaByNum(datamart, deltaNumToBe);
                     })
-                    .compose(okDelta -> {
-                        synchronizeRequest.deltaToBe = new DeltaData(deltaNumToBe, okDelta.getCnFrom(), okDelta.getCnTo());
+                    .compose(delta -> {
+                        synchronizeRequest.deltaToBe = new DeltaData(deltaNumToBe, delta.getCnFrom(), delta.getCnTo());
                         return deltaInformationService.getCnToByDeltaNum(datamart, deltaNumBefore);
                     })
                     .onSuccess(beforeDeltaNumToBeCnTo -> {
@@ -209,6 +273,30 @@ public class MaterializedViewSyncService {
         });
     }
 
+    /**
+     * Returns view query parsed on the previous sync of the same materialized view.
+     * The parsed query lives in the cache value, which is replaced on create and removed on drop of the view,
+     * and is reset after a failed sync to be parsed again.
+     */
+    private Future<MaterializedViewQuery> getViewQuery(String datamart, MaterializedViewCacheValue value) {
+        val matViewEntity = value.getEntity();
+        val cachedQuery = value.getQuery();
+        if (cachedQuery != null && cachedQuery.getViewQuery().equals(matViewEntity.getViewQuery())) {
+            return Future.succeededFuture(cachedQuery);
+        }
+
+        return Future.future(promise -> {
+            val sqlNode = definitionService.processingQuery(matViewEntity.getViewQuery());
+            logicalSchemaProvider.getSchemaFromQuery(sqlNode, datamart)
+                    .map(datamarts -> {
+                        val query = new MaterializedViewQuery(matViewEntity.getViewQuery(), sqlNode, datamarts);
+                        value.setQuery(query);
+                        return query;
+                    })
+                    .onComplete(promise);
+        });
+    }
+
     private Long getDeltaNumToBe(Entity matViewEntity) {
         if (matViewEntity.getMaterializedDeltaNum() == null) {
             return 0L;
@@ -222,12 +310,7 @@ public class MaterializedViewSyncService {
         val oldDeltaNum = entity.getMaterializedDeltaNum();
         if (!Objects.equals(oldDeltaNum, deltaNum)) {
             entity.setMaterializedDeltaNum(deltaNum);
-            return entityDao.updateEntity(entity)
-                    .map(v -> {
-                        cacheValue.resetFailsCount();
-                        cacheValue.setStatus(MaterializedViewSyncStatus.READY);
-                        return v;
-                    });
+            return entityDao.updateEntity(entity);
         }
         return Future.failedFuture(new DtmException(String.format("DeltaNum for materialized view %s has not been changed; old value [%d], new value [%d]",
                 entity.getNameWithSchema(), oldDeltaNum, deltaNum)));
@@ -243,13 +326,9 @@ public class MaterializedViewSyncService {
     }
 
     private static class SynchronizePluginContext {
-        private final SqlNode viewQuery;
+        private SqlNode viewQuery;
         private List<Datamart> querySchema;
         private DeltaData deltaToBe;
         private Long previousDeltaCnTo;
-
-        private SynchronizePluginContext(SqlNode viewQuery) {
-            this.viewQuery = viewQuery;
-        }
     }
 }
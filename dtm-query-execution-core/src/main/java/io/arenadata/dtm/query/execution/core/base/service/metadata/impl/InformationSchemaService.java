@@ -315,23 +315,33 @@ public class InformationSchemaService {
                 .compose(this::createSchemas);
     }
 
+    /**
+     * Replays datamarts in parallel, each with a single batch of its schema and tables.
+     * Views may select from other datamarts, so they are created in one batch after all tables.
+     */
     private Future<Void> createSchemas(List<String> datamarts) {
-        val createSchemaQueries = datamarts.stream()
-                .map(datamart -> String.format(InformationSchemaUtils.CREATE_SCHEMA, datamart))
-                .collect(Collectors.toList());
-
-        return client.executeBatch(createSchemaQueries)
-                .compose(ignored -> getAllEntities(datamarts))
-                .compose(entities -> client.executeBatch(getEntitiesCreateQueries(entities)));
-    }
-
-    private Future<List<Entity>> getAllEntities(List<String> datamarts) {
         return CompositeFuture.join(datamarts.stream()
-                .map(this::getEntitiesByDatamart)
+                .map(this::createSchemaWithTables)
                 .collect(Collectors.toList()))
                 .map(entityResult -> entityResult.list().stream()
                         .flatMap(list -> ((List<Entity>) list).stream())
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()))
+                .compose(entities -> executeBatchIfNotEmpty(getViewsCreateQueries(entities)));
+    }
+
+    private Future<List<Entity>> createSchemaWithTables(String datamart) {
+        return getEntitiesByDatamart(datamart)
+                .compose(entities -> {
+                    List<String> queries = new ArrayList<>();
+                    queries.add(String.format(InformationSchemaUtils.CREATE_SCHEMA, datamart));
+                    queries.addAll(getTablesCreateQueries(entities));
+                    return client.executeBatch(queries)
+                            .map(v -> entities);
+                });
+    }
+
+    private Future<Void> executeBatchIfNotEmpty(List<String> queries) {
+        return queries.isEmpty() ? Future.succeededFuture() : client.executeBatch(queries);
     }
 
     private Future<List<Entity>> getEntitiesByDatamart(String datamart) {
@@ -348,29 +358,44 @@ public class InformationSchemaService {
     }
 
     private List<String> getEntitiesCreateQueries(List<Entity> entities) {
-        List<String> viewEntities = new ArrayList<>();
+        return Stream.of(getTablesCreateQueries(entities), getViewsCreateQueries(entities))
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> getTablesCreateQueries(List<Entity> entities) {
         List<String> tableEntities = new ArrayList<>();
         List<String> commentQueries = new ArrayList<>();
         List<String> createShardingKeys = new ArrayList<>();
         entities.forEach(entity -> {
-            if (EntityType.VIEW.equals(entity.getEntityType())) {
-                viewEntities.add(ddlQueryGenerator.generateCreateViewQuery(entity, ""));
-                commentQueries.addAll(getCommentQueries(entity));
-            }
-            if (EntityType.TABLE.equals(entity.getEntityType())) {
+            if (EntityType.TABLE.equals(entity.getEntityType())
+                    || EntityType.MATERIALIZED_VIEW.equals(entity.getEntityType())) {
                 tableEntities.add(ddlQueryGenerator.generateCreateTableQuery(entity));
                 createShardingKeys.add(createShardingKeyIndex(entity));
                 commentQueries.addAll(getCommentQueries(entity));
             }
             if (EntityType.MATERIALIZED_VIEW.equals(entity.getEntityType())) {
-                viewEntities.add(ddlQueryGenerator.generateCreateViewQuery(entity, MATERIALIZED_VIEW_PREFIX));
-                tableEntities.add(ddlQueryGenerator.generateCreateTableQuery(entity));
-                createShardingKeys.add(createShardingKeyIndex(entity));
-                commentQueries.addAll(getCommentQueries(entity));
                 materializedViewCacheService.put(new EntityKey(entity.getSchema(), entity.getName()), new MaterializedViewCacheValue(entity));
             }
         });
-        return Stream.of(tableEntities, viewEntities, commentQueries, createShardingKeys)
+        return Stream.of(tableEntities, commentQueries, createShardingKeys)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> getViewsCreateQueries(List<Entity> entities) {
+        List<String> viewEntities = new ArrayList<>();
+        List<String> commentQueries = new ArrayList<>();
+        entities.forEach(entity -> {
+            if (EntityType.VIEW.equals(entity.getEntityType())) {
+                viewEntities.add(ddlQueryGenerator.generateCreateViewQuery(entity, ""));
+                commentQueries.addAll(getCommentQueries(entity));
+            }
+            if (EntityType.MATERIALIZED_VIEW.equals(entity.getEntityType())) {
+                viewEntities.add(ddlQueryGenerator.generateCreateViewQuery(entity, MATERIALIZED_VIEW_PREFIX));
+            }
+        });
+        return Stream.of(viewEntities, commentQueries)
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
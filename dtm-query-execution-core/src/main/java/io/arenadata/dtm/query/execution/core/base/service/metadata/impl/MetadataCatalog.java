@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service.metadata.impl;
+
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.query.execution.core.base.dto.metadata.DatamartEntity;
+import io.arenadata.dtm.query.execution.core.base.dto.metadata.DatamartInfo;
+import io.arenadata.dtm.query.execution.core.base.dto.metadata.EntityAttribute;
+import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DatamartDao;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.zookeeper.Watcher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of datamarts, their entities and attributes requested by jdbc clients.
+ * Zookeeper stays the source of truth: every value is read with a watch and dropped
+ * when its node changes on any node of the cluster or the session is lost,
+ * so the next request reads it from zookeeper again.
+ */
+@Slf4j
+@Component
+public class MetadataCatalog {
+    private static final String DATAMARTS_KEY = "";
+
+    private final DatamartDao datamartDao;
+    private final EntityDao entityDao;
+    private final Map<String, Future<List<DatamartInfo>>> datamarts = new ConcurrentHashMap<>();
+    private final Map<String, Future<List<DatamartEntity>>> entities = new ConcurrentHashMap<>();
+    private final Map<String, Future<List<EntityAttribute>>> attributes = new ConcurrentHashMap<>();
+
+    public MetadataCatalog(ServiceDbFacade serviceDbFacade) {
+        this.datamartDao = serviceDbFacade.getServiceDbDao().getDatamartDao();
+        this.entityDao = serviceDbFacade.getServiceDbDao().getEntityDao();
+    }
+
+    public Future<List<DatamartInfo>> getDatamarts() {
+        return getWatched(datamarts, DATAMARTS_KEY, datamartDao::getDatamartMeta);
+    }
+
+    public Future<List<DatamartEntity>> getEntities(String datamart) {
+        return getWatched(entities, datamart, watcher -> entityDao.getEntitiesMeta(datamart, watcher));
+    }
+
+    public Future<List<EntityAttribute>> getAttributes(String datamart, String entityName) {
+        return getWatched(attributes, datamart + "." + entityName,
+                watcher -> entityDao.getEntity(datamart, entityName, watcher)
+                        .map(MetadataCatalog::toAttributes));
+    }
+
+    /**
+     * Returns the cached value or reads it leaving a watch, which drops exactly this value.
+     * The value is cached before the read, so a watch fired before the read completes is not lost.
+     * Failed reads are not cached.
+     */
+    private <T> Future<T> getWatched(Map<String, Future<T>> cache, String key, Function<Watcher, Future<T>> reader) {
+        Future<T> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Promise<T> promise = Promise.promise();
+        Future<T> future = promise.future();
+        cached = cache.putIfAbsent(key, future);
+        if (cached != null) {
+            return cached;
+        }
+
+        Watcher watcher = event -> {
+            log.debug("Metadata [{}] is dropped from catalog on {}", key, event);
+            cache.remove(key, future);
+        };
+        reader.apply(watcher)
+                .onFailure(error -> cache.remove(key, future))
+                .onComplete(promise);
+        return future;
+    }
+
+    static List<EntityAttribute> toAttributes(Entity entity) {
+        if (entity.getFields() == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(entity.getFields().stream()
+                .map(ef -> EntityAttribute.builder()
+                        .datamartMnemonic(entity.getSchema())
+                        .entityMnemonic(entity.getName())
+                        .accuracy(ef.getAccuracy())
+                        .distributeKeykOrder(ef.getShardingOrder())
+                        .primaryKeyOrder(ef.getPrimaryOrder())
+                        .dataType(ef.getType())
+                        .length(ef.getSize())
+                        .mnemonic(ef.getName())
+                        .ordinalPosition(ef.getOrdinalPosition())
+                        .nullable(ef.getNullable())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
@@ -23,16 +23,16 @@ import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginServ
 import io.arenadata.dtm.query.execution.plugin.api.request.DdlRequest;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Component
 public class MetadataExecutorImpl implements MetadataExecutor<DdlRequestContext> {
 
@@ -45,32 +45,49 @@ public class MetadataExecutorImpl implements MetadataExecutor<DdlRequestContext>
 
     @Override
     public Future<Void> execute(DdlRequestContext context) {
-        return Future.future(promise -> {
-            List<Future> futures = new ArrayList<>();
-            Set<SourceType> destination = Optional.ofNullable(context.getEntity())
-                    .map(Entity::getDestination)
-                    .filter(set -> !set.isEmpty())
-                    .orElse(dataSourcePluginService.getSourceTypes());
-            destination.forEach(sourceType ->
-                    futures.add(dataSourcePluginService.ddl(
-                            sourceType,
-                            context.getMetrics(),
-                            DdlRequest.builder()
-                                    .datamartMnemonic(context.getDatamartName())
-                                    .entity(context.getEntity())
-                                    .envName(context.getEnvName())
-                                    .requestId(context.getRequest().getQueryRequest().getRequestId())
-                                    .sqlKind(getKind(context.getSqlNode()))
-                                    .build())
-                    ));
-            CompositeFuture.join(futures).onComplete(ar -> {
-                if (ar.succeeded()) {
-                    promise.complete();
-                } else {
-                    promise.fail(ar.cause());
-                }
-            });
-        });
+        Set<SourceType> destination = Optional.ofNullable(context.getEntity())
+                .map(Entity::getDestination)
+                .filter(set -> !set.isEmpty())
+                .orElse(dataSourcePluginService.getSourceTypes());
+        SqlKind sqlKind = getKind(context.getSqlNode());
+        Map<SourceType, Future<Void>> futures = new EnumMap<>(SourceType.class);
+        destination.forEach(sourceType -> futures.put(sourceType, executeDdl(context, sourceType, sqlKind)));
+        return CompositeFuture.join(new ArrayList<>(futures.values()))
+                .<Void>mapEmpty()
+                .recover(error -> compensate(context, sqlKind, futures)
+                        .compose(v -> Future.failedFuture(error)));
+    }
+
+    private Future<Void> executeDdl(DdlRequestContext context, SourceType sourceType, SqlKind sqlKind) {
+        return dataSourcePluginService.ddl(
+                sourceType,
+                context.getMetrics(),
+                DdlRequest.builder()
+                        .datamartMnemonic(context.getDatamartName())
+                        .entity(context.getEntity())
+                        .envName(context.getEnvName())
+                        .requestId(context.getRequest().getQueryRequest().getRequestId())
+                        .sqlKind(sqlKind)
+                        .build());
+    }
+
+    /**
+     * Drops tables created in the plugins that succeeded when the others failed,
+     * so the failed create can be repeated. Compensation errors are only logged.
+     */
+    private Future<Void> compensate(DdlRequestContext context, SqlKind sqlKind, Map<SourceType, Future<Void>> futures) {
+        if (sqlKind != SqlKind.CREATE_TABLE) {
+            return Future.succeededFuture();
+        }
+        List<Future> drops = futures.entrySet().stream()
+                .filter(entry -> entry.getValue().succeeded())
+                .map(entry -> executeDdl(context, entry.getKey(), SqlKind.DROP_TABLE)
+                        .onFailure(error -> log.warn("Could not drop table [{}] in [{}] after failed create",
+                                context.getEntity().getNameWithSchema(), entry.getKey(), error)))
+                .collect(Collectors.toList());
+        return CompositeFuture.join(drops)
+                .<Void>mapEmpty()
+                .otherwiseEmpty();
     }
 
     private SqlKind getKind(SqlNode node) {
@@ -32,6 +32,11 @@ public class CheckSumRequestContext {
     private long cnTo;
     private Entity entity;
     private Set<String> columns;
+    private boolean deltaCommitted;
+    /**
+     * Tables written in the delta, null if unknown
+     */
+    private Set<String> changedEntities;
 
     public CheckSumRequestContext copy() {
         return CheckSumRequestContext.builder()
@@ -43,6 +48,8 @@ public class CheckSumRequestContext {
                 .cnTo(cnTo)
                 .entity(entity)
                 .columns(columns)
+                .deltaCommitted(deltaCommitted)
+                .changedEntities(changedEntities)
                 .build();
     }
 }
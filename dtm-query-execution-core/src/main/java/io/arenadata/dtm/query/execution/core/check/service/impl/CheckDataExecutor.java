@@ -24,7 +24,9 @@ import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.extension.check.CheckType;
 import io.arenadata.dtm.query.calcite.core.extension.check.SqlCheckData;
 import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityNotExistsException;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckProperties;
 import io.arenadata.dtm.query.execution.core.base.exception.table.ColumnsNotExistsException;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DataCheckSumDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckContext;
 import io.arenadata.dtm.query.execution.core.check.factory.CheckQueryResultFactory;
@@ -33,38 +35,55 @@ import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
 import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotExistException;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginQueryThrottle;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByCountRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.calcite.util.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service("checkDataExecutor")
 public class CheckDataExecutor implements CheckExecutor {
+    private static final String CHECK_BY_COUNT = "count";
+    private static final String CHECK_BY_HASH = "hash_%s_%s";
     private final DataSourcePluginService pluginService;
     private final DeltaServiceDao deltaDao;
     private final EntityDao entityDao;
+    private final DataCheckSumDao checkSumDao;
     private final CheckQueryResultFactory resultFactory;
+    private final CheckProperties checkProperties;
+    private final PluginQueryThrottle pluginQueryThrottle;
 
     @Autowired
     public CheckDataExecutor(DataSourcePluginService pluginService,
                              DeltaServiceDao deltaDao,
                              EntityDao entityDao,
-                             CheckQueryResultFactory resultFactory) {
+                             DataCheckSumDao checkSumDao,
+                             CheckQueryResultFactory resultFactory,
+                             CheckProperties checkProperties) {
         this.pluginService = pluginService;
         this.deltaDao = deltaDao;
         this.entityDao = entityDao;
+        this.checkSumDao = checkSumDao;
         this.resultFactory = resultFactory;
+        this.checkProperties = checkProperties;
+        this.pluginQueryThrottle = new PluginQueryThrottle(checkProperties.getDataMaxParallel());
     }
 
     @Override
@@ -123,9 +142,11 @@ public class CheckDataExecutor implements CheckExecutor {
         if (deltaOkNum < deltaNum) {
             throw new DeltaNotExistException();
         }
+        val checkFunc = getCheckFunc(entity, sqlCheckData, context);
+        val checkName = getCheckName(sqlCheckData);
         List<Future> checkList = new ArrayList<>();
         for (Long curDeltaNum = deltaOkNum; curDeltaNum >= deltaNum; curDeltaNum--) {
-            checkList.add(checkCurrentDeltaNum(datamart, curDeltaNum, entity, sqlCheckData, context));
+            checkList.add(checkCurrentDeltaNum(datamart, curDeltaNum, entity, checkName, checkFunc));
         }
         return CompositeFuture.join(checkList)
                 .map(CompositeFuture::list);
@@ -134,22 +155,39 @@ public class CheckDataExecutor implements CheckExecutor {
     private Future<CheckResult> checkCurrentDeltaNum(String datamart,
                                                      Long deltaNum,
                                                      Entity entity,
-                                                     SqlCheckData sqlCheckData,
-                                                     CheckContext context) {
-        return deltaDao.getDeltaByNum(datamart, deltaNum)
-                .compose(delta -> checkDeltaInPlugins(entity, sqlCheckData, context, delta));
+                                                     String checkName,
+                                                     TriFunction<SourceType, Long, Long, Future<Long>> checkFunc) {
+        return CompositeFuture.join(deltaDao.getDeltaByNum(datamart, deltaNum),
+                getStoredCheckSums(datamart, entity, checkName, deltaNum))
+                .compose(result -> checkDeltaInPlugins(entity, checkName, checkFunc, result.resultAt(0), result.resultAt(1)));
 
     }
 
-    private Future<CheckResult> checkDeltaInPlugins(Entity entity, SqlCheckData sqlCheckData, CheckContext context, OkDelta delta) {
+    private Future<Map<SourceType, Long>> getStoredCheckSums(String datamart, Entity entity, String checkName, Long deltaNum) {
+        if (!checkProperties.isStoreCheckSums()) {
+            return Future.succeededFuture(Collections.emptyMap());
+        }
+        return checkSumDao.getCheckSums(datamart, entity.getName(), checkName, deltaNum)
+                .otherwise(error -> {
+                    log.warn("Stored checksums are ignored", error);
+                    return Collections.emptyMap();
+                });
+    }
+
+    private Future<CheckResult> checkDeltaInPlugins(Entity entity,
+                                                    String checkName,
+                                                    TriFunction<SourceType, Long, Long, Future<Long>> checkFunc,
+                                                    OkDelta delta,
+                                                    Map<SourceType, Long> storedCheckSums) {
         return CompositeFuture.join(entity.getDestination().stream()
-                .map(sourceType -> getCheckFunc(entity, sqlCheckData, context)
-                        .apply(sourceType, delta.getCnFrom(), delta.getCnTo())
+                .map(sourceType -> getCheckSum(sourceType, checkFunc, delta, storedCheckSums)
                         .map(value -> new Pair<>(sourceType, value)))
                 .collect(Collectors.toList()))
                 .map(result -> {
                     List<Pair<SourceType, Long>> resultList = result.list();
+                    // mismatched checksums aren't stored, so the next check recalculates them
                     if (resultList.stream().map(Pair::getValue).distinct().count() == 1) {
+                        saveCheckSums(entity, checkName, delta, resultList, storedCheckSums);
                         val checkResult = String.format("Table '%s.%s' (%s) checksum for delta %s is Ok.",
                                 entity.getSchema(), entity.getName(),
                                 entity.getDestination().stream()
@@ -170,6 +208,41 @@ public class CheckDataExecutor implements CheckExecutor {
                 });
     }
 
+    private Future<Long> getCheckSum(SourceType sourceType,
+                                     TriFunction<SourceType, Long, Long, Future<Long>> checkFunc,
+                                     OkDelta delta,
+                                     Map<SourceType, Long> storedCheckSums) {
+        val storedCheckSum = storedCheckSums.get(sourceType);
+        if (storedCheckSum != null) {
+            return Future.succeededFuture(storedCheckSum);
+        }
+        return pluginQueryThrottle.execute(sourceType, () -> checkFunc.apply(sourceType, delta.getCnFrom(), delta.getCnTo()));
+    }
+
+    private void saveCheckSums(Entity entity,
+                               String checkName,
+                               OkDelta delta,
+                               List<Pair<SourceType, Long>> checkSums,
+                               Map<SourceType, Long> storedCheckSums) {
+        if (!checkProperties.isStoreCheckSums() || storedCheckSums.keySet().containsAll(entity.getDestination())) {
+            return;
+        }
+        Map<SourceType, Long> deltaCheckSums = new EnumMap<>(SourceType.class);
+        checkSums.forEach(pair -> deltaCheckSums.put(pair.getKey(), pair.getValue()));
+        checkSumDao.saveCheckSums(entity.getSchema(), entity.getName(), checkName, delta.getDeltaNum(), deltaCheckSums)
+                .onFailure(error -> log.warn("Checksums of delta {} are not stored", delta.getDeltaNum(), error));
+    }
+
+    private String getCheckName(SqlCheckData sqlCheckData) {
+        val columns = sqlCheckData.getColumns();
+        if (columns == null || columns.isEmpty()) {
+            return CHECK_BY_COUNT;
+        }
+        return String.format(CHECK_BY_HASH, sqlCheckData.getNormalization(), columns.stream()
+                .sorted()
+                .collect(Collectors.joining(",")));
+    }
+
     private TriFunction<SourceType, Long, Long, Future<Long>> getCheckFunc(Entity entity, SqlCheckData sqlCheckData, CheckContext context) {
         val normalization = sqlCheckData.getNormalization();
         val columns = sqlCheckData.getColumns();
@@ -202,6 +275,8 @@ public class CheckDataExecutor implements CheckExecutor {
             throw new DtmException(String.format("Columns: `%s` don't exist.",
                     String.join(", ", notExistColumns)));
         }
+        // hash depends on the columns order, sorted as in the check name of the stored checksums
+        val sortedColumns = new TreeSet<>(columns);
         return (sourceType, cnFrom, cnTo) -> pluginService.checkDataByHashInt32(
                 sourceType,
                 context.getMetrics(),
@@ -212,7 +287,7 @@ public class CheckDataExecutor implements CheckExecutor {
                         .entity(entity)
                         .cnFrom(cnFrom)
                         .cnTo(cnTo)
-                        .columns(columns)
+                        .columns(sortedColumns)
                         .normalization(normalization)
                         .build());
 
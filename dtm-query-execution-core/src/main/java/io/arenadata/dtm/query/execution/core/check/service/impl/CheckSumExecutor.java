@@ -80,7 +80,11 @@ public class CheckSumExecutor implements CheckExecutor {
                     .compose(hotDelta -> {
                         if (hotDelta == null || hotDelta.getDeltaNum() != deltaNum) {
                             return deltaServiceDao.getDeltaByNum(datamart, deltaNum)
-                                    .compose(okDelta -> calculateCheckSum(table, checkContext, okDelta.getCnFrom(), okDelta.getCnTo()));
+                                    .compose(okDelta -> {
+                                        checkContext.setDeltaCommitted(true);
+                                        checkContext.setChangedEntities(okDelta.getChangedEntities());
+                                        return calculateCheckSum(table, checkContext, okDelta.getCnFrom(), okDelta.getCnTo());
+                                    });
                         }
                         return calculateCheckSum(table, checkContext, hotDelta.getCnFrom(), hotDelta.getCnTo());
                     })
@@ -19,13 +19,17 @@ import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.model.ddl.EntityField;
 import io.arenadata.dtm.common.model.ddl.EntityType;
 import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckProperties;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DataCheckSumDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckSumRequestContext;
 import io.arenadata.dtm.query.execution.core.check.exception.CheckSumException;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginQueryThrottle;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,20 +38,33 @@ import org.springframework.stereotype.Service;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class CheckSumTableService {
+    private static final String CHECK_SUM = "sum_%s";
+    private static final String CHECK_SUM_BY_COLUMNS = "sum_%s_%s";
 
     private final DataSourcePluginService dataSourcePluginService;
     private final EntityDao entityDao;
+    private final DataCheckSumDao checkSumDao;
+    private final CheckProperties checkProperties;
+    private final PluginQueryThrottle pluginQueryThrottle;
 
     @Autowired
-    public CheckSumTableService(DataSourcePluginService dataSourcePluginService, EntityDao entityDao) {
+    public CheckSumTableService(DataSourcePluginService dataSourcePluginService,
+                                EntityDao entityDao,
+                                DataCheckSumDao checkSumDao,
+                                CheckProperties checkProperties) {
         this.dataSourcePluginService = dataSourcePluginService;
         this.entityDao = entityDao;
+        this.checkSumDao = checkSumDao;
+        this.checkProperties = checkProperties;
+        this.pluginQueryThrottle = new PluginQueryThrottle(checkProperties.getSumMaxParallel());
     }
 
     public Future<Long> calcCheckSumForAllTables(CheckSumRequestContext request) {
         return entityDao.getEntityNamesByDatamart(request.getDatamart())
+                .map(entityNames -> filterChangedEntities(entityNames, request))
                 .compose(entityNames -> getEntities(entityNames, request.getDatamart()))
                 .compose(entities -> calcCheckSumForEntities(entities, request))
                 .map(checkSumList -> checkSumList.stream()
@@ -55,8 +72,30 @@ public class CheckSumTableService {
     }
 
     public Future<Long> calcCheckSumTable(CheckSumRequestContext request) {
+        val entity = request.getEntity();
+        if (entity.getEntityType() != EntityType.TABLE) {
+            return calcCheckSumInDatasources(request, Collections.emptyMap());
+        }
+        if (!isChanged(entity.getName(), request)) {
+            // only rows written in the delta are summed, so unchanged table has nothing to sum up
+            return Future.succeededFuture(0L);
+        }
+        if (!isCheckSumStored(request)) {
+            return calcCheckSumInDatasources(request, Collections.emptyMap());
+        }
+        return checkSumDao.getCheckSums(request.getDatamart(), entity.getName(), getCheckName(request), request.getDeltaNum())
+                .otherwise(error -> {
+                    log.warn("Stored checksums are ignored", error);
+                    return Collections.emptyMap();
+                })
+                .compose(storedCheckSums -> calcCheckSumInDatasources(request, storedCheckSums));
+    }
+
+    private Future<Long> calcCheckSumInDatasources(CheckSumRequestContext request, Map<SourceType, Long> storedCheckSums) {
         return CompositeFuture.join(request.getEntity().getDestination().stream()
-                .map(sourceType -> checkSumInDatasource(sourceType, request))
+                .map(sourceType -> storedCheckSums.containsKey(sourceType)
+                        ? Future.succeededFuture(Pair.of(sourceType, storedCheckSums.get(sourceType)))
+                        : pluginQueryThrottle.execute(sourceType, () -> checkSumInDatasource(sourceType, request)))
                 .collect(Collectors.toList()))
                 .map(result -> {
                     List<Pair<SourceType, Long>> resultList = result.list();
@@ -64,6 +103,9 @@ public class CheckSumTableService {
                             .map(Pair::getValue)
                             .distinct().count();
                     if (distinctCount == 1) {
+                        if (!storedCheckSums.keySet().containsAll(request.getEntity().getDestination())) {
+                            saveCheckSums(request, resultList);
+                        }
                         return resultList.get(0).getValue();
                     } else {
                         val pluginResults = resultList.stream()
@@ -74,6 +116,44 @@ public class CheckSumTableService {
                 });
     }
 
+    private void saveCheckSums(CheckSumRequestContext request, List<Pair<SourceType, Long>> checkSums) {
+        if (!isCheckSumStored(request)) {
+            return;
+        }
+        Map<SourceType, Long> deltaCheckSums = new EnumMap<>(SourceType.class);
+        checkSums.forEach(pair -> deltaCheckSums.put(pair.getKey(), pair.getValue()));
+        checkSumDao.saveCheckSums(request.getDatamart(), request.getEntity().getName(), getCheckName(request),
+                request.getDeltaNum(), deltaCheckSums)
+                .onFailure(error -> log.warn("Checksums of delta {} are not stored", request.getDeltaNum(), error));
+    }
+
+    /**
+     * Checksums are stored only for tables in committed deltas, data of hot delta and materialized views
+     * can change after the check.
+     */
+    private boolean isCheckSumStored(CheckSumRequestContext request) {
+        return checkProperties.isStoreCheckSums()
+                && request.isDeltaCommitted()
+                && request.getEntity().getEntityType() == EntityType.TABLE;
+    }
+
+    private boolean isChanged(String entityName, CheckSumRequestContext request) {
+        return request.getChangedEntities() == null || request.getChangedEntities().contains(entityName);
+    }
+
+    private List<String> filterChangedEntities(List<String> entityNames, CheckSumRequestContext request) {
+        return entityNames.stream()
+                .filter(name -> isChanged(name, request))
+                .collect(Collectors.toList());
+    }
+
+    private String getCheckName(CheckSumRequestContext request) {
+        if (request.getColumns() == null) {
+            return String.format(CHECK_SUM, request.getNormalization());
+        }
+        return String.format(CHECK_SUM_BY_COLUMNS, request.getNormalization(), String.join(",", request.getColumns()));
+    }
+
     private Future<Pair<SourceType, Long>> checkSumInDatasource(SourceType sourceType, CheckSumRequestContext request) {
         return dataSourcePluginService.checkDataByHashInt32(sourceType,
                 request.getCheckContext().getMetrics(),
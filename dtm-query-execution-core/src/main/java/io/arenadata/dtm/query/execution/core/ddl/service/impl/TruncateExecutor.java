@@ -23,6 +23,7 @@ import io.arenadata.dtm.query.calcite.core.extension.OperationNames;
 import io.arenadata.dtm.query.calcite.core.extension.ddl.truncate.SqlTruncateHistory;
 import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityNotExistsException;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DataCheckSumDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.MetadataExecutor;
 import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
@@ -49,6 +50,7 @@ public class TruncateExecutor extends QueryResultDdlExecutor {
 
     private final DataSourcePluginService dataSourcePluginService;
     private final EntityDao entityDao;
+    private final DataCheckSumDao dataCheckSumDao;
     private final DeltaServiceDao deltaServiceDao;
 
     @Autowired
@@ -61,6 +63,7 @@ public class TruncateExecutor extends QueryResultDdlExecutor {
         this.dataSourcePluginService = dataSourcePluginService;
         this.deltaServiceDao = deltaServiceDao;
         this.entityDao = serviceDbFacade.getServiceDbDao().getEntityDao();
+        this.dataCheckSumDao = serviceDbFacade.getServiceDbDao().getDataCheckSumDao();
     }
 
     @Override
@@ -72,6 +75,7 @@ public class TruncateExecutor extends QueryResultDdlExecutor {
             val sqlTruncateHistory = (SqlTruncateHistory) context.getSqlCall();
             CompositeFuture.join(getTableEntity(schema, table), calcSysCn(schema, sqlTruncateHistory))
                     .compose(entitySysCn -> CompositeFuture.join(executeTruncate(entitySysCn, context, sqlTruncateHistory)))
+                    .compose(v -> dataCheckSumDao.deleteCheckSums(schema, table))
                     .onSuccess(success -> promise.complete(QueryResult.emptyResult()))
                     .onFailure(promise::fail);
         });
@@ -31,16 +31,23 @@ import io.arenadata.dtm.query.execution.core.base.service.metadata.MetadataExecu
 import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
 import io.arenadata.dtm.query.execution.core.ddl.service.impl.table.DropTableExecutor;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.plugin.api.request.DdlRequest;
 import io.vertx.core.Future;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.SqlKind;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+
+@Slf4j
 @Component
 public class DropMaterializedViewExecutor extends DropTableExecutor {
 
     private final CacheService<EntityKey, MaterializedViewCacheValue> materializedViewCacheService;
+    private final DataSourcePluginService dataSourcePluginService;
 
     public DropMaterializedViewExecutor(MetadataExecutor<DdlRequestContext> metadataExecutor,
                                         ServiceDbFacade serviceDbFacade,
@@ -58,6 +65,7 @@ public class DropMaterializedViewExecutor extends DropTableExecutor {
                 hsqlClient,
                 evictQueryTemplateCacheService);
         this.materializedViewCacheService = materializedViewCacheService;
+        this.dataSourcePluginService = dataSourcePluginService;
     }
 
     @Override
@@ -66,14 +74,44 @@ public class DropMaterializedViewExecutor extends DropTableExecutor {
         val tableName = getTableName(sqlNodeName);
 
         return super.execute(context, sqlNodeName)
-                .onSuccess(ar -> {
+                .compose(result -> {
                     val cacheValue = materializedViewCacheService.get(new EntityKey(datamartName, tableName));
-                    if (cacheValue != null) {
-                        cacheValue.markForDeletion();
+                    if (cacheValue == null) {
+                        return Future.succeededFuture(result);
                     }
+                    cacheValue.markForDeletion();
+                    return releaseMaterializedDataSource(context, datamartName, cacheValue.getEntity())
+                            .map(result);
                 });
     }
 
+    /**
+     * Notifies the materialized data source that the view is dropped from its destinations,
+     * so it can release the resources kept for the view synchronization. Errors are only logged.
+     */
+    private Future<Void> releaseMaterializedDataSource(DdlRequestContext context, String datamartName, Entity entity) {
+        val materializedDataSource = entity.getMaterializedDataSource();
+        if (materializedDataSource == null || !dataSourcePluginService.hasSourceType(materializedDataSource)) {
+            return Future.succeededFuture();
+        }
+
+        val releasedEntity = entity.copy();
+        if (context.getSourceType() != null) {
+            releasedEntity.setDestination(Collections.singleton(context.getSourceType()));
+        }
+        val request = DdlRequest.builder()
+                .requestId(context.getRequest().getQueryRequest().getRequestId())
+                .datamartMnemonic(datamartName)
+                .entity(releasedEntity)
+                .envName(context.getEnvName())
+                .sqlKind(SqlKind.DROP_MATERIALIZED_VIEW)
+                .build();
+        return dataSourcePluginService.ddl(materializedDataSource, context.getMetrics(), request)
+                .onFailure(error -> log.warn("Could not release materialized view [{}] in [{}]",
+                        entity.getNameWithSchema(), materializedDataSource, error))
+                .otherwiseEmpty();
+    }
+
     @Override
     protected Entity createClassTable(String schema, String tableName) {
         return Entity.builder()
@@ -28,6 +28,7 @@ import io.arenadata.dtm.query.calcite.core.extension.ddl.SqlDropTable;
 import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
 import io.arenadata.dtm.query.execution.core.base.exception.entity.EntityNotExistsException;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DataCheckSumDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.SetEntityState;
 import io.arenadata.dtm.query.execution.core.base.service.hsql.HSQLClient;
@@ -60,6 +61,7 @@ public class DropTableExecutor extends QueryResultDdlExecutor {
     private final DataSourcePluginService dataSourcePluginService;
     private final CacheService<EntityKey, Entity> entityCacheService;
     private final EntityDao entityDao;
+    private final DataCheckSumDao dataCheckSumDao;
     private final HSQLClient hsqlClient;
     private final EvictQueryTemplateCacheService evictQueryTemplateCacheService;
 
@@ -74,6 +76,7 @@ public class DropTableExecutor extends QueryResultDdlExecutor {
         super(metadataExecutor, serviceDbFacade, sqlDialect);
         this.entityCacheService = entityCacheService;
         this.entityDao = serviceDbFacade.getServiceDbDao().getEntityDao();
+        this.dataCheckSumDao = serviceDbFacade.getServiceDbDao().getDataCheckSumDao();
         this.dataSourcePluginService = dataSourcePluginService;
         this.hsqlClient = hsqlClient;
         this.evictQueryTemplateCacheService = evictQueryTemplateCacheService;
@@ -139,7 +142,8 @@ public class DropTableExecutor extends QueryResultDdlExecutor {
     private Future<Void> checkViewsAndUpdateEntity(DdlRequestContext context, Entity entity, boolean ifExists) {
         val changeQuery = sqlNodeToString(context.getSqlNode());
         return checkRelatedViews(entity)
-                .compose(e -> writeNewChangelogRecord(context.getDatamartName(), entity.getName(), changeQuery)
+                .compose(e -> dataCheckSumDao.deleteCheckSums(e.getSchema(), e.getName())
+                        .compose(v -> writeNewChangelogRecord(context.getDatamartName(), entity.getName(), changeQuery))
                         .compose(delta -> updateEntity(context, e, ifExists, delta, changeQuery)));
     }
 
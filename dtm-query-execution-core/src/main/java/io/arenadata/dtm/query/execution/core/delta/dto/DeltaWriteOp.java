@@ -15,11 +15,15 @@
  */
 package io.arenadata.dtm.query.execution.core.delta.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.arenadata.dtm.common.reader.SourceType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Set;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,4 +35,9 @@ public class DeltaWriteOp {
     private String query;
     private int status;
     private Long sysCn;
+    /**
+     * Destinations where the failed operation is already rolled back, skipped when erase is resumed
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Set<SourceType> rolledBackDestinations;
 }
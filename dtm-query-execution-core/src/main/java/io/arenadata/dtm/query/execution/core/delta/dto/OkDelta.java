@@ -21,6 +21,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @Builder
@@ -31,4 +32,14 @@ public class OkDelta {
     private LocalDateTime deltaDate;
     private long cnFrom;
     private long cnTo;
+    /**
+     * Tables written in the delta.
+     * Deltas committed by earlier versions have no such field in ZooKeeper and are read with null here,
+     * consumers treat null as "every table may be changed".
+     */
+    private Set<String> changedEntities;
+
+    public OkDelta(long deltaNum, LocalDateTime deltaDate, long cnFrom, long cnTo) {
+        this(deltaNum, deltaDate, cnFrom, cnTo, null);
+    }
 }
@@ -18,14 +18,18 @@ package io.arenadata.dtm.query.execution.core.delta.repository.executor;
 import io.arenadata.dtm.common.configuration.core.CoreConstants;
 import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
 import io.arenadata.dtm.query.execution.core.delta.dto.Delta;
+import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
 import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
+import io.arenadata.dtm.query.execution.core.delta.dto.operation.WriteOpFinish;
 import io.arenadata.dtm.query.execution.core.delta.exception.*;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.Op;
+import org.apache.zookeeper.ZooDefs;
 import org.apache.zookeeper.data.Stat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -34,6 +38,9 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import static io.arenadata.dtm.query.execution.core.delta.utils.DeltaQueryUtil.DELTA_DATE_TIME_FORMATTER;
 
@@ -63,7 +70,7 @@ public class WriteDeltaHotSuccessExecutor extends DeltaServiceDaoExecutorHelper
                     return delta;
                 })
                 .compose(delta -> delta.getOk() == null ?
-                        Future.succeededFuture(delta) : createDeltaPaths(datamart, deltaHotDate, delta))
+                        Future.succeededFuture(delta) : checkDeltaDate(deltaHotDate, delta))
                 .map(delta -> Delta.builder()
                         .ok(OkDelta.builder()
                                 .deltaDate(deltaHotDate == null ?
@@ -71,9 +78,10 @@ public class WriteDeltaHotSuccessExecutor extends DeltaServiceDaoExecutorHelper
                                 .deltaNum(delta.getHot().getDeltaNum())
                                 .cnFrom(delta.getHot().getCnFrom())
                                 .cnTo(delta.getHot().getCnTo() == null ? delta.getHot().getCnFrom() : delta.getHot().getCnTo())
+                                .changedEntities(getChangedEntities(delta.getHot()))
                                 .build())
                         .build())
-                .compose(delta -> executor.multi(getWriteDeltaHotSuccessOps(datamart, delta, deltaStat.getVersion())).map(delta))
+                .compose(delta -> writeDeltaHotSuccess(datamart, ctx.getDelta().getOk(), delta, deltaStat.getVersion()).map(delta))
                 .onSuccess(delta -> {
                     log.debug("Write delta hot \"success\" by datamart[{}], deltaHotDate[{}] completed successfully",
                             datamart,
@@ -103,7 +111,7 @@ public class WriteDeltaHotSuccessExecutor extends DeltaServiceDaoExecutorHelper
         }
     }
 
-    private Future<Delta> createDeltaPaths(String datamart, LocalDateTime deltaHotDate, Delta delta) {
+    private Future<Delta> checkDeltaDate(LocalDateTime deltaHotDate, Delta delta) {
         if (deltaHotDate != null && isBeforeOrEqual(deltaHotDate, delta.getOk().getDeltaDate())) {
             return Future.failedFuture(
                     new DeltaUnableSetDateTimeException(DELTA_DATE_TIME_FORMATTER.format(deltaHotDate), DELTA_DATE_TIME_FORMATTER.format(delta.getOk().getDeltaDate())));
@@ -111,48 +119,55 @@ public class WriteDeltaHotSuccessExecutor extends DeltaServiceDaoExecutorHelper
             return Future.failedFuture(
                     new DeltaUnableSetDateTimeException(DELTA_DATE_TIME_FORMATTER.format(LocalDateTime.now(CoreConstants.CORE_ZONE_ID)), DELTA_DATE_TIME_FORMATTER.format(delta.getOk().getDeltaDate())));
         } else {
-            return createDelta(datamart, delta);
+            return Future.succeededFuture(delta);
         }
     }
 
+    /**
+     * Previous ok delta is stored by its num and date along with the new one in a single multi.
+     * Only the date node is created beforehand, as it is shared by deltas of the same day.
+     * Nodes left by commits that failed before multi was used are handled with separate creates.
+     */
+    private Future<Void> writeDeltaHotSuccess(String datamart, OkDelta previousOk, Delta delta, int deltaVersion) {
+        if (previousOk == null) {
+            return executor.multi(getWriteDeltaHotSuccessOps(datamart, delta, deltaVersion)).mapEmpty();
+        }
+        return ignoreNodeExists(createDeltaDatePath(datamart, previousOk))
+                .compose(v -> executor.multi(getWriteDeltaHotSuccessOps(datamart, previousOk, delta, deltaVersion)))
+                .<Void>mapEmpty()
+                .recover(error -> {
+                    if (error instanceof KeeperException.NodeExistsException) {
+                        return createDelta(datamart, previousOk)
+                                .compose(v -> executor.multi(getWriteDeltaHotSuccessOps(datamart, delta, deltaVersion)))
+                                .mapEmpty();
+                    }
+                    return Future.failedFuture(error);
+                });
+    }
+
     private boolean isBeforeOrEqual(LocalDateTime deltaHotDate, LocalDateTime actualOkDeltaDate) {
         return deltaHotDate.isBefore(actualOkDeltaDate) || deltaHotDate.isEqual(actualOkDeltaDate);
     }
 
-    private Future<Delta> createDelta(String datamart, Delta delta) {
-        return createDeltaDatePath(datamart, delta)
-                .map(delta)
+    private Future<Void> createDelta(String datamart, OkDelta okDelta) {
+        return ignoreNodeExists(createDeltaDateTimePath(datamart, okDelta))
+                .compose(v -> ignoreNodeExists(createDeltaDateNumPath(datamart, okDelta)));
+    }
+
+    private Future<Void> ignoreNodeExists(Future<String> createFuture) {
+        return createFuture
+                .<Void>mapEmpty()
                 .otherwise(error -> {
                     if (error instanceof KeeperException.NodeExistsException) {
-                        return delta;
+                        return null;
                     } else {
                         throw new DeltaException(CANT_WRITE_DELTA_HOT_MSG, error);
                     }
-                })
-                .compose(r ->
-                        createDeltaDateTimePath(datamart, delta.getOk())
-                                .map(delta)
-                                .otherwise(error -> {
-                                    if (error instanceof KeeperException.NodeExistsException) {
-                                        return r;
-                                    } else {
-                                        throw new DeltaException(CANT_WRITE_DELTA_HOT_MSG, error);
-                                    }
-                                }))
-                .compose(r ->
-                        createDeltaDateNumPath(datamart, delta.getOk())
-                                .map(delta)
-                                .otherwise(error -> {
-                                    if (error instanceof KeeperException.NodeExistsException) {
-                                        return r;
-                                    } else {
-                                        throw new DeltaException(CANT_WRITE_DELTA_HOT_MSG, error);
-                                    }
-                                }));
+                });
     }
 
-    private Future<String> createDeltaDatePath(String datamart, Delta delta) {
-        val deltaDateTime = delta.getOk().getDeltaDate();
+    private Future<String> createDeltaDatePath(String datamart, OkDelta okDelta) {
+        val deltaDateTime = okDelta.getDeltaDate();
         val deltaDateTimePath = getDeltaDatePath(datamart, deltaDateTime.toLocalDate());
         return executor.createEmptyPersistentPath(deltaDateTimePath);
     }
@@ -169,6 +184,27 @@ public class WriteDeltaHotSuccessExecutor extends DeltaServiceDaoExecutorHelper
         return executor.createPersistentPath(deltaNumPath, serializedOkDelta(okDelta));
     }
 
+    private Set<String> getChangedEntities(HotDelta hotDelta) {
+        if (hotDelta.getWriteOperationsFinished() == null) {
+            return new TreeSet<>();
+        }
+        return hotDelta.getWriteOperationsFinished().stream()
+                .map(WriteOpFinish::getTableName)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private Iterable<Op> getWriteDeltaHotSuccessOps(String datamart, OkDelta previousOk, Delta delta, int deltaVersion) {
+        return Arrays.asList(
+                Op.create(getDeltaDateTimePath(datamart, previousOk.getDeltaDate()), serializedOkDelta(previousOk),
+                        ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT),
+                Op.create(getDeltaNumPath(datamart, previousOk.getDeltaNum()), serializedOkDelta(previousOk),
+                        ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT),
+                Op.delete(getDatamartPath(datamart) + "/run", -1),
+                Op.delete(getDatamartPath(datamart) + "/block", -1),
+                Op.setData(getDeltaPath(datamart), serializedDelta(delta), deltaVersion)
+        );
+    }
+
     private Iterable<Op> getWriteDeltaHotSuccessOps(String datamart, Delta delta, int deltaVersion) {
         return Arrays.asList(
                 Op.delete(getDatamartPath(datamart) + "/run", -1),
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.delta.repository.executor;
+
+import io.arenadata.dtm.common.exception.CrashException;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
+import io.arenadata.dtm.query.execution.core.delta.exception.DeltaException;
+import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotExistException;
+import io.arenadata.dtm.query.execution.core.delta.exception.DeltaWriteOpNotFoundException;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+
+@Slf4j
+@Component
+public class WriteOperationRolledBackExecutor extends DeltaServiceDaoExecutorHelper implements DeltaDaoExecutor {
+
+    public WriteOperationRolledBackExecutor(ZookeeperExecutor executor,
+                                            @Value("${core.env.name}") String envName) {
+        super(executor, envName);
+    }
+
+    public Future<Void> execute(String datamart, long sysCn, SourceType sourceType) {
+        Promise<Void> resultPromise = Promise.promise();
+        executor.getData(getDeltaPath(datamart))
+            .map(bytes -> {
+                val delta = deserializedDelta(bytes);
+                if (delta.getHot() == null) {
+                    throw new CrashException("Delta hot not exists", new DeltaNotExistException());
+                }
+                return sysCn - delta.getHot().getCnFrom();
+            })
+            .compose(opNum -> addRolledBackDestination(getWriteOpPath(datamart, opNum), sourceType))
+            .onSuccess(v -> {
+                log.debug("Write delta operation \"rolled back\" by datamart[{}], sysCn[{}], destination[{}] completed successfully",
+                    datamart, sysCn, sourceType);
+                resultPromise.complete();
+            })
+            .onFailure(error -> {
+                val errMsg = String.format("Can't write operation \"rolled back\" on datamart[%s], sysCn[%d], destination[%s]",
+                    datamart,
+                    sysCn,
+                    sourceType);
+                if (error instanceof KeeperException.NoNodeException) {
+                    resultPromise.fail(new DeltaWriteOpNotFoundException(error));
+                } else if (error instanceof DeltaException) {
+                    resultPromise.fail(error);
+                } else {
+                    resultPromise.fail(new DeltaException(errMsg, error));
+                }
+            });
+        return resultPromise.future();
+    }
+
+    private Future<Void> addRolledBackDestination(String writeOpPath, SourceType sourceType) {
+        // destinations of one operation are rolled back concurrently, so the node is updated by version
+        val stat = new Stat();
+        return executor.getData(writeOpPath, null, stat)
+            .map(this::deserializeDeltaWriteOp)
+            .compose(deltaWriteOp -> {
+                val destinations = EnumSet.noneOf(SourceType.class);
+                if (deltaWriteOp.getRolledBackDestinations() != null) {
+                    destinations.addAll(deltaWriteOp.getRolledBackDestinations());
+                }
+                if (!destinations.add(sourceType)) {
+                    return Future.succeededFuture();
+                }
+                deltaWriteOp.setRolledBackDestinations(destinations);
+                return executor.setData(writeOpPath, serializeDeltaWriteOp(deltaWriteOp), stat.getVersion())
+                    .<Void>mapEmpty()
+                    .recover(error -> error instanceof KeeperException.BadVersionException
+                        ? addRolledBackDestination(writeOpPath, sourceType) : Future.failedFuture(error));
+            });
+    }
+
+    @Override
+    public Class<? extends DeltaDaoExecutor> getExecutorInterface() {
+        return WriteOperationRolledBackExecutor.class;
+    }
+}
@@ -23,6 +23,7 @@ import io.arenadata.dtm.query.execution.core.delta.dto.HotDelta;
 import io.arenadata.dtm.query.execution.core.delta.dto.operation.WriteOpFinish;
 import io.arenadata.dtm.query.execution.core.delta.exception.DeltaException;
 import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotExistException;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import lombok.Data;
@@ -67,15 +68,13 @@ public class WriteOperationSuccessExecutor extends DeltaServiceDaoExecutorHelper
                     ctx.setDeltaVersion(deltaStat.getVersion());
                     return ctx;
                 })
-                .compose(writeOpCtx -> getWriteOpData(datamart, writeOpStat, writeOpCtx))
-                .map(this::deserializeDeltaWriteOp)
-                .map(writeOp -> {
+                .compose(writeOpCtx -> CompositeFuture.all(getWriteOpData(datamart, writeOpStat, writeOpCtx),
+                        executor.getChildren(getDatamartPath(datamart) + "/run")))
+                .map(result -> {
                     ctx.setWriteOpVersion(writeOpStat.getVersion());
-                    ctx.setWriteOp(writeOp);
-                    return writeOp;
+                    ctx.setWriteOp(deserializeDeltaWriteOp(result.resultAt(0)));
+                    return updateDeltaHot(ctx, result.resultAt(1));
                 })
-                .compose(writeOp -> executor.getChildren(getDatamartPath(datamart) + "/run"))
-                .map(opPaths -> updateDeltaHot(ctx, opPaths))
                 .compose(delta -> executor.multi(getUpdateOperationNodesOps(ctx)))
                 .onSuccess(delta -> {
                     log.debug("Write delta operation \"success\" by datamart[{}], sysCn[{}] completed successfully", datamart, sysCn);
@@ -15,6 +15,7 @@
  */
 package io.arenadata.dtm.query.execution.core.delta.repository.zookeeper;
 
+import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.core.delta.dto.*;
 import io.vertx.core.Future;
 
@@ -97,6 +98,15 @@ public interface DeltaServiceDao {
      */
     Future<Void> writeOperationError(String datamart, long synCn);
 
+    /**
+     * State write operation is rolled back in the destination, so erase resumed after restart can skip it
+     *
+     * @param datamart   - datamart name
+     * @param synCn      - synCn
+     * @param sourceType - destination where operation is rolled back
+     */
+    Future<Void> writeOperationRolledBack(String datamart, long synCn, SourceType sourceType);
+
     /**
      * State write operation delete complete
      *
@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.impl;
 
 import io.arenadata.dtm.cache.service.CacheService;
+import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.core.base.configuration.CacheConfiguration;
 import io.arenadata.dtm.query.execution.core.delta.dto.DeltaWriteOp;
 import io.arenadata.dtm.query.execution.core.delta.dto.DeltaWriteOpRequest;
@@ -34,6 +35,7 @@ import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteDelt
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteNewDeltaHotExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteNewOperationExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteOperationErrorExecutor;
+import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteOperationRolledBackExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.WriteOperationSuccessExecutor;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaDaoExecutorRepository;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
@@ -165,6 +167,11 @@ public class DeltaServiceDaoImpl implements DeltaServiceDao, DeltaDaoExecutorRep
         return getExecutor(WriteOperationErrorExecutor.class).execute(datamart, synCn);
     }
 
+    @Override
+    public Future<Void> writeOperationRolledBack(String datamart, long synCn, SourceType sourceType) {
+        return getExecutor(WriteOperationRolledBackExecutor.class).execute(datamart, synCn, sourceType);
+    }
+
     @Override
     public Future<Void> deleteWriteOperation(String datamart, long synCn) {
         return getExecutor(DeleteWriteOperationExecutor.class).execute(datamart, synCn);
@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.arenadata.dtm.cache.service.CacheService;
+import io.arenadata.dtm.common.cache.QueryTemplateKey;
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.metrics.RequestMetrics;
+import io.arenadata.dtm.common.model.RequestStatus;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.QueryTemplateResult;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.configuration.core.CoreConstants;
+import io.arenadata.dtm.query.calcite.core.util.SqlNodeUtil;
+import io.arenadata.dtm.query.execution.core.dml.dto.EstimatedPlugin;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.EstimateRoutingProperties;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.jackson.DatabindCodec;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.calcite.sql.SqlNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Routes LLR by plan costs of the acceptable plugins.
+ * Only ADB and ADP return a planner cost, cost factors bring their costs to a common scale.
+ * ADQM and ADG are not estimated, so the plugin chosen by category rules is kept
+ * when it has no cost to compare with. The choice is cached per query template.
+ */
+@Slf4j
+@Component
+public class EstimateBasedPluginSelector {
+    private static final String ESTIMATE_COLUMN = "estimate";
+    private static final String ESTIMATION_FIELD = "estimation";
+    private static final String PLAN_FIELD = "Plan";
+    private static final String TOTAL_COST_FIELD = "Total Cost";
+    private static final Set<SourceType> PLAN_COST_PLUGINS = EnumSet.of(SourceType.ADB, SourceType.ADP);
+
+    private final DataSourcePluginService dataSourcePluginService;
+    private final CacheService<QueryTemplateKey, EstimatedPlugin> estimatedPluginCacheService;
+    private final EstimateRoutingProperties properties;
+    private final Vertx vertx;
+
+    @Autowired
+    public EstimateBasedPluginSelector(DataSourcePluginService dataSourcePluginService,
+                                       @Qualifier("estimatedPluginCacheService") CacheService<QueryTemplateKey, EstimatedPlugin> estimatedPluginCacheService,
+                                       EstimateRoutingProperties properties,
+                                       @Qualifier("coreVertx") Vertx vertx) {
+        this.dataSourcePluginService = dataSourcePluginService;
+        this.estimatedPluginCacheService = estimatedPluginCacheService;
+        this.properties = properties;
+        this.vertx = vertx;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Future<SourceType> select(QueryTemplateKey templateKey,
+                                     Set<SourceType> acceptablePlugins,
+                                     SourceType categoryPlugin,
+                                     LlrRequest request) {
+        val cached = estimatedPluginCacheService.get(templateKey);
+        if (cached != null && acceptablePlugins.contains(cached.getPlugin())
+                && System.currentTimeMillis() - cached.getEstimateTime() < properties.getCacheTtlMs()) {
+            return Future.succeededFuture(cached.getPlugin());
+        }
+
+        Map<SourceType, Future<Double>> costs = new EnumMap<>(SourceType.class);
+        acceptablePlugins.forEach(sourceType -> costs.put(sourceType, estimateCost(sourceType, request)));
+        return CompositeFuture.join(new ArrayList<>(costs.values()))
+                .map(ignored -> {
+                    val selected = selectCheapest(costs, categoryPlugin);
+                    estimatedPluginCacheService.put(templateKey, new EstimatedPlugin(selected, System.currentTimeMillis()));
+                    return selected;
+                });
+    }
+
+    private SourceType selectCheapest(Map<SourceType, Future<Double>> costs, SourceType categoryPlugin) {
+        Double categoryCost = costs.get(categoryPlugin).result();
+        if (categoryCost == null) {
+            log.debug("Plugin {} chosen by category has no estimate, keeping it", categoryPlugin);
+            return categoryPlugin;
+        }
+
+        SourceType selected = categoryPlugin;
+        double selectedCost = categoryCost;
+        for (Map.Entry<SourceType, Future<Double>> entry : costs.entrySet()) {
+            Double cost = entry.getValue().result();
+            if (cost != null && cost < selectedCost) {
+                selected = entry.getKey();
+                selectedCost = cost;
+            }
+        }
+        log.debug("Plugin {} has the cheapest estimate [{}], category plugin {} estimate [{}]",
+                selected, selectedCost, categoryPlugin, categoryCost);
+        return selected;
+    }
+
+    private Future<Double> estimateCost(SourceType sourceType, LlrRequest request) {
+        if (!PLAN_COST_PLUGINS.contains(sourceType)) {
+            return Future.succeededFuture();
+        }
+
+        Promise<Double> promise = Promise.promise();
+        long timerId = vertx.setTimer(properties.getTimeoutMs(), id -> {
+            if (promise.tryComplete()) {
+                log.debug("Estimate of plugin {} is not received in [{}]ms", sourceType, properties.getTimeoutMs());
+            }
+        });
+        dataSourcePluginService.llrEstimate(sourceType, createRequestMetrics(request.getRequestId()), copyRequest(request))
+                .map(this::extractCost)
+                .onComplete(ar -> {
+                    vertx.cancelTimer(timerId);
+                    if (promise.future().isComplete()) {
+                        log.debug("Estimate of plugin {} received after the timeout is ignored", sourceType);
+                    } else if (ar.succeeded()) {
+                        Double cost = ar.result();
+                        promise.tryComplete(cost == null ? null : cost * properties.getCostFactors().getOrDefault(sourceType, 1.0));
+                    } else {
+                        log.debug("Estimate of plugin {} failed", sourceType, ar.cause());
+                        promise.tryComplete();
+                    }
+                });
+        return promise.future();
+    }
+
+    private LlrRequest copyRequest(LlrRequest request) {
+        // plugins enrich the query nodes in place, so concurrent estimates must not share them
+        val templateResult = request.getSourceQueryTemplateResult();
+        return request.toBuilder()
+                .originalQuery(copyNode(request.getOriginalQuery()))
+                .withoutViewsQuery(copyNode(request.getWithoutViewsQuery()))
+                .sourceQueryTemplateResult(templateResult == null ? null : new QueryTemplateResult(templateResult.getTemplate(),
+                        copyNode(templateResult.getTemplateNode()),
+                        templateResult.getParams()))
+                .build();
+    }
+
+    private SqlNode copyNode(SqlNode sqlNode) {
+        return sqlNode == null ? null : SqlNodeUtil.copy(sqlNode);
+    }
+
+    private Double extractCost(QueryResult queryResult) {
+        if (queryResult.getResult() == null || queryResult.getResult().size() != 1) {
+            return null;
+        }
+
+        Object estimate = queryResult.getResult().get(0).get(ESTIMATE_COLUMN);
+        if (estimate == null) {
+            return null;
+        }
+
+        try {
+            JsonNode estimation = DatabindCodec.mapper().readTree(estimate.toString()).get(ESTIMATION_FIELD);
+            if (estimation != null && estimation.isArray()) {
+                estimation = estimation.get(0);
+            }
+            JsonNode totalCost = estimation == null ? null : estimation.path(PLAN_FIELD).get(TOTAL_COST_FIELD);
+            return totalCost != null && totalCost.isNumber() ? totalCost.asDouble() : null;
+        } catch (Exception e) {
+            throw new DtmException("Could not read plugin estimate", e);
+        }
+    }
+
+    private RequestMetrics createRequestMetrics(UUID requestId) {
+        return RequestMetrics.builder()
+                .startTime(LocalDateTime.now(CoreConstants.CORE_ZONE_ID))
+                .requestId(requestId)
+                .status(RequestStatus.IN_PROCESS)
+                .isActive(true)
+                .build();
+    }
+}
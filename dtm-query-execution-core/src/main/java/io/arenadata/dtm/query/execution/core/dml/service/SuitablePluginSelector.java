@@ -18,8 +18,11 @@ package io.arenadata.dtm.query.execution.core.dml.service;
 import io.arenadata.dtm.common.dml.SelectCategory;
 import io.arenadata.dtm.common.dml.ShardingCategory;
 import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.model.SqlProcessingType;
 import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.AdaptivePluginSelectProperties;
 import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.PluginSelectCategoryProperties;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginLatencyTracker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -32,10 +35,16 @@ import java.util.Set;
 public class SuitablePluginSelector {
 
     private final PluginSelectCategoryProperties pluginSelectCategoryProperties;
+    private final AdaptivePluginSelectProperties adaptivePluginSelectProperties;
+    private final PluginLatencyTracker pluginLatencyTracker;
 
     @Autowired
-    public SuitablePluginSelector(PluginSelectCategoryProperties pluginSelectCategoryProperties) {
+    public SuitablePluginSelector(PluginSelectCategoryProperties pluginSelectCategoryProperties,
+                                  AdaptivePluginSelectProperties adaptivePluginSelectProperties,
+                                  PluginLatencyTracker pluginLatencyTracker) {
         this.pluginSelectCategoryProperties = pluginSelectCategoryProperties;
+        this.adaptivePluginSelectProperties = adaptivePluginSelectProperties;
+        this.pluginLatencyTracker = pluginLatencyTracker;
     }
 
     public SourceType selectByCategory(SelectCategory category, ShardingCategory shardingCategory, Set<SourceType> acceptablePlugins) {
@@ -47,14 +56,33 @@ public class SuitablePluginSelector {
         }
 
         if (prioritySourceTypes != null) {
+            SourceType degradedSourceType = null;
             for (SourceType sourceType : prioritySourceTypes) {
-                if (acceptablePlugins.contains(sourceType)) {
-                    log.info("Most suitable plugin for category [{}], sharding category [{}]: {}", category, shardingCategory, sourceType);
-                    return sourceType;
+                if (!acceptablePlugins.contains(sourceType)) {
+                    continue;
                 }
+                if (isDegraded(sourceType)) {
+                    log.debug("Plugin {} is degraded, skipping it for category [{}], sharding category [{}]", sourceType, category, shardingCategory);
+                    if (degradedSourceType == null) {
+                        degradedSourceType = sourceType;
+                    }
+                    continue;
+                }
+                log.info("Most suitable plugin for category [{}], sharding category [{}]: {}", category, shardingCategory, sourceType);
+                return sourceType;
+            }
+            if (degradedSourceType != null) {
+                log.warn("All suitable plugins for category [{}], sharding category [{}] are degraded, using {}", category, shardingCategory, degradedSourceType);
+                return degradedSourceType;
             }
         }
         log.error("Can't defined suitable plugin for category [{}], sharding category [{}]", category, shardingCategory);
         throw new DtmException("Suitable plugin for the query does not exist.");
     }
+
+    private boolean isDegraded(SourceType sourceType) {
+        return adaptivePluginSelectProperties.isEnabled()
+                && pluginLatencyTracker.isDegraded(sourceType, SqlProcessingType.LLR)
+                && !pluginLatencyTracker.tryProbe(sourceType, SqlProcessingType.LLR);
+    }
 }
@@ -35,6 +35,7 @@ import io.arenadata.dtm.query.execution.core.base.service.delta.DeltaQueryPrepro
 import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequestContext;
 import io.arenadata.dtm.query.execution.core.dml.dto.LlrRequestContext;
 import io.arenadata.dtm.query.execution.core.dml.dto.PluginDeterminationRequest;
+import io.arenadata.dtm.query.execution.core.dml.dto.PluginDeterminationResult;
 import io.arenadata.dtm.query.execution.core.dml.factory.LlrRequestContextFactory;
 import io.arenadata.dtm.query.execution.core.dml.service.*;
 import io.arenadata.dtm.query.execution.core.dml.service.view.ViewReplacerService;
@@ -66,6 +67,7 @@ public class LlrDmlExecutor implements DmlExecutor {
     private final PluginDeterminationService pluginDeterminationService;
     private final SqlDialect sqlDialect;
     private final SqlParametersTypeExtractor parametersTypeExtractor;
+    private final EstimateBasedPluginSelector estimateBasedPluginSelector;
 
     @Autowired
     public LlrDmlExecutor(DataSourcePluginService dataSourcePluginService,
@@ -79,7 +81,8 @@ public class LlrDmlExecutor implements DmlExecutor {
                           LlrRequestContextFactory llrRequestContextFactory,
                           PluginDeterminationService pluginDeterminationService,
                           @Qualifier("coreSqlDialect") SqlDialect sqlDialect,
-                          SqlParametersTypeExtractor parametersTypeExtractor) {
+                          SqlParametersTypeExtractor parametersTypeExtractor,
+                          EstimateBasedPluginSelector estimateBasedPluginSelector) {
         this.dataSourcePluginService = dataSourcePluginService;
         this.deltaQueryPreprocessor = deltaQueryPreprocessor;
         this.viewReplacerService = viewReplacerService;
@@ -92,6 +95,7 @@ public class LlrDmlExecutor implements DmlExecutor {
         this.pluginDeterminationService = pluginDeterminationService;
         this.sqlDialect = sqlDialect;
         this.parametersTypeExtractor = parametersTypeExtractor;
+        this.estimateBasedPluginSelector = estimateBasedPluginSelector;
     }
 
     @Override
@@ -182,7 +186,7 @@ public class LlrDmlExecutor implements DmlExecutor {
                                                   DeltaQueryPreprocessorResponse deltaResponse,
                                                   boolean estimate) {
         return createLlrRequestContext(deltaResponse, withoutViewsQuery, originalQuery, context)
-                .compose(llrContext -> AsyncUtils.measureMs(initQuerySourceType(llrContext),
+                .compose(llrContext -> AsyncUtils.measureMs(initQuerySourceType(llrContext, estimate),
                         duration -> log.debug("Initialized query type for query [{}] in [{}]ms",
                                 llrContext.getSourceRequest().getQueryRequest().getSql(), duration)))
                 .compose(llrRequestContext -> {
@@ -229,14 +233,30 @@ public class LlrDmlExecutor implements DmlExecutor {
         return llrRequestContext;
     }
 
-    private Future<LlrRequestContext> initQuerySourceType(LlrRequestContext llrContext) {
+    private Future<LlrRequestContext> initQuerySourceType(LlrRequestContext llrContext, boolean estimate) {
         return pluginDeterminationService.determine(getPluginDeterminationRequest(llrContext))
-                .map(pluginDeterminationResult -> {
-                    llrContext.setExecutionPlugin(pluginDeterminationResult.getExecution());
+                .compose(pluginDeterminationResult -> {
+                    if (estimate || !isEstimateRoutingApplicable(llrContext, pluginDeterminationResult)) {
+                        return Future.succeededFuture(pluginDeterminationResult.getExecution());
+                    }
+                    return estimateBasedPluginSelector.select(createQueryTemplateKey(llrContext),
+                            pluginDeterminationResult.getAcceptable(),
+                            pluginDeterminationResult.getExecution(),
+                            createLlrRequest(llrContext));
+                })
+                .map(executionPlugin -> {
+                    llrContext.setExecutionPlugin(executionPlugin);
                     return llrContext;
                 });
     }
 
+    private boolean isEstimateRoutingApplicable(LlrRequestContext llrContext, PluginDeterminationResult pluginDeterminationResult) {
+        return estimateBasedPluginSelector.isEnabled()
+                && llrContext.getSourceRequest().getSourceType() == null
+                && pluginDeterminationResult.getAcceptable() != null
+                && pluginDeterminationResult.getAcceptable().size() > 1;
+    }
+
     private QueryTemplateKey createQueryTemplateKey(LlrRequestContext llrContext) {
         return QueryTemplateKey.builder()
                 .sourceQueryTemplate(llrContext.getSourceRequest().getQueryTemplate().getTemplate())
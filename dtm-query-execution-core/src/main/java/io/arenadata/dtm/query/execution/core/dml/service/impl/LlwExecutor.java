@@ -19,6 +19,7 @@ import io.arenadata.dtm.common.dto.TableInfo;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.model.ddl.EntityType;
+import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.node.SqlPredicatePart;
 import io.arenadata.dtm.query.calcite.core.node.SqlPredicates;
@@ -35,24 +36,40 @@ import io.arenadata.dtm.query.execution.core.dml.service.DmlExecutor;
 import io.arenadata.dtm.query.execution.core.edml.mppw.dto.WriteOperationStatus;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.rollback.service.RestoreStateService;
+import io.arenadata.dtm.query.execution.plugin.api.dml.LlwUtils;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlCharStringLiteral;
 import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlInsert;
 import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.util.NlsString;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 public abstract class LlwExecutor implements DmlExecutor {
 
     private static final SqlDialect SQL_DIALECT = new SqlDialect(SqlDialect.EMPTY_CONTEXT);
-    private static final Pattern VALUES_PATTERN = Pattern.compile("(?i)(UPSERT INTO .+ VALUES )(.+)");
+    private static final byte NULL_VALUE = 0;
+    private static final byte VALUE = 1;
+    private static final byte CALL_END = 2;
     private static final SqlPredicates DYNAMIC_PARAM_PREDICATE = SqlPredicates.builder()
             .anyOf(SqlPredicatePart.eq(SqlKind.DYNAMIC_PARAM))
             .build();
@@ -61,6 +78,7 @@ public abstract class LlwExecutor implements DmlExecutor {
     private final DataSourcePluginService pluginService;
     private final DeltaServiceDao deltaServiceDao;
     private final RestoreStateService restoreStateService;
+    private final Map<WriteOpKey, Long> executingWriteOps = new ConcurrentHashMap<>();
 
     protected LlwExecutor(EntityDao entityDao,
                        DataSourcePluginService pluginService,
@@ -110,10 +128,19 @@ public abstract class LlwExecutor implements DmlExecutor {
     protected Future<Long> produceOrResumeWriteOperation(DmlRequestContext context, Entity entity) {
         return Future.future(p -> {
             val writeOpRequest = createDeltaOp(context, entity);
+            val writeOpKey = new WriteOpKey(writeOpRequest.getDatamart(), writeOpRequest.getTableName(), writeOpRequest.getQuery());
             deltaServiceDao.writeNewOperation(writeOpRequest)
-                    .onSuccess(p::complete)
+                    .onSuccess(sysCn -> {
+                        executingWriteOps.put(writeOpKey, sysCn);
+                        p.complete(sysCn);
+                    })
                     .onFailure(t -> {
                         if (t instanceof TableBlockedException) {
+                            val executingSysCn = executingWriteOps.get(writeOpKey);
+                            if (executingSysCn != null) {
+                                p.complete(executingSysCn);
+                                return;
+                            }
                             deltaServiceDao.getDeltaWriteOperations(context.getRequest().getQueryRequest().getDatamartMnemonic())
                                     .map(writeOps -> findEqualWriteOp(writeOps, entity.getName(), writeOpRequest.getQuery(), t))
                                     .onComplete(p);
@@ -145,9 +172,14 @@ public abstract class LlwExecutor implements DmlExecutor {
 
     private String hashQuery(DmlRequestContext context) {
         val parameters = context.getRequest().getQueryRequest().getParameters();
-        val sqlNode = parameters != null ? SqlNodeUtil.copy(context.getSqlNode()) : context.getSqlNode();
+        val sqlNode = context.getSqlNode();
+        if (sqlNode instanceof SqlInsert && LlwUtils.isValuesSqlNode(((SqlInsert) sqlNode).getSource())) {
+            return hashValues((SqlInsert) sqlNode, parameters);
+        }
+
+        val queryNode = parameters != null ? SqlNodeUtil.copy(sqlNode) : sqlNode;
         if (parameters != null) {
-            val dynamicNodes = new SqlSelectTree(sqlNode)
+            val dynamicNodes = new SqlSelectTree(queryNode)
                     .findNodes(DYNAMIC_PARAM_PREDICATE, false);
             for (int i = 0; i < dynamicNodes.size(); i++) {
                 val treeNode = dynamicNodes.get(i);
@@ -157,20 +189,75 @@ public abstract class LlwExecutor implements DmlExecutor {
             }
         }
 
-        val query = sqlNode.toSqlString(SQL_DIALECT).toString()
+        return queryNode.toSqlString(SQL_DIALECT).toString()
                 .replaceAll("\r\n|\r|\n", " ");
+    }
 
-        val matcher = VALUES_PATTERN.matcher(query);
-        if (matcher.matches()) {
-            return matcher.group(1) + DigestUtils.md5Hex(matcher.group(2));
+    /**
+     * Fingerprints UPSERT VALUES from the tree: the header is rendered as is, the rows are digested
+     * value by value without rendering, so the cost doesn't grow with SQL rendering of big VALUES.
+     * Every value is digested with its type, length prefixed and nulls are marked,
+     * so NULL and 'null', '1' and 1 or values with separators inside have different digests.
+     */
+    private String hashValues(SqlInsert sqlInsert, QueryParameters parameters) {
+        val header = new StringBuilder("UPSERT INTO ").append(sqlInsert.getTargetTable());
+        if (sqlInsert.getTargetColumnList() != null) {
+            header.append(" (")
+                    .append(sqlInsert.getTargetColumnList().getList().stream()
+                            .map(column -> ((SqlIdentifier) column).getSimple())
+                            .collect(Collectors.joining(", ")))
+                    .append(")");
         }
+        header.append(" VALUES ");
 
-        return query;
+        val digest = DigestUtils.getMd5Digest();
+        updateDigest(digest, sqlInsert.getSource(), parameters);
+        return header.append(Hex.encodeHexString(digest.digest())).toString();
+    }
+
+    private void updateDigest(MessageDigest digest, SqlNode node, QueryParameters parameters) {
+        if (node instanceof SqlLiteral) {
+            val literal = (SqlLiteral) node;
+            updateDigest(digest, literal.getTypeName().getName());
+            if (literal instanceof SqlCharStringLiteral) {
+                updateDigest(digest, ((NlsString) literal.getValue()).getValue());
+            } else {
+                updateDigest(digest, literal.getValue() == null ? null : String.valueOf(literal.getValue()));
+            }
+        } else if (node instanceof SqlDynamicParam && parameters != null) {
+            val index = ((SqlDynamicParam) node).getIndex();
+            val value = parameters.getValues().get(index);
+            updateDigest(digest, String.valueOf(parameters.getTypes().get(index)));
+            updateDigest(digest, value == null ? null : String.valueOf(value));
+        } else if (node instanceof SqlCall) {
+            val call = (SqlCall) node;
+            updateDigest(digest, call.getOperator().getName());
+            for (SqlNode operand : call.getOperandList()) {
+                updateDigest(digest, operand, parameters);
+            }
+            digest.update(CALL_END);
+        } else {
+            updateDigest(digest, String.valueOf(node));
+        }
+    }
+
+    private void updateDigest(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(NULL_VALUE);
+            return;
+        }
+
+        val bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(VALUE);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
     }
 
     protected Future<Void> handleOperation(Future<?> llwFuture, long sysCn, String datamart, Entity entity) {
         return Future.future(promise -> {
-            llwFuture.compose(ignored -> deltaServiceDao.writeOperationSuccess(datamart, sysCn))
+            llwFuture.onComplete(ignored -> executingWriteOps.entrySet().removeIf(entry ->
+                            entry.getValue() == sysCn && entry.getKey().datamart.equals(entity.getSchema())))
+                    .compose(ignored -> deltaServiceDao.writeOperationSuccess(datamart, sysCn))
                     .onSuccess(ar -> {
                         log.info("LL-W request succeeded [{}], sysCn: {}", entity.getNameWithSchema(), sysCn);
                         promise.complete();
@@ -189,4 +276,28 @@ public abstract class LlwExecutor implements DmlExecutor {
         });
     }
 
+    private static final class WriteOpKey {
+        private final String datamart;
+        private final String tableName;
+        private final String query;
+
+        private WriteOpKey(String datamart, String tableName, String query) {
+            this.datamart = datamart;
+            this.tableName = tableName;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            WriteOpKey that = (WriteOpKey) o;
+            return datamart.equals(that.datamart) && tableName.equals(that.tableName) && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(datamart, tableName, query);
+        }
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service.impl;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.LlwProperties;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Combines concurrent writes into one table into groups executed one at a time.
+ * Writes submitted while a group of the table is executed are collected into the next group,
+ * so a table never has more than one write operation, as required by its block in the delta.
+ * A write joins the last group only if it has the same shape and no common keys with it.
+ * A failed group is retried write by write, so every write gets its own result.
+ * Writes into a table that already has too many pending writes are rejected.
+ */
+@Slf4j
+class LlwGroupCommitter<T> {
+    private final Vertx vertx;
+    private final LlwProperties properties;
+    private final Function<List<T>, Future<Void>> groupWriter;
+    private final Map<String, TableGroups<T>> tables = new HashMap<>();
+
+    LlwGroupCommitter(Vertx vertx, LlwProperties properties, Function<List<T>, Future<Void>> groupWriter) {
+        this.vertx = vertx;
+        this.properties = properties;
+        this.groupWriter = groupWriter;
+    }
+
+    /**
+     * @param table table written to
+     * @param shape writes of different shapes are never combined, unique object for a write that can't be combined
+     * @param write write to execute
+     * @param keys  primary keys of the written rows, normalized so that equal keys are equal objects
+     * @param rows  number of the written rows
+     */
+    Future<Void> submit(String table, Object shape, T write, Set<List<Object>> keys, int rows) {
+        Promise<Void> promise = Promise.promise();
+        boolean scheduleFlush;
+        synchronized (this) {
+            TableGroups<T> groups = tables.get(table);
+            if (groups == null) {
+                groups = new TableGroups<>();
+                tables.put(table, groups);
+            } else if (groups.pendingWrites >= properties.getGroupCommitMaxPendingWrites()) {
+                return Future.failedFuture(new DtmException(String.format(
+                        "Too many pending writes into [%s], try again later", table)));
+            }
+            WriteGroup<T> group = groups.pending.peekLast();
+            if (group == null || !group.accepts(shape, keys, rows, properties.getGroupCommitMaxRows())) {
+                group = new WriteGroup<>(shape);
+                groups.pending.addLast(group);
+            }
+            group.add(write, promise, keys, rows);
+            groups.pendingWrites++;
+            scheduleFlush = !groups.executing && !groups.flushScheduled;
+            groups.flushScheduled |= scheduleFlush;
+        }
+        if (scheduleFlush) {
+            vertx.setTimer(properties.getGroupCommitWindowMs(), id -> flush(table));
+        }
+        return promise.future();
+    }
+
+    private void flush(String table) {
+        WriteGroup<T> group;
+        synchronized (this) {
+            TableGroups<T> groups = tables.get(table);
+            groups.flushScheduled = false;
+            if (groups.executing) {
+                return;
+            }
+            group = groups.pending.pollFirst();
+            if (group == null) {
+                tables.remove(table);
+                return;
+            }
+            groups.pendingWrites -= group.writes.size();
+            groups.executing = true;
+        }
+
+        log.debug("Executing group of [{}] writes, [{}] rows into [{}]", group.writes.size(), group.rows, table);
+        writeGroup(table, group).onComplete(ignored -> {
+            synchronized (this) {
+                tables.get(table).executing = false;
+            }
+            flush(table);
+        });
+    }
+
+    /**
+     * Executes the group as one write. When it fails, its writes are executed one by one,
+     * so a single invalid write doesn't fail the others.
+     */
+    private Future<Void> writeGroup(String table, WriteGroup<T> group) {
+        return execute(group.writes)
+                .onSuccess(ignored -> group.promises.forEach(Promise::complete))
+                .recover(error -> {
+                    if (group.writes.size() == 1) {
+                        group.promises.get(0).fail(error);
+                        return Future.succeededFuture();
+                    }
+                    log.warn("Group of [{}] writes into [{}] failed, executing them one by one", group.writes.size(), table, error);
+                    return writeOneByOne(group, 0);
+                });
+    }
+
+    private Future<Void> writeOneByOne(WriteGroup<T> group, int index) {
+        if (index == group.writes.size()) {
+            return Future.succeededFuture();
+        }
+
+        return execute(Collections.singletonList(group.writes.get(index)))
+                .onComplete(group.promises.get(index))
+                .recover(error -> Future.succeededFuture())
+                .compose(ignored -> writeOneByOne(group, index + 1));
+    }
+
+    private Future<Void> execute(List<T> writes) {
+        try {
+            return groupWriter.apply(writes);
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    private static final class TableGroups<T> {
+        private final Deque<WriteGroup<T>> pending = new ArrayDeque<>();
+        private int pendingWrites;
+        private boolean executing;
+        private boolean flushScheduled;
+    }
+
+    private static final class WriteGroup<T> {
+        private final Object shape;
+        private final List<T> writes = new ArrayList<>();
+        private final List<Promise<Void>> promises = new ArrayList<>();
+        private final Set<List<Object>> keys = new HashSet<>();
+        private int rows;
+
+        private WriteGroup(Object shape) {
+            this.shape = shape;
+        }
+
+        private boolean accepts(Object shape, Set<List<Object>> keys, int rows, int maxRows) {
+            return Objects.equals(this.shape, shape)
+                    && this.rows + rows <= maxRows
+                    && Collections.disjoint(this.keys, keys);
+        }
+
+        private void add(T write, Promise<Void> promise, Set<List<Object>> keys, int rows) {
+            writes.add(write);
+            promises.add(promise);
+            this.keys.addAll(keys);
+            this.rows += rows;
+        }
+    }
+}
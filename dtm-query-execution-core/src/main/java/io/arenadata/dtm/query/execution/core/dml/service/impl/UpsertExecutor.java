@@ -59,13 +59,16 @@ public abstract class UpsertExecutor<REQ extends LlwRequest<?>> extends LlwExecu
                 .compose(this::validateEntityType)
                 .compose(entity -> validateColumns(context.getSqlNode(), entity))
                 .compose(this::checkConfiguration)
-                .compose(entity -> deltaServiceDao.getDeltaHot(context.getRequest().getQueryRequest().getDatamartMnemonic())
-                        .compose(ignored -> produceOrResumeWriteOperation(context, entity))
-                        .map(sysCn -> new SysCnEntityHolder(entity, sysCn)))
-                .compose(sysCnEntityHolder -> runUpsert(context, sysCnEntityHolder))
+                .compose(entity -> write(context, entity))
                 .map(QueryResult.emptyResult());
     }
 
+    protected Future<Void> write(DmlRequestContext context, Entity entity) {
+        return deltaServiceDao.getDeltaHot(context.getRequest().getQueryRequest().getDatamartMnemonic())
+                .compose(ignored -> produceOrResumeWriteOperation(context, entity))
+                .compose(sysCn -> runUpsert(context, new SysCnEntityHolder(entity, sysCn)));
+    }
+
     protected abstract boolean isValidSource(SqlNode sqlInsert);
 
     protected abstract Future<REQ> buildRequest(DmlRequestContext context, Long sysCn, Entity entity);
@@ -15,35 +15,65 @@
  */
 package io.arenadata.dtm.query.execution.core.dml.service.impl;
 
+import io.arenadata.dtm.common.metrics.RequestMetrics;
+import io.arenadata.dtm.common.model.SqlProcessingType;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
 import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityFieldUtils;
 import io.arenadata.dtm.query.calcite.core.extension.dml.DmlType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.LlwProperties;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
+import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequest;
 import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequestContext;
+import io.arenadata.dtm.query.execution.core.metrics.service.MetricsService;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.rollback.service.RestoreStateService;
 import io.arenadata.dtm.query.execution.plugin.api.dml.LlwUtils;
 import io.arenadata.dtm.query.execution.plugin.api.request.UpsertValuesRequest;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlInsert;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
 public class UpsertValuesExecutor extends UpsertExecutor<UpsertValuesRequest> {
     private final DataSourcePluginService pluginService;
+    private final LlwProperties llwProperties;
+    private final LlwGroupCommitter<GroupedWrite> groupCommitter;
+    private final MetricsService<RequestMetrics> metricsService;
 
     public UpsertValuesExecutor(DataSourcePluginService pluginService,
                                 ServiceDbFacade serviceDbFacade,
-                                RestoreStateService restoreStateService) {
+                                RestoreStateService restoreStateService,
+                                @Qualifier("coreVertx") Vertx vertx,
+                                LlwProperties llwProperties,
+                                MetricsService<RequestMetrics> metricsService) {
         super(pluginService, serviceDbFacade, restoreStateService);
         this.pluginService = pluginService;
+        this.llwProperties = llwProperties;
+        this.metricsService = metricsService;
+        this.groupCommitter = new LlwGroupCommitter<>(vertx, llwProperties, this::writeGroup);
     }
 
     @Override
@@ -51,6 +81,147 @@ public class UpsertValuesExecutor extends UpsertExecutor<UpsertValuesRequest> {
         return LlwUtils.isValuesSqlNode(sqlInsert);
     }
 
+    @Override
+    protected Future<Void> write(DmlRequestContext context, Entity entity) {
+        if (!llwProperties.isGroupCommitEnabled()) {
+            return super.write(context, entity);
+        }
+
+        val sqlInsert = (SqlInsert) context.getSqlNode();
+        val rows = ((SqlCall) sqlInsert.getSource()).getOperandList();
+        val keys = context.getRequest().getQueryRequest().getParameters() == null ? getPrimaryKeys(sqlInsert, rows, entity) : null;
+        Object shape = keys == null ? new Object() : String.valueOf(sqlInsert.getTargetColumnList());
+        return groupCommitter.submit(entity.getNameWithSchema(), shape, new GroupedWrite(context, entity),
+                keys == null ? new HashSet<>() : keys, rows.size());
+    }
+
+    private Future<Void> writeGroup(List<GroupedWrite> writes) {
+        val first = writes.get(0);
+        if (writes.size() == 1) {
+            return super.write(first.context, first.entity);
+        }
+
+        val firstInsert = (SqlInsert) first.context.getSqlNode();
+        val rows = writes.stream()
+                .flatMap(write -> ((SqlCall) ((SqlInsert) write.context.getSqlNode()).getSource()).getOperandList().stream())
+                .collect(Collectors.toList());
+        val groupInsert = new SqlInsert(firstInsert.getParserPosition(),
+                (SqlNodeList) firstInsert.getOperandList().get(0),
+                firstInsert.getTargetTable(),
+                SqlStdOperatorTable.VALUES.createCall(SqlParserPos.ZERO, rows),
+                firstInsert.getTargetColumnList());
+        val groupContext = DmlRequestContext.builder()
+                .metrics(first.context.getMetrics())
+                .envName(first.context.getEnvName())
+                .request(new DmlRequest(first.context.getRequest().getQueryRequest().copy()))
+                .sqlNode(groupInsert)
+                .sourceType(first.context.getSourceType())
+                .build();
+        val grouped = writes.subList(1, writes.size());
+        log.info("Executing LL-W[{}] requests {} as one write of request [{}]", getType(),
+                grouped.stream()
+                        .map(write -> write.context.getRequest().getQueryRequest().getRequestId())
+                        .collect(Collectors.toList()),
+                first.context.getRequest().getQueryRequest().getRequestId());
+        return writeWithGroupedMetrics(groupContext, first.entity, grouped);
+    }
+
+    /**
+     * Executes the combined write under the first request, metrics of the other requests
+     * are published around it, so every request is reported with its own id and result.
+     */
+    private Future<Void> writeWithGroupedMetrics(DmlRequestContext groupContext, Entity entity, List<GroupedWrite> grouped) {
+        val destinations = entity.getDestination();
+        List<Future> started = new ArrayList<>();
+        grouped.forEach(write -> destinations.forEach(destination ->
+                started.add(metricsService.sendMetrics(destination, SqlProcessingType.LLW, write.context.getMetrics()))));
+        return CompositeFuture.join(started)
+                .compose(v -> super.write(groupContext, entity))
+                .onComplete(ar -> grouped.forEach(write -> destinations.forEach(destination ->
+                        metricsService.<Void>sendMetrics(destination, SqlProcessingType.LLW, write.context.getMetrics(), result -> {
+                        }).handle(ar))));
+    }
+
+    /**
+     * Returns primary keys of the rows when all of them are literals, null otherwise
+     */
+    private Set<List<Object>> getPrimaryKeys(SqlInsert sqlInsert, List<SqlNode> rows, Entity entity) {
+        val columns = sqlInsert.getTargetColumnList() == null ? EntityFieldUtils.getFieldNames(entity)
+                : sqlInsert.getTargetColumnList().getList().stream()
+                .map(node -> ((SqlIdentifier) node).getSimple())
+                .collect(Collectors.toList());
+        val pkNames = EntityFieldUtils.getPkFieldNames(entity);
+        val pkPositions = pkNames.stream()
+                .map(columns::indexOf)
+                .collect(Collectors.toList());
+        if (pkPositions.isEmpty() || pkPositions.contains(-1)) {
+            return null;
+        }
+        val fields = EntityFieldUtils.getFieldsMap(entity);
+        val pkTypes = pkNames.stream()
+                .map(name -> fields.get(name).getType())
+                .collect(Collectors.toList());
+
+        Set<List<Object>> keys = new HashSet<>();
+        for (SqlNode row : rows) {
+            if (row.getKind() != SqlKind.ROW) {
+                return null;
+            }
+            val values = ((SqlCall) row).getOperandList();
+            List<Object> key = new ArrayList<>(pkPositions.size());
+            for (int i = 0; i < pkPositions.size(); i++) {
+                int position = pkPositions.get(i);
+                if (position >= values.size() || !(values.get(position) instanceof SqlLiteral)) {
+                    return null;
+                }
+                val keyValue = getKeyValue((SqlLiteral) values.get(position), pkTypes.get(i));
+                if (keyValue == null) {
+                    return null;
+                }
+                key.add(keyValue);
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the literal as a value of the column type, so literals written differently
+     * but stored as the same key (1 and 1.0) are equal, null when it can't be determined
+     */
+    private Object getKeyValue(SqlLiteral literal, ColumnType type) {
+        val value = literal.toValue();
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            switch (type) {
+                case BIGINT:
+                case INT:
+                case INT32:
+                    val number = new BigDecimal(value).stripTrailingZeros();
+                    return number.scale() > 0 ? null : number.toBigIntegerExact();
+                case DOUBLE:
+                    return Double.parseDouble(value) + 0.0d;
+                case FLOAT:
+                    return Float.parseFloat(value) + 0.0f;
+                case BOOLEAN:
+                    return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value) ? Boolean.valueOf(value) : null;
+                case CHAR:
+                    return value.replaceAll(" +$", "");
+                case VARCHAR:
+                case UUID:
+                case LINK:
+                    return value;
+                default:
+                    return null;
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
     @Override
     protected Future<UpsertValuesRequest> buildRequest(DmlRequestContext context, Long sysCn, Entity entity) {
         val uuid = context.getRequest().getQueryRequest().getRequestId();
@@ -72,4 +243,10 @@ public class UpsertValuesExecutor extends UpsertExecutor<UpsertValuesRequest> {
     public DmlType getType() {
         return DmlType.UPSERT_VALUES;
     }
+
+    @AllArgsConstructor
+    private static class GroupedWrite {
+        private final DmlRequestContext context;
+        private final Entity entity;
+    }
 }
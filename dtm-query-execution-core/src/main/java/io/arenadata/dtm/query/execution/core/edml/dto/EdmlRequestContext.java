@@ -19,6 +19,7 @@ import io.arenadata.dtm.common.delta.DeltaInformation;
 import io.arenadata.dtm.common.metrics.RequestMetrics;
 import io.arenadata.dtm.common.model.SqlProcessingType;
 import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.request.DatamartRequest;
 import io.arenadata.dtm.query.execution.core.base.dto.request.CoreRequestContext;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
@@ -28,6 +29,7 @@ import lombok.ToString;
 import org.apache.calcite.sql.SqlNode;
 
 import java.util.List;
+import java.util.Set;
 
 import static io.arenadata.dtm.common.model.SqlProcessingType.EDML;
 
@@ -41,6 +43,7 @@ public class EdmlRequestContext extends CoreRequestContext<DatamartRequest, SqlN
     private SqlNode dmlSubQuery;
     private List<Datamart> logicalSchema;
     private List<DeltaInformation> deltaInformations;
+    private Set<SourceType> rolledBackDestinations;
 
     public EdmlRequestContext(RequestMetrics metrics,
                               DatamartRequest request,
@@ -20,10 +20,12 @@ import io.arenadata.dtm.common.exception.CrashException;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.RestorationProperties;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
 import io.arenadata.dtm.query.execution.core.edml.dto.EdmlRequestContext;
 import io.arenadata.dtm.query.execution.core.edml.mppw.service.EdmlUploadFailedExecutor;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginQueryThrottle;
 import io.arenadata.dtm.query.execution.core.rollback.dto.RollbackRequestContext;
 import io.arenadata.dtm.query.execution.core.rollback.factory.RollbackRequestContextFactory;
 import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
@@ -46,16 +48,20 @@ public class UploadFailedExecutorImpl implements EdmlUploadFailedExecutor {
     private final RollbackRequestContextFactory rollbackRequestContextFactory;
     private final DataSourcePluginService dataSourcePluginService;
     private final EvictQueryTemplateCacheService evictQueryTemplateCacheService;
+    private final PluginQueryThrottle rollbackThrottle;
 
     @Autowired
     public UploadFailedExecutorImpl(DeltaServiceDao deltaServiceDao,
                                     RollbackRequestContextFactory rollbackRequestContextFactory,
                                     DataSourcePluginService dataSourcePluginService,
-                                    EvictQueryTemplateCacheService evictQueryTemplateCacheService) {
+                                    EvictQueryTemplateCacheService evictQueryTemplateCacheService,
+                                    RestorationProperties restorationProperties) {
         this.deltaServiceDao = deltaServiceDao;
         this.rollbackRequestContextFactory = rollbackRequestContextFactory;
         this.dataSourcePluginService = dataSourcePluginService;
         this.evictQueryTemplateCacheService = evictQueryTemplateCacheService;
+        this.rollbackThrottle = new PluginQueryThrottle(restorationProperties.getRollbackMaxParallel(),
+                restorationProperties.getRollbackPluginMaxParallel());
     }
 
     @Override
@@ -82,7 +88,7 @@ public class UploadFailedExecutorImpl implements EdmlUploadFailedExecutor {
         return Future.future(rbPromise -> {
             final RollbackRequestContext rollbackRequestContext =
                     rollbackRequestContextFactory.create(context);
-            eraseWriteOp(rollbackRequestContext)
+            eraseWriteOp(rollbackRequestContext, true)
                     .onSuccess(rbPromise::complete)
                     .onFailure(rbPromise::fail);
         });
@@ -90,12 +96,24 @@ public class UploadFailedExecutorImpl implements EdmlUploadFailedExecutor {
 
     @Override
     public Future<Void> eraseWriteOp(RollbackRequestContext context) {
+        return eraseWriteOp(context, false);
+    }
+
+    /**
+     * Rolls back the operation in all its destinations concurrently, limited by rollback budget of every plugin.
+     *
+     * @param saveProgress whether to mark destinations as rolled back in the write operation,
+     *                     so erase resumed after restart skips them
+     */
+    private Future<Void> eraseWriteOp(RollbackRequestContext context, boolean saveProgress) {
         List<Future> futures = new ArrayList<>();
+        final Set<SourceType> rolledBackDestinations = context.getRequest().getRolledBackDestinations();
         final Set<SourceType> destination = context.getRequest().getEntity().getDestination().stream()
                 .filter(dataSourcePluginService::hasSourceType)
+                .filter(sourceType -> rolledBackDestinations == null || !rolledBackDestinations.contains(sourceType))
                 .collect(Collectors.toSet());
         destination.forEach(sourceType ->
-                futures.add(Future.future(p -> dataSourcePluginService.rollback(
+                futures.add(Future.future(p -> rollbackThrottle.execute(sourceType, () -> dataSourcePluginService.rollback(
                                 sourceType,
                                 context.getMetrics(),
                                 RollbackRequest.builder()
@@ -105,7 +123,8 @@ public class UploadFailedExecutorImpl implements EdmlUploadFailedExecutor {
                                         .destinationTable(context.getRequest().getDestinationTable())
                                         .sysCn(context.getRequest().getSysCn())
                                         .entity(context.getRequest().getEntity())
-                                        .build())
+                                        .build()))
+                        .compose(result -> saveProgress ? saveRollbackProgress(context, sourceType) : Future.<Void>succeededFuture())
                         .onSuccess(result -> {
                             log.debug("Rollback data in plugin [{}], datamart [{}], " +
                                             "table [{}], sysCn [{}] finished successfully",
@@ -134,4 +153,14 @@ public class UploadFailedExecutorImpl implements EdmlUploadFailedExecutor {
                             );
                         }));
     }
+
+    private Future<Void> saveRollbackProgress(RollbackRequestContext context, SourceType sourceType) {
+        // data is already rolled back, so failing to save progress only costs a repeated rollback after restart
+        return deltaServiceDao.writeOperationRolledBack(context.getRequest().getDatamart(), context.getRequest().getSysCn(), sourceType)
+                .otherwise(error -> {
+                    log.warn("Can't save rollback progress of plugin [{}], datamart [{}], sysCn [{}]",
+                            sourceType, context.getRequest().getDatamart(), context.getRequest().getSysCn(), error);
+                    return null;
+                });
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.configuration.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties("core.plugins.adaptive")
+public class AdaptivePluginSelectProperties {
+    /**
+     * Whether degraded plugins are skipped while selecting the most suitable plugin
+     */
+    private boolean enabled = false;
+    /**
+     * Number of LLR requests a plugin has to execute before its statistics are taken into account
+     */
+    private int minSamples = 20;
+    /**
+     * Share of failed LLR requests in the recent window above which the plugin is treated as degraded
+     */
+    private double maxErrorRate = 0.5;
+    /**
+     * Ratio of recent to long-term LLR latency above which the plugin is treated as degraded
+     */
+    private double maxLatencyRatio = 3.0;
+    /**
+     * Interval between requests routed to a degraded plugin to find out whether it has recovered
+     */
+    private long probeIntervalMs = 5000;
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.configuration.properties;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties("core.plugins.estimate")
+public class EstimateRoutingProperties {
+    /**
+     * Whether LLR without explicit datasource is routed to the plugin with the cheapest estimate
+     */
+    private boolean enabled = false;
+    /**
+     * Time to wait for plugin estimates, plugins not answered in time are not considered
+     */
+    private long timeoutMs = 200;
+    /**
+     * Time after which the plugin chosen for a query template is estimated again
+     */
+    private long cacheTtlMs = 600000;
+    /**
+     * Multipliers bringing plan costs of different plugins to a common scale, 1.0 if not set
+     */
+    private Map<SourceType, Double> costFactors = new EnumMap<>(SourceType.class);
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service;
+
+import io.arenadata.dtm.common.model.SqlProcessingType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.AdaptivePluginSelectProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Latency and error statistics of plugin requests, kept per plugin and processing type.
+ * A plugin is degraded when its recent error rate is too high or its recent latency is too far above
+ * its own long-term latency, so plugins are never compared with each other by absolute latency.
+ */
+@Slf4j
+@Component
+public class PluginLatencyTracker {
+    private static final double RECENT_WEIGHT = 0.2;
+    private static final double LONG_TERM_WEIGHT = 0.01;
+
+    private final AdaptivePluginSelectProperties properties;
+    private final Map<StatsKey, Stats> statistics = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PluginLatencyTracker(AdaptivePluginSelectProperties properties) {
+        this.properties = properties;
+    }
+
+    public void record(SourceType sourceType, SqlProcessingType processingType, long durationMs, boolean succeeded) {
+        statistics.computeIfAbsent(new StatsKey(sourceType, processingType), key -> new Stats())
+                .record(durationMs, succeeded);
+    }
+
+    /**
+     * Records a finished request. Failures are counted only when caused by the datasource itself
+     * (I/O, connection or timeout), errors in the query or its validation say nothing about plugin health
+     * and are not recorded.
+     */
+    public void record(SourceType sourceType, SqlProcessingType processingType, long durationMs, Throwable error) {
+        if (error == null || isDataSourceFailure(error)) {
+            record(sourceType, processingType, durationMs, error == null);
+        }
+    }
+
+    static boolean isDataSourceFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isDegraded(SourceType sourceType, SqlProcessingType processingType) {
+        Stats stats = statistics.get(new StatsKey(sourceType, processingType));
+        return stats != null && stats.isDegraded();
+    }
+
+    /**
+     * Lets one request through to a degraded plugin per probe interval, so its statistics keep updating
+     * and the plugin returns to routing after recovery.
+     */
+    public boolean tryProbe(SourceType sourceType, SqlProcessingType processingType) {
+        Stats stats = statistics.get(new StatsKey(sourceType, processingType));
+        return stats == null || stats.tryProbe(System.currentTimeMillis());
+    }
+
+    private static final class StatsKey {
+        private final SourceType sourceType;
+        private final SqlProcessingType processingType;
+
+        private StatsKey(SourceType sourceType, SqlProcessingType processingType) {
+            this.sourceType = sourceType;
+            this.processingType = processingType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StatsKey statsKey = (StatsKey) o;
+            return sourceType == statsKey.sourceType && processingType == statsKey.processingType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceType.hashCode() + processingType.hashCode();
+        }
+    }
+
+    private final class Stats {
+        private long samples;
+        private long successes;
+        private double recentErrorRate;
+        private double recentLatencyMs;
+        private double longTermLatencyMs;
+        private long lastProbeTime;
+
+        synchronized void record(long durationMs, boolean succeeded) {
+            recentErrorRate = average(recentErrorRate, succeeded ? 0 : 1, RECENT_WEIGHT, samples);
+            if (succeeded) {
+                recentLatencyMs = average(recentLatencyMs, durationMs, RECENT_WEIGHT, successes);
+                longTermLatencyMs = average(longTermLatencyMs, durationMs, LONG_TERM_WEIGHT, successes);
+                successes++;
+            }
+            samples++;
+        }
+
+        synchronized boolean isDegraded() {
+            if (samples < properties.getMinSamples()) {
+                return false;
+            }
+            return recentErrorRate > properties.getMaxErrorRate()
+                    || successes >= properties.getMinSamples() && recentLatencyMs > longTermLatencyMs * properties.getMaxLatencyRatio();
+        }
+
+        synchronized boolean tryProbe(long now) {
+            if (now - lastProbeTime < properties.getProbeIntervalMs()) {
+                return false;
+            }
+            lastProbeTime = now;
+            return true;
+        }
+
+        private double average(double current, double value, double weight, long count) {
+            return count == 0 ? value : current + weight * (value - current);
+        }
+    }
+}
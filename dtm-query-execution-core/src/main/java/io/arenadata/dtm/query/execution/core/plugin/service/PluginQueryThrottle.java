@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of queries running concurrently in each plugin.
+ * Queries over the limit are queued and started in submission order as running ones complete,
+ * on the Vert.x context they were submitted from.
+ */
+public class PluginQueryThrottle {
+    private final int maxParallel;
+    private final Map<SourceType, Integer> pluginMaxParallel;
+    private final Map<SourceType, Integer> running = new EnumMap<>(SourceType.class);
+    private final Map<SourceType, Queue<Runnable>> waiting = new EnumMap<>(SourceType.class);
+
+    public PluginQueryThrottle(int maxParallel) {
+        this(maxParallel, Collections.emptyMap());
+    }
+
+    /**
+     * @param maxParallel       limit of plugins not listed in pluginMaxParallel
+     * @param pluginMaxParallel limits of particular plugins
+     */
+    public PluginQueryThrottle(int maxParallel, Map<SourceType, Integer> pluginMaxParallel) {
+        this.maxParallel = Math.max(maxParallel, 1);
+        this.pluginMaxParallel = pluginMaxParallel;
+    }
+
+    public <T> Future<T> execute(SourceType sourceType, Supplier<Future<T>> query) {
+        Promise<T> promise = Promise.promise();
+        Runnable task = () -> {
+            Future<T> result;
+            try {
+                result = query.get();
+            } catch (Exception e) {
+                result = Future.failedFuture(e);
+            }
+            result.onComplete(ar -> {
+                release(sourceType);
+                promise.handle(ar);
+            });
+        };
+        if (acquireOrQueue(sourceType, task, Vertx.currentContext())) {
+            task.run();
+        }
+        return promise.future();
+    }
+
+    private synchronized boolean acquireOrQueue(SourceType sourceType, Runnable task, Context context) {
+        int current = running.getOrDefault(sourceType, 0);
+        if (current < Math.max(pluginMaxParallel.getOrDefault(sourceType, maxParallel), 1)) {
+            running.put(sourceType, current + 1);
+            return true;
+        }
+        // queued queries are started from the completion of another query, running them inline would nest the stack
+        Runnable queuedTask = context == null ? task : () -> context.runOnContext(v -> task.run());
+        waiting.computeIfAbsent(sourceType, type -> new ArrayDeque<>()).add(queuedTask);
+        return false;
+    }
+
+    private void release(SourceType sourceType) {
+        Runnable next;
+        synchronized (this) {
+            Queue<Runnable> queue = waiting.get(sourceType);
+            next = queue == null ? null : queue.poll();
+            if (next == null) {
+                running.merge(sourceType, -1, Integer::sum);
+            }
+        }
+        // the slot is handed over to the next query without being released
+        if (next != null) {
+            next.run();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import io.arenadata.dtm.common.version.VersionInfo;
 import io.arenadata.dtm.query.execution.core.base.verticle.TaskVerticleExecutor;
 import io.arenadata.dtm.query.execution.core.metrics.service.MetricsService;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginLatencyTracker;
 import io.arenadata.dtm.query.execution.plugin.api.DtmDataSourcePlugin;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByCountRequest;
 import io.arenadata.dtm.query.execution.plugin.api.check.CheckDataByHashInt32Request;
@@ -61,12 +62,14 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
     private final Set<SourceType> sourceTypes;
     private final Set<String> activeCaches;
     private final MetricsService<RequestMetrics> metricsService;
+    private final PluginLatencyTracker pluginLatencyTracker;
 
     @Autowired
     public DataSourcePluginServiceImpl(
             PluginRegistry<DtmDataSourcePlugin, SourceType> pluginRegistry,
             TaskVerticleExecutor taskVerticleExecutor,
-            @Qualifier("coreMetricsService") MetricsService<RequestMetrics> metricsService) {
+            @Qualifier("coreMetricsService") MetricsService<RequestMetrics> metricsService,
+            PluginLatencyTracker pluginLatencyTracker) {
         this.taskVerticleExecutor = taskVerticleExecutor;
         this.pluginRegistry = pluginRegistry;
         this.sourceTypes = pluginRegistry.getPlugins().stream()
@@ -76,6 +79,7 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
                 .flatMap(plugin -> plugin.getActiveCaches().stream())
                 .collect(Collectors.toSet());
         this.metricsService = metricsService;
+        this.pluginLatencyTracker = pluginLatencyTracker;
         log.info("Active Plugins: {}", sourceTypes.toString());
     }
 
@@ -254,7 +258,13 @@ public class DataSourcePluginServiceImpl implements DataSourcePluginService {
                 metricsService.sendMetrics(sourceType,
                         sqlProcessingType,
                         requestMetrics)
-                        .compose(result -> taskVerticleExecutor.execute((Handler<Promise<T>>) p -> func.apply(getPlugin(sourceType)).onComplete(p)))
+                        .compose(result -> taskVerticleExecutor.execute((Handler<Promise<T>>) p -> {
+                            long startTime = System.currentTimeMillis();
+                            func.apply(getPlugin(sourceType))
+                                    .onComplete(ar -> pluginLatencyTracker.record(sourceType, sqlProcessingType,
+                                            System.currentTimeMillis() - startTime, ar.cause()))
+                                    .onComplete(p);
+                        }))
                         .onComplete(metricsService.sendMetrics(sourceType,
                                 sqlProcessingType,
                                 requestMetrics,
@@ -24,6 +24,7 @@ import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.query.execution.core.query.service.QueryAnalyzer;
 import io.arenadata.dtm.query.execution.core.query.utils.LoggerContextUtils;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.ext.web.RoutingContext;
 import lombok.extern.slf4j.Slf4j;
@@ -51,11 +52,18 @@ public class QueryController {
         InputQueryRequest inputQueryRequest = context.getBodyAsJson().mapTo(InputQueryRequest.class);
         prepareRequestId(inputQueryRequest);
         log.info("Execution request sent: [{}]", inputQueryRequest);
-        execute(context, inputQueryRequest);
+        execute(context, inputQueryRequest, queryAnalyzer.analyzeAndExecute(inputQueryRequest));
     }
 
-    private void execute(RoutingContext context, InputQueryRequest inputQueryRequest) {
-        AsyncUtils.measureMs(queryAnalyzer.analyzeAndExecute(inputQueryRequest),
+    public void executeScript(RoutingContext context) {
+        InputQueryRequest scriptRequest = context.getBodyAsJson().mapTo(InputQueryRequest.class);
+        prepareRequestId(scriptRequest);
+        log.info("Script execution request sent: [{}]", scriptRequest);
+        execute(context, scriptRequest, queryAnalyzer.analyzeAndExecuteScript(scriptRequest));
+    }
+
+    private void execute(RoutingContext context, InputQueryRequest inputQueryRequest, Future<QueryResult> execution) {
+        AsyncUtils.measureMs(execution,
                 duration -> log.info("Request succeeded: [{}] in [{}]ms", inputQueryRequest.getSql(), duration))
                 .onSuccess(queryResult -> {
                     if (queryResult.getRequestId() == null) {
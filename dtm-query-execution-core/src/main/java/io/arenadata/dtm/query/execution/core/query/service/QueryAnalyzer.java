@@ -29,4 +29,14 @@ public interface QueryAnalyzer {
    * @return query result
    */
   Future<QueryResult> analyzeAndExecute(InputQueryRequest inputQueryRequest);
+
+  /**
+   * Executes ddl script, all statements are parsed and validated before the first one is executed.
+   * Create and drop table statements in a row are executed in parallel across datamarts,
+   * other statements are executed one by one in script order.
+   *
+   * @param scriptRequest request with script in sql
+   * @return empty result when all statements succeeded
+   */
+  Future<QueryResult> analyzeAndExecuteScript(InputQueryRequest scriptRequest);
 }
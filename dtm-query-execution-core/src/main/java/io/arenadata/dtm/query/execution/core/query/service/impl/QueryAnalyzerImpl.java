@@ -30,6 +30,9 @@ import io.arenadata.dtm.query.calcite.core.extension.eddl.SqlCreateDatabase;
 import io.arenadata.dtm.query.calcite.core.extension.edml.SqlRollbackCrashedWriteOps;
 import io.arenadata.dtm.query.calcite.core.service.DefinitionService;
 import io.arenadata.dtm.query.execution.core.base.dto.request.CoreRequestContext;
+import io.arenadata.dtm.query.execution.core.base.exception.table.ValidationDtmException;
+import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
+import io.arenadata.dtm.query.execution.core.eddl.dto.EddlRequestContext;
 import io.arenadata.dtm.query.execution.core.query.factory.QueryRequestFactory;
 import io.arenadata.dtm.query.execution.core.query.factory.RequestContextFactory;
 import io.arenadata.dtm.query.execution.core.query.service.QueryAnalyzer;
@@ -37,11 +40,16 @@ import io.arenadata.dtm.query.execution.core.query.service.QueryDispatcher;
 import io.arenadata.dtm.query.execution.core.query.service.QuerySemicolonRemover;
 import io.arenadata.dtm.query.execution.core.query.utils.DatamartMnemonicExtractor;
 import io.arenadata.dtm.query.execution.core.query.utils.DefaultDatamartSetter;
+import io.arenadata.dtm.query.execution.core.query.utils.ExceptionUtils;
+import io.arenadata.dtm.query.execution.core.query.utils.SqlScriptSplitter;
+import io.arenadata.dtm.query.execution.core.rollback.service.RestoreStateService;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.ddl.SqlCreateSchema;
 import org.apache.calcite.sql.ddl.SqlDropSchema;
@@ -50,6 +58,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Component
 public class QueryAnalyzerImpl implements QueryAnalyzer {
@@ -62,6 +73,7 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
     private final DefaultDatamartSetter defaultDatamartSetter;
     private final QuerySemicolonRemover querySemicolonRemover;
     private final QueryRequestFactory queryRequestFactory;
+    private final RestoreStateService restoreStateService;
 
     @Autowired
     public QueryAnalyzerImpl(QueryDispatcher queryDispatcher,
@@ -71,7 +83,8 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
                              DatamartMnemonicExtractor datamartMnemonicExtractor,
                              DefaultDatamartSetter defaultDatamartSetter,
                              QuerySemicolonRemover querySemicolonRemover,
-                             QueryRequestFactory queryRequestFactory) {
+                             QueryRequestFactory queryRequestFactory,
+                             RestoreStateService restoreStateService) {
         this.queryDispatcher = queryDispatcher;
         this.definitionService = definitionService;
         this.requestContextFactory = requestContextFactory;
@@ -80,6 +93,7 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
         this.defaultDatamartSetter = defaultDatamartSetter;
         this.queryRequestFactory = queryRequestFactory;
         this.querySemicolonRemover = querySemicolonRemover;
+        this.restoreStateService = restoreStateService;
     }
 
     @Override
@@ -88,7 +102,125 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
                         duration -> log.debug("Request parsed [{}] in [{}]ms", execQueryRequest.getSql(), duration))
                 .compose(parsedQuery -> AsyncUtils.measureMs(createRequestContext(parsedQuery),
                         duration -> log.debug("Created request context [{}] in [{}]ms", execQueryRequest.getSql(), duration)))
+                .compose(this::awaitDatamartRestored)
+                .compose(queryDispatcher::dispatch);
+    }
+
+    @Override
+    public Future<QueryResult> analyzeAndExecuteScript(InputQueryRequest scriptRequest) {
+        return AsyncUtils.measureMs(getParsedScript(scriptRequest),
+                        duration -> log.debug("Script parsed [{}] in [{}]ms", scriptRequest.getRequestId(), duration))
+                .compose(this::createScriptContexts)
+                .compose(this::executeScript)
+                .map(v -> QueryResult.emptyResult());
+    }
+
+    private Future<List<ParsedQueryResponse>> getParsedScript(InputQueryRequest scriptRequest) {
+        return Future.future(promise -> vertx.executeBlocking(it -> {
+            val statements = SqlScriptSplitter.split(scriptRequest.getSql());
+            if (statements.isEmpty()) {
+                it.fail(new DtmException("Script contains no statements"));
+                return;
+            }
+            List<ParsedQueryResponse> parsedStatements = new ArrayList<>(statements.size());
+            for (String statement : statements) {
+                val request = queryRequestFactory.create(scriptRequest);
+                request.setRequestId(UUID.randomUUID());
+                request.setSql(statement);
+                try {
+                    parsedStatements.add(new ParsedQueryResponse(request, definitionService.processingQuery(statement)));
+                } catch (Exception e) {
+                    it.fail(new DtmException(String.format("Error parsing statement [%s]", statement), e));
+                    return;
+                }
+            }
+            it.complete(parsedStatements);
+        }, false, promise));
+    }
+
+    private Future<List<CoreRequestContext>> createScriptContexts(List<ParsedQueryResponse> parsedStatements) {
+        List<CoreRequestContext> contexts = new ArrayList<>(parsedStatements.size());
+        for (ParsedQueryResponse parsedStatement : parsedStatements) {
+            val contextFuture = createRequestContext(parsedStatement);
+            if (contextFuture.failed()) {
+                return Future.failedFuture(contextFuture.cause());
+            }
+            val context = contextFuture.result();
+            if (!(context instanceof DdlRequestContext) && !(context instanceof EddlRequestContext)) {
+                return Future.failedFuture(new ValidationDtmException(String.format("Only DDL statements are supported in script, got [%s]",
+                        parsedStatement.getQueryRequest().getSql())));
+            }
+            contexts.add(context);
+        }
+        return Future.succeededFuture(contexts);
+    }
+
+    private Future<Void> executeScript(List<CoreRequestContext> contexts) {
+        Future<Void> result = Future.succeededFuture();
+        for (List<CoreRequestContext> segment : splitScriptSegments(contexts)) {
+            result = result.compose(v -> executeScriptSegment(segment));
+        }
+        return result;
+    }
+
+    /**
+     * Table statements in a row form one segment, any other statement forms a segment of its own,
+     * so it starts after all previous statements and is finished before the next ones.
+     */
+    private List<List<CoreRequestContext>> splitScriptSegments(List<CoreRequestContext> contexts) {
+        List<List<CoreRequestContext>> segments = new ArrayList<>();
+        List<CoreRequestContext> tableSegment = null;
+        for (CoreRequestContext context : contexts) {
+            if (isTableStatement(context)) {
+                if (tableSegment == null) {
+                    tableSegment = new ArrayList<>();
+                    segments.add(tableSegment);
+                }
+                tableSegment.add(context);
+            } else {
+                tableSegment = null;
+                segments.add(Collections.singletonList(context));
+            }
+        }
+        return segments;
+    }
+
+    private boolean isTableStatement(CoreRequestContext context) {
+        val kind = context.getSqlNode().getKind();
+        return context instanceof DdlRequestContext && (kind == SqlKind.CREATE_TABLE || kind == SqlKind.DROP_TABLE);
+    }
+
+    /**
+     * Ddl on a datamart is serialized by its changelog, so statements of the same datamart are executed in order
+     * and different datamarts in parallel.
+     */
+    private Future<Void> executeScriptSegment(List<CoreRequestContext> segment) {
+        Map<String, List<CoreRequestContext>> contextsByDatamart = segment.stream()
+                .collect(Collectors.groupingBy(context -> Objects.toString(context.getRequest().getQueryRequest().getDatamartMnemonic(), ""),
+                        LinkedHashMap::new, Collectors.toList()));
+        return CompositeFuture.join(contextsByDatamart.values().stream()
+                        .map(this::executeInOrder)
+                        .collect(Collectors.toList()))
+                .mapEmpty();
+    }
+
+    private Future<Void> executeInOrder(List<CoreRequestContext> contexts) {
+        Future<Void> result = Future.succeededFuture();
+        for (CoreRequestContext context : contexts) {
+            result = result.compose(v -> executeScriptStatement(context));
+        }
+        return result;
+    }
+
+    private Future<Void> executeScriptStatement(CoreRequestContext context) {
+        val sql = context.getRequest().getQueryRequest().getSql();
+        Future<QueryResult> execution = awaitDatamartRestored(context)
                 .compose(queryDispatcher::dispatch);
+        return execution
+                .<Void>mapEmpty()
+                .onSuccess(v -> log.debug("Script statement succeeded [{}]", sql))
+                .recover(error -> Future.failedFuture(new DtmException(String.format("Error executing statement [%s]: %s",
+                        sql, ExceptionUtils.prepareMessage(error)), error)));
     }
 
     private Future<ParsedQueryResponse> getParsedQuery(InputQueryRequest inputQueryRequest) {
@@ -119,6 +251,16 @@ public class QueryAnalyzerImpl implements QueryAnalyzer {
         });
     }
 
+    private Future<CoreRequestContext> awaitDatamartRestored(CoreRequestContext context) {
+        SqlNode sqlNode = context.getSqlNode();
+        if (sqlNode instanceof SqlDeltaCall || sqlNode instanceof SqlRollbackCrashedWriteOps) {
+            // delta and rollback statements are what the operator uses to fix a datamart, they must never wait for restoration
+            return Future.succeededFuture(context);
+        }
+        return restoreStateService.awaitRestored(context.getRequest().getQueryRequest().getDatamartMnemonic())
+                .map(context);
+    }
+
     private boolean hasSchema(SqlNode sqlNode) {
         return !(sqlNode instanceof SqlDropSchema)
                 && !(sqlNode instanceof SqlCreateSchema)
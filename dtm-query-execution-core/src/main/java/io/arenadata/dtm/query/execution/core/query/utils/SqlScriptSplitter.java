@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits sql script into statements by semicolons outside of quotes and comments.
+ * Statements without anything but comments and whitespaces are skipped.
+ */
+public final class SqlScriptSplitter {
+    private SqlScriptSplitter() {
+    }
+
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        int start = 0;
+        boolean hasContent = false;
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = script.indexOf(c, i + 1);
+                i = end == -1 ? script.length() : end + 1;
+                hasContent = true;
+            } else if (c == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end == -1 ? script.length() : end + 1;
+            } else if (c == '/' && script.startsWith("/*", i)) {
+                int end = script.indexOf("*/", i + 2);
+                i = end == -1 ? script.length() : end + 2;
+            } else if (c == ';') {
+                addStatement(statements, script.substring(start, i), hasContent);
+                start = ++i;
+                hasContent = false;
+            } else {
+                hasContent |= !Character.isWhitespace(c);
+                i++;
+            }
+        }
+        addStatement(statements, script.substring(start), hasContent);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, String statement, boolean hasContent) {
+        if (hasContent) {
+            statements.add(statement.trim());
+        }
+    }
+}
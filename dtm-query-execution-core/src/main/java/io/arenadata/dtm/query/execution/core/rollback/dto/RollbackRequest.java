@@ -17,11 +17,14 @@ package io.arenadata.dtm.query.execution.core.rollback.dto;
 
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.QueryRequest;
+import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.request.DatamartRequest;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.Set;
+
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class RollbackRequest extends DatamartRequest {
@@ -30,17 +33,23 @@ public class RollbackRequest extends DatamartRequest {
     private String destinationTable;
     private long sysCn;
     private Entity entity;
+    /**
+     * Destinations where the operation is already rolled back
+     */
+    private Set<SourceType> rolledBackDestinations;
 
     @Builder
     public RollbackRequest(QueryRequest queryRequest,
                            String datamart,
                            String destinationTable,
                            long sysCn,
-                           Entity entity) {
+                           Entity entity,
+                           Set<SourceType> rolledBackDestinations) {
         super(queryRequest);
         this.datamart = datamart;
         this.destinationTable = destinationTable;
         this.sysCn = sysCn;
         this.entity = entity;
+        this.rolledBackDestinations = rolledBackDestinations;
     }
 }
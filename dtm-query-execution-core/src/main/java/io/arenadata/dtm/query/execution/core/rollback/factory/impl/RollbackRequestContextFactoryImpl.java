@@ -35,6 +35,7 @@ public class RollbackRequestContextFactoryImpl implements RollbackRequestContext
                 .destinationTable(context.getDestinationEntity().getName())
                 .sysCn(context.getSysCn())
                 .entity(context.getDestinationEntity())
+                .rolledBackDestinations(context.getRolledBackDestinations())
                 .build(),
                 context.getSqlNode());
     }
@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.core.rollback.service;
 
 import io.arenadata.dtm.common.configuration.core.CoreConstants;
+import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.metrics.RequestMetrics;
 import io.arenadata.dtm.common.model.RequestStatus;
 import io.arenadata.dtm.common.model.ddl.Entity;
@@ -36,6 +37,8 @@ import io.arenadata.dtm.query.execution.core.edml.mppw.service.EdmlUploadFailedE
 import io.arenadata.dtm.query.execution.core.edml.mppw.service.impl.UploadExternalTableExecutor;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -46,11 +49,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Component
@@ -63,6 +70,11 @@ public class RestoreStateService {
     private final UploadExternalTableExecutor uploadExternalTableExecutor;
     private final DefinitionService<SqlNode> definitionService;
     private final String envName;
+    private final Vertx vertx;
+    private final int restoreMaxParallel;
+    private final long queryWaitMs;
+    private final ConcurrentHashMap<String, Promise<Void>> restoringDatamarts = new ConcurrentHashMap<>();
+    private volatile Future<Void> datamartsLoaded = Future.succeededFuture();
 
     @Getter
     private final boolean isAutoRestoreState;
@@ -73,7 +85,8 @@ public class RestoreStateService {
                                UploadExternalTableExecutor uploadExternalTableExecutor,
                                @Qualifier("coreCalciteDefinitionService") DefinitionService<SqlNode> definitionService,
                                @Value("${core.env.name}") String envName,
-                               RestorationProperties restorationProperties) {
+                               RestorationProperties restorationProperties,
+                               @Qualifier("coreVertx") Vertx vertx) {
         this.datamartDao = serviceDbFacade.getServiceDbDao().getDatamartDao();
         this.entityDao = serviceDbFacade.getServiceDbDao().getEntityDao();
         this.deltaServiceDao = serviceDbFacade.getDeltaServiceDao();
@@ -81,11 +94,26 @@ public class RestoreStateService {
         this.uploadExternalTableExecutor = uploadExternalTableExecutor;
         this.definitionService = definitionService;
         this.envName = envName;
+        this.vertx = vertx;
         this.isAutoRestoreState = restorationProperties.isAutoRestoreState();
+        this.restoreMaxParallel = Math.max(restorationProperties.getRestoreMaxParallel(), 1);
+        this.queryWaitMs = restorationProperties.getQueryWaitMs();
     }
 
+    /**
+     * Restores state of all datamarts, at most restoreMaxParallel datamarts at a time.
+     * Datamarts are marked as being restored until their failed write operations are erased, see {@link #awaitRestored(String)}.
+     */
     public Future<Void> restoreState() {
+        Promise<Void> loaded = Promise.promise();
+        datamartsLoaded = loaded.future();
         return datamartDao.getDatamarts()
+                .onComplete(ar -> {
+                    if (ar.succeeded()) {
+                        ar.result().forEach(datamart -> restoringDatamarts.putIfAbsent(datamart, Promise.promise()));
+                    }
+                    loaded.complete();
+                })
                 .compose(this::restoreDatamarts)
                 .onSuccess(success -> log.info("State successfully restored"))
                 .onFailure(err -> log.error("Error while trying to restore state", err));
@@ -117,12 +145,69 @@ public class RestoreStateService {
                 .compose(runningOps -> uploadOperations(datamart, runningOps));
     }
 
+    /**
+     * Returns a future completed when the failed write operations of the datamart are erased by {@link #restoreState()},
+     * failed if restoration doesn't complete in queryWaitMs.
+     */
+    public Future<Void> awaitRestored(String datamart) {
+        if (datamart == null) {
+            return Future.succeededFuture();
+        }
+        return datamartsLoaded.compose(v -> {
+            Promise<Void> restored = restoringDatamarts.get(datamart);
+            if (restored == null) {
+                return Future.succeededFuture();
+            }
+            val notRestoredError = new DtmException(String.format("Datamart [%s] state is being restored, try again later", datamart));
+            if (queryWaitMs <= 0) {
+                return Future.failedFuture(notRestoredError);
+            }
+            Promise<Void> promise = Promise.promise();
+            long timerId = vertx.setTimer(queryWaitMs, id -> promise.tryFail(notRestoredError));
+            restored.future().onComplete(ar -> {
+                vertx.cancelTimer(timerId);
+                promise.tryComplete();
+            });
+            return promise.future();
+        });
+    }
+
     private Future<Void> restoreDatamarts(List<String> datamarts) {
-        return Future.future(p -> CompositeFuture.join(Stream.concat(datamarts.stream().map(this::restoreErase),
-                datamarts.stream().map(this::restoreUpload))
-                .collect(Collectors.toList()))
-                .onSuccess(success -> p.complete())
-                .onFailure(p::fail));
+        Queue<String> queue = new ConcurrentLinkedQueue<>(datamarts);
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        List<Future> workers = new ArrayList<>();
+        for (int i = 0; i < Math.min(restoreMaxParallel, datamarts.size()); i++) {
+            workers.add(restoreNextDatamart(queue, firstError));
+        }
+        return CompositeFuture.join(workers)
+                .compose(v -> firstError.get() == null ? Future.<Void>succeededFuture() : Future.failedFuture(firstError.get()));
+    }
+
+    private Future<Void> restoreNextDatamart(Queue<String> queue, AtomicReference<Throwable> firstError) {
+        String datamart = queue.poll();
+        if (datamart == null) {
+            return Future.succeededFuture();
+        }
+        // queries only have to wait for the failed write operations to be erased, resumed uploads may run alongside them
+        Future<List<EraseWriteOpResult>> erase = restoreErase(datamart)
+                .onComplete(ar -> releaseDatamart(datamart));
+        return CompositeFuture.join(erase, restoreUpload(datamart))
+                .<Void>mapEmpty()
+                .onComplete(ar -> {
+                    if (ar.failed()) {
+                        log.error("Error while trying to restore state of datamart [{}]", datamart, ar.cause());
+                        firstError.compareAndSet(null, ar.cause());
+                    }
+                })
+                .otherwiseEmpty()
+                .compose(v -> restoreNextDatamart(queue, firstError));
+    }
+
+    private void releaseDatamart(String datamart) {
+        Promise<Void> restored = restoringDatamarts.remove(datamart);
+        if (restored != null) {
+            restored.complete();
+        }
     }
 
     private Future<List<EraseWriteOpResult>> eraseOperations(String datamart, List<DeltaWriteOp> ops) {
@@ -211,6 +296,7 @@ public class RestoreStateService {
                 envName);
         context.setSysCn(op.getSysCn());
         context.setDestinationEntity(dest);
+        context.setRolledBackDestinations(op.getRolledBackDestinations());
         return context;
     }
 }
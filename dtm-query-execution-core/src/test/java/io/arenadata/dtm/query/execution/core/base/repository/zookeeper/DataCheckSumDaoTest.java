@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.repository.zookeeper;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckProperties;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.ServiceDbZookeeperProperties;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperConnectionProvider;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.ZookeeperExecutor;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.impl.ZookeeperConnectionProviderImpl;
+import io.arenadata.dtm.query.execution.core.base.service.zookeeper.impl.ZookeeperExecutorImpl;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataCheckSumDaoTest {
+    private static final String ENV_NAME = "test";
+    private static final String DATAMART = "dtm";
+    private static final String ENTITY = "tbl";
+    private static final String CHECK = "count";
+    private final Vertx vertx = Vertx.vertx();
+    private final CheckProperties checkProperties = new CheckProperties();
+    private TestingServer testingServer;
+    private DataCheckSumDao dao;
+
+    @BeforeEach
+    void before() throws Exception {
+        testingServer = new TestingServer(55432, true);
+        ServiceDbZookeeperProperties properties = new ServiceDbZookeeperProperties();
+        properties.setChroot("/arena");
+        properties.setConnectionString("localhost:55432");
+        properties.setConnectionTimeoutMs(10_000);
+        properties.setSessionTimeoutMs(30_000);
+        ZookeeperConnectionProvider manager = new ZookeeperConnectionProviderImpl(properties, ENV_NAME);
+        ZookeeperExecutor executor = new ZookeeperExecutorImpl(manager, vertx);
+        dao = new DataCheckSumDao(executor, ENV_NAME, checkProperties);
+        await(new DatamartDao(executor, ENV_NAME).createDatamart(DATAMART));
+    }
+
+    @AfterEach
+    void after() throws Exception {
+        testingServer.stop();
+        testingServer.close();
+        vertx.close();
+    }
+
+    @Test
+    void shouldKeepChecksumsOfLatestDeltasOnly() throws Exception {
+        // arrange
+        checkProperties.setStoredCheckSumDeltas(2);
+
+        // act
+        for (long deltaNum = 0; deltaNum < 4; deltaNum++) {
+            await(dao.saveCheckSums(DATAMART, ENTITY, CHECK, deltaNum, Collections.singletonMap(SourceType.ADB, deltaNum)));
+        }
+
+        // assert
+        assertTrue(await(dao.getCheckSums(DATAMART, ENTITY, CHECK, 0)).isEmpty());
+        assertTrue(await(dao.getCheckSums(DATAMART, ENTITY, CHECK, 1)).isEmpty());
+        assertEquals(Collections.singletonMap(SourceType.ADB, 2L), await(dao.getCheckSums(DATAMART, ENTITY, CHECK, 2)));
+        assertEquals(Collections.singletonMap(SourceType.ADB, 3L), await(dao.getCheckSums(DATAMART, ENTITY, CHECK, 3)));
+    }
+
+    @Test
+    void shouldOverwriteChecksumsOfSameDelta() throws Exception {
+        // act
+        await(dao.saveCheckSums(DATAMART, ENTITY, CHECK, 1, Collections.singletonMap(SourceType.ADB, 1L)));
+        await(dao.saveCheckSums(DATAMART, ENTITY, CHECK, 1, Collections.singletonMap(SourceType.ADB, 2L)));
+
+        // assert
+        Map<SourceType, Long> checkSums = await(dao.getCheckSums(DATAMART, ENTITY, CHECK, 1));
+        assertEquals(Collections.singletonMap(SourceType.ADB, 2L), checkSums);
+    }
+
+    private <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
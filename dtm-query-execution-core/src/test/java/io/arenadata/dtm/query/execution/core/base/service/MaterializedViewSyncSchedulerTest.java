@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service;
+
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.MatViewSyncProperties;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewCacheValue;
+import io.arenadata.dtm.query.execution.core.base.service.MaterializedViewSyncScheduler.SyncCandidate;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterializedViewSyncSchedulerTest {
+
+    private static final long MAX_DELTA_SPAN = 10L;
+
+    private final MatViewSyncProperties properties = new MatViewSyncProperties();
+
+    @Test
+    void shouldOrderByStalenessThenCost() {
+        // arrange
+        val scheduler = new MaterializedViewSyncScheduler(properties);
+        val fresh = candidate("dm", "fresh", 9L, 0L, 10L);
+        val staleExpensive = candidate("dm", "stale_expensive", 5L, 1000L, 10L);
+        val staleCheap = candidate("dm", "stale_cheap", 5L, 10L, 10L);
+
+        // act
+        List<String> ordered = names(scheduler.order(Arrays.asList(fresh, staleExpensive, staleCheap)));
+
+        // assert
+        assertEquals(Arrays.asList("stale_cheap", "stale_expensive", "fresh"), ordered);
+    }
+
+    @Test
+    void shouldTakeDatamartsInTurns() {
+        // arrange
+        val scheduler = new MaterializedViewSyncScheduler(properties);
+        val busy1 = candidate("busy", "busy1", 0L, 0L, 10L);
+        val busy2 = candidate("busy", "busy2", 1L, 0L, 10L);
+        val busy3 = candidate("busy", "busy3", 2L, 0L, 10L);
+        val small = candidate("small", "small1", 8L, 0L, 10L);
+
+        // act
+        List<String> ordered = names(scheduler.order(Arrays.asList(busy1, busy2, busy3, small)));
+
+        // assert
+        assertEquals(Arrays.asList("busy1", "small1", "busy2", "busy3"), ordered);
+    }
+
+    @Test
+    void shouldLimitConcurrentSyncsPerDestination() {
+        // arrange
+        properties.getDestinationMaxConcurrent().put(SourceType.ADG, 1);
+        val scheduler = new MaterializedViewSyncScheduler(properties);
+
+        // act & assert
+        assertTrue(scheduler.tryAcquire(SourceType.ADG));
+        assertFalse(scheduler.tryAcquire(SourceType.ADG));
+        assertTrue(scheduler.tryAcquire(SourceType.ADQM));
+        assertTrue(scheduler.tryAcquire(SourceType.ADQM));
+
+        scheduler.release(SourceType.ADG);
+        assertTrue(scheduler.tryAcquire(SourceType.ADG));
+    }
+
+    private static SyncCandidate candidate(String datamart, String name, long materializedDeltaNum,
+                                           long lastSyncDeltaDurationMs, long okDeltaNum) {
+        val entity = Entity.builder()
+                .entityType(EntityType.MATERIALIZED_VIEW)
+                .schema(datamart)
+                .name(name)
+                .materializedDeltaNum(materializedDeltaNum)
+                .build();
+        val value = new MaterializedViewCacheValue(entity);
+        value.setLastSyncDeltaDurationMs(lastSyncDeltaDurationMs);
+        return new SyncCandidate(new EntityKey(datamart, name), value, okDeltaNum, MAX_DELTA_SPAN);
+    }
+
+    private static List<String> names(List<SyncCandidate> candidates) {
+        return candidates.stream()
+                .map(candidate -> candidate.getKey().getEntityName())
+                .collect(Collectors.toList());
+    }
+}
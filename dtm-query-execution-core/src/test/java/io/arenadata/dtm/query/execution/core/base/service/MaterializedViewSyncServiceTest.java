@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service;
+
+import io.arenadata.dtm.cache.service.CacheService;
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.calcite.core.service.DefinitionService;
+import io.arenadata.dtm.query.execution.core.base.configuration.AppConfiguration;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.MatViewSyncProperties;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.EntityKey;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewCacheValue;
+import io.arenadata.dtm.query.execution.core.base.dto.cache.MaterializedViewSyncStatus;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
+import io.arenadata.dtm.query.execution.core.base.service.delta.DeltaInformationService;
+import io.arenadata.dtm.query.execution.core.base.service.metadata.LogicalSchemaProvider;
+import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
+import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import lombok.val;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MaterializedViewSyncServiceTest {
+
+    private static final String DATAMART = "datamart";
+    private static final String MATVIEW = "matview";
+    private static final String VIEW_QUERY = "SELECT * FROM tbl";
+    private static final long CN_PER_DELTA = 10L;
+
+    @Mock
+    private DataSourcePluginService dataSourcePluginService;
+    @Mock
+    private CacheService<EntityKey, MaterializedViewCacheValue> materializedViewCacheService;
+    @Mock
+    private DeltaServiceDao deltaServiceDao;
+    @Mock
+    private DeltaInformationService deltaInformationService;
+    @Mock
+    private EntityDao entityDao;
+    @Mock
+    private DefinitionService<SqlNode> definitionService;
+    @Mock
+    private LogicalSchemaProvider logicalSchemaProvider;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private AppConfiguration appConfiguration;
+    @Captor
+    private ArgumentCaptor<SynchronizeRequest> requestCaptor;
+
+    private MaterializedViewCacheValue cacheValue;
+    private SqlNode sqlNode;
+
+    @BeforeEach
+    void setUp() throws SqlParseException {
+        sqlNode = SqlParser.create(VIEW_QUERY).parseQuery();
+        val entity = Entity.builder()
+                .entityType(EntityType.MATERIALIZED_VIEW)
+                .schema(DATAMART)
+                .name(MATVIEW)
+                .viewQuery(VIEW_QUERY)
+                .materializedDataSource(SourceType.ADG)
+                .materializedDeltaNum(0L)
+                .build();
+        cacheValue = new MaterializedViewCacheValue(entity);
+
+        doAnswer(invocation -> {
+            BiConsumer<EntityKey, MaterializedViewCacheValue> consumer = invocation.getArgument(0);
+            consumer.accept(new EntityKey(DATAMART, MATVIEW), cacheValue);
+            return null;
+        }).when(materializedViewCacheService).forEach(any());
+        when(definitionService.processingQuery(VIEW_QUERY)).thenReturn(sqlNode);
+        when(logicalSchemaProvider.getSchemaFromQuery(sqlNode, DATAMART)).thenReturn(Future.succeededFuture(Collections.emptyList()));
+        when(deltaServiceDao.getDeltaByNum(eq(DATAMART), anyLong())).thenAnswer(invocation -> {
+            long deltaNum = invocation.getArgument(1);
+            return Future.succeededFuture(delta(deltaNum));
+        });
+        when(deltaInformationService.getCnToByDeltaNum(eq(DATAMART), anyLong()))
+                .thenAnswer(invocation -> Future.succeededFuture(delta(invocation.getArgument(1)).getCnTo()));
+        when(dataSourcePluginService.hasSourceType(SourceType.ADG)).thenReturn(true);
+        lenient().when(dataSourcePluginService.synchronize(eq(SourceType.ADG), any(), any()))
+                .thenAnswer(invocation -> Future.succeededFuture(((SynchronizeRequest) invocation.getArgument(2)).getDeltaToBe().getNum()));
+        when(entityDao.updateEntity(any())).thenReturn(Future.succeededFuture());
+    }
+
+    @Test
+    void shouldSyncDeltaRangeWhenViewIsBehind() {
+        // arrange
+        when(deltaServiceDao.getDeltaOk(DATAMART)).thenReturn(Future.succeededFuture(delta(5L)));
+
+        // act
+        runTick(10);
+
+        // assert
+        verify(dataSourcePluginService, times(5)).synchronize(eq(SourceType.ADG), any(), requestCaptor.capture());
+        val requests = requestCaptor.getAllValues();
+        for (int i = 0; i < requests.size(); i++) {
+            long deltaNum = i + 1L;
+            val request = requests.get(i);
+            assertEquals(deltaNum, request.getDeltaToBe().getNum());
+            assertEquals(delta(deltaNum).getCnFrom(), request.getDeltaToBe().getCnFrom());
+            assertEquals(delta(deltaNum).getCnTo(), request.getDeltaToBe().getCnTo());
+            assertEquals(delta(deltaNum - 1).getCnTo(), request.getBeforeDeltaCnTo());
+        }
+        verify(entityDao, times(5)).updateEntity(any());
+        assertEquals(5L, cacheValue.getEntity().getMaterializedDeltaNum());
+        assertEquals(MaterializedViewSyncStatus.READY, cacheValue.getStatus());
+    }
+
+    @Test
+    void shouldKeepSynchronizedDeltasWhenRangeSyncFails() {
+        // arrange
+        when(deltaServiceDao.getDeltaOk(DATAMART)).thenReturn(Future.succeededFuture(delta(5L)));
+        when(dataSourcePluginService.synchronize(eq(SourceType.ADG), any(), any()))
+                .thenAnswer(invocation -> {
+                    long deltaNum = ((SynchronizeRequest) invocation.getArgument(2)).getDeltaToBe().getNum();
+                    return deltaNum == 3L ? Future.failedFuture("Failure") : Future.succeededFuture(deltaNum);
+                });
+
+        // act
+        runTick(10);
+
+        // assert
+        verify(dataSourcePluginService, times(3)).synchronize(eq(SourceType.ADG), any(), any());
+        assertEquals(2L, cacheValue.getEntity().getMaterializedDeltaNum());
+        assertEquals(1L, cacheValue.getFailsCount());
+        assertEquals(MaterializedViewSyncStatus.READY, cacheValue.getStatus());
+    }
+
+    @Test
+    void shouldLimitDeltaRangeByMaxDeltaSpan() {
+        // arrange
+        when(deltaServiceDao.getDeltaOk(DATAMART)).thenReturn(Future.succeededFuture(delta(25L)));
+
+        // act
+        runTick(10);
+
+        // assert
+        verify(dataSourcePluginService, times(10)).synchronize(eq(SourceType.ADG), any(), requestCaptor.capture());
+        val lastRequest = requestCaptor.getValue();
+        assertEquals(10L, lastRequest.getDeltaToBe().getNum());
+        assertEquals(delta(10L).getCnFrom(), lastRequest.getDeltaToBe().getCnFrom());
+        assertEquals(delta(10L).getCnTo(), lastRequest.getDeltaToBe().getCnTo());
+        assertEquals(10L, cacheValue.getEntity().getMaterializedDeltaNum());
+    }
+
+    @Test
+    void shouldSyncSingleDeltaWhenMaxDeltaSpanIsOne() {
+        // arrange
+        when(deltaServiceDao.getDeltaOk(DATAMART)).thenReturn(Future.succeededFuture(delta(5L)));
+
+        // act
+        runTick(1);
+
+        // assert
+        verify(dataSourcePluginService).synchronize(eq(SourceType.ADG), any(), requestCaptor.capture());
+        val request = requestCaptor.getValue();
+        assertEquals(1L, request.getDeltaToBe().getNum());
+        assertEquals(delta(1L).getCnFrom(), request.getDeltaToBe().getCnFrom());
+        assertEquals(delta(1L).getCnTo(), request.getDeltaToBe().getCnTo());
+        verify(deltaServiceDao).getDeltaByNum(DATAMART, 1L);
+        assertEquals(1L, cacheValue.getEntity().getMaterializedDeltaNum());
+    }
+
+    @Test
+    void shouldReuseParsedViewQueryOnNextSync() {
+        // arrange
+        when(deltaServiceDao.getDeltaOk(DATAMART))
+                .thenReturn(Future.succeededFuture(delta(1L)))
+                .thenReturn(Future.succeededFuture(delta(2L)));
+
+        // act
+        runTick(10);
+        runTick(10);
+
+        // assert
+        verify(dataSourcePluginService, times(2)).synchronize(eq(SourceType.ADG), any(), requestCaptor.capture());
+        verify(definitionService).processingQuery(VIEW_QUERY);
+        verify(logicalSchemaProvider).getSchemaFromQuery(sqlNode, DATAMART);
+        val requests = requestCaptor.getAllValues();
+        assertNotSame(sqlNode, requests.get(0).getViewQuery());
+        assertNotSame(requests.get(0).getViewQuery(), requests.get(1).getViewQuery());
+        assertEquals(sqlNode.toString(), requests.get(1).getViewQuery().toString());
+        assertEquals(2L, cacheValue.getEntity().getMaterializedDeltaNum());
+    }
+
+    @Test
+    void shouldParseViewQueryAgainAfterFailedSync() {
+        // arrange
+        when(deltaServiceDao.getDeltaOk(DATAMART)).thenReturn(Future.succeededFuture(delta(1L)));
+        when(dataSourcePluginService.synchronize(eq(SourceType.ADG), any(), any()))
+                .thenReturn(Future.failedFuture("Failure"))
+                .thenAnswer(invocation -> Future.succeededFuture(((SynchronizeRequest) invocation.getArgument(2)).getDeltaToBe().getNum()));
+
+        // act
+        runTick(10);
+        runTick(10);
+
+        // assert
+        verify(dataSourcePluginService, times(2)).synchronize(eq(SourceType.ADG), any(), any());
+        verify(definitionService, times(2)).processingQuery(VIEW_QUERY);
+        assertEquals(1L, cacheValue.getEntity().getMaterializedDeltaNum());
+    }
+
+    private void runTick(int maxDeltaSpan) {
+        val properties = new MatViewSyncProperties();
+        properties.setMaxDeltaSpan(maxDeltaSpan);
+        val ticked = new AtomicBoolean();
+        when(vertx.setTimer(anyLong(), any())).thenAnswer(invocation -> {
+            if (ticked.compareAndSet(false, true)) {
+                Handler<Long> handler = invocation.getArgument(1);
+                handler.handle(1L);
+            }
+            return 1L;
+        });
+
+        new MaterializedViewSyncService(dataSourcePluginService, materializedViewCacheService, deltaServiceDao,
+                deltaInformationService, entityDao, definitionService, logicalSchemaProvider, vertx, properties, appConfiguration)
+                .startPeriodicalSync();
+    }
+
+    private static OkDelta delta(long deltaNum) {
+        return OkDelta.builder()
+                .deltaNum(deltaNum)
+                .cnFrom(deltaNum * CN_PER_DELTA)
+                .cnTo(deltaNum * CN_PER_DELTA + CN_PER_DELTA - 1)
+                .build();
+    }
+}
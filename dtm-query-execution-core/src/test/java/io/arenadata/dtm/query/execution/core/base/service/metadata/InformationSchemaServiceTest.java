@@ -27,6 +27,7 @@ import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao
 import io.arenadata.dtm.query.execution.core.base.service.hsql.HSQLClient;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.impl.InformationSchemaQueryFactory;
 import io.arenadata.dtm.query.execution.core.base.service.metadata.impl.InformationSchemaService;
+import io.arenadata.dtm.query.execution.core.base.utils.InformationSchemaUtils;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
@@ -36,6 +37,8 @@ import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
@@ -46,6 +49,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static io.arenadata.dtm.query.execution.core.utils.TestUtils.loadTextFromFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -92,6 +96,9 @@ class InformationSchemaServiceTest {
     @Mock
     private CacheService<EntityKey, MaterializedViewCacheValue> materializedViewCacheService;
 
+    @Captor
+    private ArgumentCaptor<List<String>> batchCaptor;
+
     private InformationSchemaService informationSchemaService;
 
     @BeforeEach
@@ -119,7 +126,7 @@ class InformationSchemaServiceTest {
                 .onComplete(promise);
 
         assertTrue(promise.future().succeeded());
-        verify(client, times(3)).executeBatch(anyList());
+        verify(client, times(1)).executeBatch(anyList());
         verify(datamartDao).getDatamarts();
         verify(informationSchemaQueryFactory).createInitEntitiesQuery();
         verify(client).getQueryResult(anyString());
@@ -148,7 +155,7 @@ class InformationSchemaServiceTest {
                 .onComplete(promise);
 
         assertTrue(promise.future().succeeded());
-        verify(client, times(3)).executeBatch(anyList());
+        verify(client, times(1)).executeBatch(anyList());
         verify(datamartDao).getDatamarts();
         verify(informationSchemaQueryFactory).createInitEntitiesQuery();
         verify(client).getQueryResult(anyString());
@@ -185,7 +192,9 @@ class InformationSchemaServiceTest {
                 .onComplete(promise);
 
         assertTrue(promise.future().succeeded());
-        verify(client, times(3)).executeBatch(anyList());
+        verify(client, times(3)).executeBatch(batchCaptor.capture());
+        val datamartBatch = batchCaptor.getAllValues().get(1);
+        assertEquals(String.format(InformationSchemaUtils.CREATE_SCHEMA, DATAMART), datamartBatch.get(0));
         verify(datamartDao).getDatamarts();
         verify(entityDao).getEntityNamesByDatamart(DATAMART);
         verify(entityDao, times(3)).getEntity(eq(DATAMART), anyString());
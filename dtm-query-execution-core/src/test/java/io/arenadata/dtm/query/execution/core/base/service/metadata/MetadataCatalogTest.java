@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service.metadata;
+
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.model.ddl.EntityField;
+import io.arenadata.dtm.query.execution.core.base.dto.metadata.DatamartEntity;
+import io.arenadata.dtm.query.execution.core.base.dto.metadata.DatamartInfo;
+import io.arenadata.dtm.query.execution.core.base.dto.metadata.EntityAttribute;
+import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DatamartDao;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.ServiceDbDao;
+import io.arenadata.dtm.query.execution.core.base.service.metadata.impl.MetadataCatalog;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetadataCatalogTest {
+    private static final String DATAMART = "test_datamart";
+    private static final String ENTITY = "test_table";
+
+    @Mock
+    private ServiceDbFacade serviceDbFacade;
+    @Mock
+    private ServiceDbDao serviceDbDao;
+    @Mock
+    private DatamartDao datamartDao;
+    @Mock
+    private EntityDao entityDao;
+    @Captor
+    private ArgumentCaptor<Watcher> watcherCaptor;
+
+    private MetadataCatalog metadataCatalog;
+
+    @BeforeEach
+    void setUp() {
+        when(serviceDbFacade.getServiceDbDao()).thenReturn(serviceDbDao);
+        when(serviceDbDao.getDatamartDao()).thenReturn(datamartDao);
+        when(serviceDbDao.getEntityDao()).thenReturn(entityDao);
+        metadataCatalog = new MetadataCatalog(serviceDbFacade);
+    }
+
+    @Test
+    void shouldReadDatamartsAgainWhenListChanged() {
+        // arrange
+        when(datamartDao.getDatamartMeta(any(Watcher.class)))
+                .thenReturn(Future.succeededFuture(Collections.singletonList(new DatamartInfo(DATAMART))))
+                .thenReturn(Future.succeededFuture(Collections.emptyList()));
+
+        // act
+        List<DatamartInfo> first = metadataCatalog.getDatamarts().result();
+        List<DatamartInfo> cached = metadataCatalog.getDatamarts().result();
+        verify(datamartDao).getDatamartMeta(watcherCaptor.capture());
+        fireEvent(Watcher.Event.EventType.NodeChildrenChanged);
+        List<DatamartInfo> changed = metadataCatalog.getDatamarts().result();
+
+        // assert
+        assertEquals(1, first.size());
+        assertEquals(first, cached);
+        assertTrue(changed.isEmpty());
+        verify(datamartDao, times(2)).getDatamartMeta(any(Watcher.class));
+    }
+
+    @Test
+    void shouldReadEntitiesAgainWhenListChanged() {
+        // arrange
+        when(entityDao.getEntitiesMeta(eq(DATAMART), any(Watcher.class)))
+                .thenReturn(Future.succeededFuture(Collections.singletonList(new DatamartEntity(null, ENTITY, DATAMART))))
+                .thenReturn(Future.succeededFuture(Collections.emptyList()));
+
+        // act
+        metadataCatalog.getEntities(DATAMART);
+        metadataCatalog.getEntities(DATAMART);
+        verify(entityDao).getEntitiesMeta(eq(DATAMART), watcherCaptor.capture());
+        fireEvent(Watcher.Event.EventType.NodeChildrenChanged);
+        List<DatamartEntity> changed = metadataCatalog.getEntities(DATAMART).result();
+
+        // assert
+        assertTrue(changed.isEmpty());
+        verify(entityDao, times(2)).getEntitiesMeta(eq(DATAMART), any(Watcher.class));
+    }
+
+    @Test
+    void shouldReadAttributesAgainWhenEntityChanged() {
+        // arrange
+        when(entityDao.getEntity(eq(DATAMART), eq(ENTITY), any(Watcher.class)))
+                .thenReturn(Future.succeededFuture(createEntity("id")))
+                .thenReturn(Future.succeededFuture(createEntity("id", "name")));
+
+        // act
+        List<EntityAttribute> first = metadataCatalog.getAttributes(DATAMART, ENTITY).result();
+        List<EntityAttribute> cached = metadataCatalog.getAttributes(DATAMART, ENTITY).result();
+        verify(entityDao).getEntity(eq(DATAMART), eq(ENTITY), watcherCaptor.capture());
+        fireEvent(Watcher.Event.EventType.NodeDataChanged);
+        List<EntityAttribute> changed = metadataCatalog.getAttributes(DATAMART, ENTITY).result();
+
+        // assert
+        assertEquals(1, first.size());
+        assertEquals(first, cached);
+        assertEquals(2, changed.size());
+        assertEquals(DATAMART, changed.get(1).getDatamartMnemonic());
+        assertEquals("name", changed.get(1).getMnemonic());
+    }
+
+    @Test
+    void shouldNotKeepValueWhenWatchFiredBeforeReadCompleted() {
+        // arrange
+        Promise<Entity> pendingRead = Promise.promise();
+        when(entityDao.getEntity(eq(DATAMART), eq(ENTITY), any(Watcher.class)))
+                .thenReturn(pendingRead.future())
+                .thenReturn(Future.succeededFuture(createEntity("id", "name")));
+
+        // act
+        Future<List<EntityAttribute>> first = metadataCatalog.getAttributes(DATAMART, ENTITY);
+        verify(entityDao).getEntity(eq(DATAMART), eq(ENTITY), watcherCaptor.capture());
+        fireEvent(Watcher.Event.EventType.NodeDataChanged);
+        pendingRead.complete(createEntity("id"));
+        List<EntityAttribute> next = metadataCatalog.getAttributes(DATAMART, ENTITY).result();
+
+        // assert
+        assertEquals(1, first.result().size());
+        assertEquals(2, next.size());
+    }
+
+    @Test
+    void shouldNotKeepFailedRead() {
+        // arrange
+        when(entityDao.getEntity(eq(DATAMART), eq(ENTITY), any(Watcher.class)))
+                .thenReturn(Future.failedFuture(new DtmException("Can't get entity")))
+                .thenReturn(Future.succeededFuture(createEntity("id")));
+
+        // act
+        Future<List<EntityAttribute>> failed = metadataCatalog.getAttributes(DATAMART, ENTITY);
+        Future<List<EntityAttribute>> next = metadataCatalog.getAttributes(DATAMART, ENTITY);
+
+        // assert
+        assertTrue(failed.failed());
+        assertEquals(1, next.result().size());
+    }
+
+    private void fireEvent(Watcher.Event.EventType eventType) {
+        watcherCaptor.getValue().process(new WatchedEvent(eventType, Watcher.Event.KeeperState.SyncConnected, "/path"));
+    }
+
+    private static Entity createEntity(String... columns) {
+        List<EntityField> fields = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            fields.add(EntityField.builder()
+                    .name(columns[i])
+                    .type(ColumnType.VARCHAR)
+                    .ordinalPosition(i)
+                    .build());
+        }
+        return Entity.builder()
+                .schema(DATAMART)
+                .name(ENTITY)
+                .fields(fields)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.base.service.metadata;
+
+import io.arenadata.dtm.common.model.ddl.Entity;
+import io.arenadata.dtm.common.reader.QueryRequest;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.common.request.DatamartRequest;
+import io.arenadata.dtm.query.execution.core.base.service.metadata.impl.MetadataExecutorImpl;
+import io.arenadata.dtm.query.execution.core.ddl.dto.DdlRequestContext;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.plugin.api.request.DdlRequest;
+import io.vertx.core.Future;
+import lombok.val;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetadataExecutorImplTest {
+
+    @Mock
+    private DataSourcePluginService dataSourcePluginService;
+    @Mock
+    private SqlNode sqlNode;
+
+    @Test
+    void shouldDropCreatedTablesWhenCreateFails() {
+        // arrange
+        val context = context(SqlKind.CREATE_TABLE);
+        when(dataSourcePluginService.ddl(eq(SourceType.ADB), any(), argThat(request -> request.getSqlKind() == SqlKind.CREATE_TABLE)))
+                .thenReturn(Future.succeededFuture());
+        when(dataSourcePluginService.ddl(eq(SourceType.ADG), any(), any()))
+                .thenReturn(Future.failedFuture("ADG failure"));
+        when(dataSourcePluginService.ddl(eq(SourceType.ADB), any(), argThat(request -> request.getSqlKind() == SqlKind.DROP_TABLE)))
+                .thenReturn(Future.succeededFuture());
+
+        // act
+        val result = new MetadataExecutorImpl(dataSourcePluginService).execute(context);
+
+        // assert
+        assertTrue(result.failed());
+        assertEquals("ADG failure", result.cause().getMessage());
+        verify(dataSourcePluginService).ddl(eq(SourceType.ADB), any(), argThat(request -> request.getSqlKind() == SqlKind.DROP_TABLE));
+        verify(dataSourcePluginService, never()).ddl(eq(SourceType.ADG), any(), argThat(request -> request.getSqlKind() == SqlKind.DROP_TABLE));
+    }
+
+    @Test
+    void shouldNotCompensateFailedDrop() {
+        // arrange
+        val context = context(SqlKind.DROP_TABLE);
+        when(dataSourcePluginService.ddl(eq(SourceType.ADB), any(), any())).thenReturn(Future.succeededFuture());
+        when(dataSourcePluginService.ddl(eq(SourceType.ADG), any(), any())).thenReturn(Future.failedFuture("ADG failure"));
+
+        // act
+        val result = new MetadataExecutorImpl(dataSourcePluginService).execute(context);
+
+        // assert
+        assertTrue(result.failed());
+        verify(dataSourcePluginService, times(2)).ddl(any(), any(), any(DdlRequest.class));
+    }
+
+    private DdlRequestContext context(SqlKind sqlKind) {
+        when(sqlNode.getKind()).thenReturn(sqlKind);
+        val queryRequest = new QueryRequest();
+        queryRequest.setRequestId(UUID.randomUUID());
+        val context = new DdlRequestContext(null, new DatamartRequest(queryRequest), sqlNode, null, null);
+        context.setDatamartName("datamart");
+        context.setEntity(Entity.builder()
+                .schema("datamart")
+                .name("tbl")
+                .destination(EnumSet.of(SourceType.ADB, SourceType.ADG))
+                .build());
+        return context;
+    }
+}
@@ -25,7 +25,9 @@ import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.request.DatamartRequest;
 import io.arenadata.dtm.query.calcite.core.extension.check.CheckType;
 import io.arenadata.dtm.query.calcite.core.extension.check.SqlCheckData;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckProperties;
 import io.arenadata.dtm.query.execution.core.base.exception.table.ColumnsNotExistsException;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DataCheckSumDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DatamartDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckContext;
@@ -37,17 +39,24 @@ import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaSer
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.plugin.service.impl.DataSourcePluginServiceImpl;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.anyLong;
@@ -65,9 +74,12 @@ class CheckDataExecutorTest {
     private final DeltaServiceDao deltaServiceDao = mock(DeltaServiceDao.class);
     private final EntityDao entityDao = mock(EntityDao.class);
     private final DatamartDao datamartDao = mock(DatamartDao.class);
+    private final DataCheckSumDao checkSumDao = mock(DataCheckSumDao.class);
     private final CheckQueryResultFactory queryResultFactory = mock(CheckQueryResultFactory.class);
     private final OkDelta okDelta = mock(OkDelta.class);
-    private final CheckDataExecutor checkDataExecutor = new CheckDataExecutor(dataSourcePluginService, deltaServiceDao, entityDao, queryResultFactory);
+    private final CheckProperties checkProperties = new CheckProperties();
+    private final CheckDataExecutor checkDataExecutor = new CheckDataExecutor(dataSourcePluginService, deltaServiceDao, entityDao,
+            checkSumDao, queryResultFactory, checkProperties);
     private Entity entity;
 
     @BeforeEach
@@ -76,6 +88,10 @@ class CheckDataExecutorTest {
         when(dataSourcePluginService.checkDataByHashInt32(any(), any(), any())).thenReturn(Future.succeededFuture(1L));
         when(dataSourcePluginService.checkDataByCount(any(), any(), any())).thenReturn(Future.succeededFuture(1L));
         when(datamartDao.getDatamart(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(new byte[10]));
+        when(checkSumDao.getCheckSums(eq(DATAMART_MNEMONIC), eq(ENTITY_NAME), anyString(), anyLong()))
+                .thenReturn(Future.succeededFuture(Collections.emptyMap()));
+        when(checkSumDao.saveCheckSums(eq(DATAMART_MNEMONIC), eq(ENTITY_NAME), anyString(), anyLong(), any()))
+                .thenReturn(Future.succeededFuture());
 
         when(okDelta.getCnFrom()).thenReturn(0L);
         when(okDelta.getCnTo()).thenReturn(1L);
@@ -200,4 +216,110 @@ class CheckDataExecutorTest {
                 });
 
     }
+
+    @Test
+    void testCheckByCountStoresMatchedCheckSums() {
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        CheckContext checkContext = createCheckContext(0L, null);
+        checkDataExecutor.execute(checkContext)
+                .onComplete(ar -> {
+                    assertTrue(ar.succeeded());
+                    Map<SourceType, Long> expected = new EnumMap<>(SourceType.class);
+                    SOURCE_TYPES.forEach(sourceType -> expected.put(sourceType, 1L));
+                    verify(checkSumDao).saveCheckSums(DATAMART_MNEMONIC, ENTITY_NAME, "count", 0L, expected);
+                });
+    }
+
+    @Test
+    void testCheckByCountUsesStoredCheckSums() {
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        Map<SourceType, Long> stored = new EnumMap<>(SourceType.class);
+        stored.put(SourceType.ADB, 1L);
+        stored.put(SourceType.ADG, 1L);
+        when(checkSumDao.getCheckSums(DATAMART_MNEMONIC, ENTITY_NAME, "count", 0L))
+                .thenReturn(Future.succeededFuture(stored));
+        CheckContext checkContext = createCheckContext(0L, null);
+        checkDataExecutor.execute(checkContext)
+                .onComplete(ar -> {
+                    assertTrue(ar.succeeded());
+                    verify(dataSourcePluginService, never()).checkDataByCount(eq(SourceType.ADB), any(), any());
+                    verify(dataSourcePluginService, never()).checkDataByCount(eq(SourceType.ADG), any(), any());
+                    verify(dataSourcePluginService).checkDataByCount(eq(SourceType.ADQM), any(), any());
+                });
+    }
+
+    @Test
+    void testCheckByHashMismatchNotStored() {
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        when(dataSourcePluginService.checkDataByHashInt32(eq(SourceType.ADQM), any(), any())).thenReturn(Future.succeededFuture(2L));
+        CheckContext checkContext = createCheckContext(0L, Collections.singleton(FIELD));
+        checkDataExecutor.execute(checkContext)
+                .onComplete(ar -> {
+                    assertTrue(ar.succeeded());
+                    verify(checkSumDao).getCheckSums(eq(DATAMART_MNEMONIC), eq(ENTITY_NAME), eq("hash_1_field"), anyLong());
+                    verify(checkSumDao, never()).saveCheckSums(anyString(), anyString(), anyString(), anyLong(), any());
+                });
+    }
+
+    @Test
+    void testCheckByHashUsesStoredCheckSumsOfColumnsInAnotherOrder() {
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        entity.setFields(Arrays.asList(
+                EntityField.builder().name("field_a").build(),
+                EntityField.builder().name("field_b").build()));
+        Map<SourceType, Long> stored = new EnumMap<>(SourceType.class);
+        stored.put(SourceType.ADB, 1L);
+        stored.put(SourceType.ADG, 1L);
+        when(checkSumDao.getCheckSums(DATAMART_MNEMONIC, ENTITY_NAME, "hash_1_field_a,field_b", 0L))
+                .thenReturn(Future.succeededFuture(stored));
+        CheckContext checkContext = createCheckContext(0L, new LinkedHashSet<>(Arrays.asList("field_b", "field_a")));
+        checkDataExecutor.execute(checkContext)
+                .onComplete(ar -> {
+                    assertTrue(ar.succeeded());
+                    verify(dataSourcePluginService, never()).checkDataByHashInt32(eq(SourceType.ADB), any(), any());
+                    verify(dataSourcePluginService, never()).checkDataByHashInt32(eq(SourceType.ADG), any(), any());
+                    verify(dataSourcePluginService).checkDataByHashInt32(eq(SourceType.ADQM), any(),
+                            argThat(request -> new ArrayList<>(request.getColumns()).equals(Arrays.asList("field_a", "field_b"))));
+                });
+    }
+
+    @Test
+    void testCheckByCountLimitsParallelQueriesPerPlugin() {
+        checkProperties.setDataMaxParallel(2);
+        CheckDataExecutor executor = new CheckDataExecutor(dataSourcePluginService, deltaServiceDao, entityDao,
+                checkSumDao, queryResultFactory, checkProperties);
+        when(okDelta.getDeltaNum()).thenReturn(4L);
+        when(deltaServiceDao.getDeltaOk(DATAMART_MNEMONIC)).thenReturn(Future.succeededFuture(okDelta));
+        List<Promise<Long>> adbQueries = new ArrayList<>();
+        when(dataSourcePluginService.checkDataByCount(eq(SourceType.ADB), any(), any())).thenAnswer(invocation -> {
+            Promise<Long> promise = Promise.promise();
+            adbQueries.add(promise);
+            return promise.future();
+        });
+        CheckContext checkContext = createCheckContext(0L, null);
+
+        Future<QueryResult> result = executor.execute(checkContext);
+
+        assertEquals(2, adbQueries.size());
+        adbQueries.get(0).complete(1L);
+        assertEquals(3, adbQueries.size());
+        for (int i = 1; i < 5; i++) {
+            adbQueries.get(i).complete(1L);
+        }
+        assertEquals(5, adbQueries.size());
+        assertTrue(result.succeeded());
+        assertFalse(adbQueries.stream().anyMatch(promise -> !promise.future().isComplete()));
+    }
+
+    private CheckContext createCheckContext(Long deltaNum, Set<String> columns) {
+        QueryRequest queryRequest = new QueryRequest();
+        queryRequest.setDatamartMnemonic(DATAMART_MNEMONIC);
+        SqlCheckData sqlCheckData = mock(SqlCheckData.class);
+        when(sqlCheckData.getColumns()).thenReturn(columns);
+        when(sqlCheckData.getNormalization()).thenReturn(1L);
+        when(sqlCheckData.getDeltaNum()).thenReturn(deltaNum);
+        when(sqlCheckData.getTable()).thenReturn(entity.getName());
+        return new CheckContext(new RequestMetrics(), "env",
+                new DatamartRequest(queryRequest), CheckType.DATA, sqlCheckData);
+    }
 }
@@ -24,6 +24,8 @@ import io.arenadata.dtm.common.reader.QueryRequest;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.request.DatamartRequest;
 import io.arenadata.dtm.query.calcite.core.extension.check.CheckType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.CheckProperties;
+import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.DataCheckSumDao;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckContext;
 import io.arenadata.dtm.query.execution.core.check.dto.CheckSumRequestContext;
@@ -43,6 +45,9 @@ import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class CheckSumTableServiceTest {
@@ -51,13 +56,18 @@ class CheckSumTableServiceTest {
             .collect(Collectors.toSet());
     private final DataSourcePluginService dataSourcePluginService = mock(DataSourcePluginServiceImpl.class);
     private final EntityDao entityDao = mock(EntityDao.class);
+    private final DataCheckSumDao checkSumDao = mock(DataCheckSumDao.class);
     private CheckSumTableService checkSumTableService;
     private final static String DATAMART_MNEMONIC = "test";
     private final QueryRequest queryRequest = QueryRequest.builder().datamartMnemonic(DATAMART_MNEMONIC).build();
 
     @BeforeEach
     void setUp() {
-        checkSumTableService = new CheckSumTableService(dataSourcePluginService, entityDao);
+        checkSumTableService = new CheckSumTableService(dataSourcePluginService, entityDao, checkSumDao, new CheckProperties());
+        when(checkSumDao.getCheckSums(eq(DATAMART_MNEMONIC), anyString(), anyString(), anyLong()))
+                .thenReturn(Future.succeededFuture(Collections.emptyMap()));
+        when(checkSumDao.saveCheckSums(eq(DATAMART_MNEMONIC), anyString(), anyString(), anyLong(), any()))
+                .thenReturn(Future.succeededFuture());
     }
 
     @Test
@@ -540,4 +550,118 @@ class CheckSumTableServiceTest {
                 .onComplete(promise);
         assertTrue(promise.future().failed());
     }
+
+    @Test
+    void calcHashSumAllTablesOnlyForChangedTables() {
+        Promise<Long> promise = Promise.promise();
+        long hashInt32Value = 12345L;
+        Entity changedEntity = createEntity("test_table");
+        CheckSumRequestContext context = createCommittedDeltaContext(null);
+        context.setChangedEntities(Collections.singleton(changedEntity.getName()));
+
+        when(entityDao.getEntityNamesByDatamart(DATAMART_MNEMONIC))
+                .thenReturn(Future.succeededFuture(Arrays.asList(changedEntity.getName(), "test_table_2")));
+        when(entityDao.getEntity(DATAMART_MNEMONIC, changedEntity.getName()))
+                .thenReturn(Future.succeededFuture(changedEntity));
+        when(dataSourcePluginService.checkDataByHashInt32(any(), any(), any()))
+                .thenReturn(Future.succeededFuture(hashInt32Value));
+
+        checkSumTableService.calcCheckSumForAllTables(context)
+                .onComplete(promise);
+        assertTrue(promise.future().succeeded());
+        assertEquals(hashInt32Value, promise.future().result());
+        verify(entityDao, never()).getEntity(DATAMART_MNEMONIC, "test_table_2");
+        verify(dataSourcePluginService, times(SOURCE_TYPES.size())).checkDataByHashInt32(any(), any(), any());
+        verify(checkSumDao).saveCheckSums(eq(DATAMART_MNEMONIC), eq(changedEntity.getName()), eq("sum_1"), eq(2L), any());
+    }
+
+    @Test
+    void calcHashSumAllTablesForDeltaWithoutChangedEntities() {
+        Promise<Long> promise = Promise.promise();
+        long hashInt32Value = 12345L;
+        Entity entity = createEntity("test_table");
+        Entity entity2 = createEntity("test_table_2");
+        CheckSumRequestContext context = createCommittedDeltaContext(null);
+        context.setChangedEntities(null);
+
+        when(entityDao.getEntityNamesByDatamart(DATAMART_MNEMONIC))
+                .thenReturn(Future.succeededFuture(Arrays.asList(entity.getName(), entity2.getName())));
+        when(entityDao.getEntity(DATAMART_MNEMONIC, entity.getName()))
+                .thenReturn(Future.succeededFuture(entity));
+        when(entityDao.getEntity(DATAMART_MNEMONIC, entity2.getName()))
+                .thenReturn(Future.succeededFuture(entity2));
+        when(dataSourcePluginService.checkDataByHashInt32(any(), any(), any()))
+                .thenReturn(Future.succeededFuture(hashInt32Value));
+
+        checkSumTableService.calcCheckSumForAllTables(context)
+                .onComplete(promise);
+        assertTrue(promise.future().succeeded());
+        verify(dataSourcePluginService, times(2 * SOURCE_TYPES.size())).checkDataByHashInt32(any(), any(), any());
+    }
+
+    @Test
+    void calcHashSumTableNotChangedInDelta() {
+        Promise<Long> promise = Promise.promise();
+        CheckSumRequestContext context = createCommittedDeltaContext(createEntity("test_table"));
+        context.setChangedEntities(Collections.emptySet());
+
+        checkSumTableService.calcCheckSumTable(context)
+                .onComplete(promise);
+        assertTrue(promise.future().succeeded());
+        assertEquals(0L, promise.future().result());
+        verifyNoInteractions(dataSourcePluginService, checkSumDao);
+    }
+
+    @Test
+    void calcHashSumTableFromStoredCheckSums() {
+        Promise<Long> promise = Promise.promise();
+        long storedValue = 54321L;
+        Entity entity = createEntity("test_table");
+        CheckSumRequestContext context = createCommittedDeltaContext(entity);
+        context.setColumns(new LinkedHashSet<>(Arrays.asList("f2", "f1")));
+        Map<SourceType, Long> stored = new EnumMap<>(SourceType.class);
+        SOURCE_TYPES.forEach(sourceType -> stored.put(sourceType, storedValue));
+        when(checkSumDao.getCheckSums(DATAMART_MNEMONIC, entity.getName(), "sum_1_f2,f1", 2L))
+                .thenReturn(Future.succeededFuture(stored));
+
+        checkSumTableService.calcCheckSumTable(context)
+                .onComplete(promise);
+        assertTrue(promise.future().succeeded());
+        assertEquals(storedValue, promise.future().result());
+        verifyNoInteractions(dataSourcePluginService);
+        verify(checkSumDao, never()).saveCheckSums(any(), any(), any(), anyLong(), any());
+    }
+
+    private CheckSumRequestContext createCommittedDeltaContext(Entity entity) {
+        return CheckSumRequestContext.builder()
+                .checkContext(CheckContext.builder()
+                        .metrics(new RequestMetrics())
+                        .envName("env")
+                        .request(new DatamartRequest(queryRequest))
+                        .checkType(CheckType.SUM)
+                        .build())
+                .datamart(DATAMART_MNEMONIC)
+                .deltaNum(2L)
+                .normalization(1L)
+                .cnFrom(0)
+                .cnTo(3)
+                .deltaCommitted(true)
+                .entity(entity)
+                .build();
+    }
+
+    private Entity createEntity(String name) {
+        return Entity.builder()
+                .name(name)
+                .entityType(EntityType.TABLE)
+                .schema(DATAMART_MNEMONIC)
+                .destination(SOURCE_TYPES)
+                .fields(Arrays.asList(EntityField.builder()
+                                .name("f1")
+                                .build(),
+                        EntityField.builder()
+                                .name("f2")
+                                .build()))
+                .build();
+    }
 }
@@ -41,9 +41,11 @@ import io.arenadata.dtm.query.execution.core.delta.dto.OkDelta;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.utils.TestUtils;
+import io.arenadata.dtm.query.execution.plugin.api.request.DdlRequest;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.ext.sql.ResultSet;
+import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.parser.SqlParseException;
 import org.apache.calcite.sql.parser.SqlParser;
@@ -59,8 +61,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -102,6 +106,8 @@ class DropMaterializedViewExecutorTest {
     @Mock
     private EntityDao entityDao;
     @Mock
+    private DataCheckSumDao dataCheckSumDao;
+    @Mock
     private DeltaServiceDao deltaServiceDao;
     @Mock
     private EvictQueryTemplateCacheService evictQueryTemplateCacheService;
@@ -110,6 +116,8 @@ class DropMaterializedViewExecutorTest {
 
     @Captor
     private ArgumentCaptor<DdlRequestContext> contextArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<DdlRequest> ddlRequestArgumentCaptor;
 
     private QueryResultDdlExecutor dropMaterializedViewExecutor;
     private DdlRequestContext context;
@@ -121,6 +129,8 @@ class DropMaterializedViewExecutorTest {
         lenient().when(serviceDbDao.getEntityDao()).thenReturn(entityDao);
         lenient().when(serviceDbFacade.getDeltaServiceDao()).thenReturn(deltaServiceDao);
         lenient().when(serviceDbDao.getChangelogDao()).thenReturn(changelogDao);
+        lenient().when(serviceDbDao.getDataCheckSumDao()).thenReturn(dataCheckSumDao);
+        lenient().when(dataCheckSumDao.deleteCheckSums(anyString(), anyString())).thenReturn(Future.succeededFuture());
         dropMaterializedViewExecutor = new DropMaterializedViewExecutor(metadataExecutor,
                 serviceDbFacade,
                 TestUtils.SQL_DIALECT,
@@ -232,6 +242,81 @@ class DropMaterializedViewExecutorTest {
         assertSame(SourceType.ADB, value.getSourceType());
     }
 
+    @Test
+    void executeReleasesMaterializedDataSource() throws SqlParseException {
+        // arrange
+        prepareContext("drop materialized view accounts datasource_type = 'ADG'");
+        Entity entity = context.getEntity();
+        Entity cachedEntity = entity.toBuilder()
+                .destination(EnumSet.of(SourceType.ADG, SourceType.ADQM))
+                .materializedDataSource(SourceType.ADB)
+                .build();
+        entity.setDestination(cachedEntity.getDestination());
+        Promise<QueryResult> promise = Promise.promise();
+
+        when(pluginService.getSourceTypes()).thenReturn(EnumSet.of(SourceType.ADB, SourceType.ADG, SourceType.ADQM));
+        when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
+        when(pluginService.ddl(eq(SourceType.ADB), any(), any())).thenReturn(Future.succeededFuture());
+        when(entityDao.getEntity(SCHEMA, entity.getName()))
+                .thenReturn(Future.succeededFuture(entity));
+        when(hsqlClient.getQueryResult(any()))
+                .thenReturn(Future.succeededFuture(new ResultSet().setResults(Collections.EMPTY_LIST)));
+        when(deltaServiceDao.getDeltaOk(SCHEMA)).thenReturn(Future.succeededFuture(deltaOk));
+        when(changelogDao.writeNewRecord(anyString(), anyString(), anyString(), any())).thenReturn(Future.succeededFuture());
+        when(metadataExecutor.execute(any()))
+                .thenReturn(Future.succeededFuture());
+        when(entityDao.setEntityState(any(), any(), anyString(), eq(SetEntityState.UPDATE)))
+                .thenReturn(Future.succeededFuture());
+        when(materializedViewCacheService.get(any())).thenReturn(new MaterializedViewCacheValue(cachedEntity));
+
+        // act
+        dropMaterializedViewExecutor.execute(context, context.getEntity().getName())
+                .onComplete(promise);
+
+        // assert
+        assertTrue(promise.future().succeeded());
+        verify(pluginService).ddl(eq(SourceType.ADB), any(), ddlRequestArgumentCaptor.capture());
+        DdlRequest request = ddlRequestArgumentCaptor.getValue();
+        assertEquals(SqlKind.DROP_MATERIALIZED_VIEW, request.getSqlKind());
+        assertEquals(SCHEMA, request.getDatamartMnemonic());
+        assertEquals(Collections.singleton(SourceType.ADG), request.getEntity().getDestination());
+    }
+
+    @Test
+    void executeSuccessWhenMaterializedDataSourceReleaseFailed() throws SqlParseException {
+        // arrange
+        prepareContext("drop materialized view accounts");
+        Entity entity = context.getEntity();
+        Entity cachedEntity = entity.toBuilder()
+                .materializedDataSource(SourceType.ADB)
+                .build();
+        Promise<QueryResult> promise = Promise.promise();
+
+        when(pluginService.getSourceTypes()).thenReturn(Collections.singleton(SourceType.ADB));
+        when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
+        when(pluginService.ddl(eq(SourceType.ADB), any(), any())).thenReturn(Future.failedFuture("release error"));
+        when(entityDao.getEntity(SCHEMA, entity.getName()))
+                .thenReturn(Future.succeededFuture(entity));
+        when(hsqlClient.getQueryResult(any()))
+                .thenReturn(Future.succeededFuture(new ResultSet().setResults(Collections.EMPTY_LIST)));
+        when(deltaServiceDao.getDeltaOk(SCHEMA)).thenReturn(Future.succeededFuture(deltaOk));
+        when(changelogDao.writeNewRecord(anyString(), anyString(), anyString(), any())).thenReturn(Future.succeededFuture());
+        when(metadataExecutor.execute(any()))
+                .thenReturn(Future.succeededFuture());
+        when(entityDao.setEntityState(any(), any(), anyString(), eq(SetEntityState.DELETE)))
+                .thenReturn(Future.succeededFuture());
+        when(materializedViewCacheService.get(any())).thenReturn(new MaterializedViewCacheValue(cachedEntity));
+
+        // act
+        dropMaterializedViewExecutor.execute(context, context.getEntity().getName())
+                .onComplete(promise);
+
+        // assert
+        assertTrue(promise.future().succeeded());
+        verify(pluginService).ddl(eq(SourceType.ADB), any(), ddlRequestArgumentCaptor.capture());
+        assertEquals(Collections.singleton(SourceType.ADB), ddlRequestArgumentCaptor.getValue().getEntity().getDestination());
+    }
+
     private void prepareContext(String s) throws SqlParseException {
         Planner planner = DtmCalciteFramework.getPlanner(frameworkConfig);
         final QueryRequest queryRequest = new QueryRequest();
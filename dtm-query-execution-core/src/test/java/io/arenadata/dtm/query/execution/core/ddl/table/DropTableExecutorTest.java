@@ -99,6 +99,8 @@ class DropTableExecutorTest {
     @Mock
     private EntityDao entityDao;
     @Mock
+    private DataCheckSumDao dataCheckSumDao;
+    @Mock
     private DeltaServiceDao deltaServiceDao;
     @Mock
     private EvictQueryTemplateCacheService evictQueryTemplateCacheService;
@@ -120,6 +122,8 @@ class DropTableExecutorTest {
         lenient().when(serviceDbDao.getEntityDao()).thenReturn(entityDao);
         lenient().when(serviceDbFacade.getDeltaServiceDao()).thenReturn(deltaServiceDao);
         lenient().when(serviceDbDao.getChangelogDao()).thenReturn(changelogDao);
+        lenient().when(serviceDbDao.getDataCheckSumDao()).thenReturn(dataCheckSumDao);
+        lenient().when(dataCheckSumDao.deleteCheckSums(anyString(), anyString())).thenReturn(Future.succeededFuture());
         dropTableDdlExecutor = new DropTableExecutor(metadataExecutor,
                 serviceDbFacade,
                 TestUtils.SQL_DIALECT,
@@ -297,6 +301,28 @@ class DropTableExecutorTest {
         assertEquals("changelog write new record error", promise.future().cause().getMessage());
     }
 
+    @Test
+    void executeWithDeleteCheckSumsError() throws SqlParseException {
+        // arrange
+        prepareContext("drop table shares.accounts");
+        Promise<QueryResult> promise = Promise.promise();
+        Entity entity = context.getEntity();
+        when(entityDao.getEntity(SCHEMA, entity.getName()))
+                .thenReturn(Future.succeededFuture(context.getEntity()));
+        when(hsqlClient.getQueryResult(any()))
+                .thenReturn(Future.succeededFuture(new ResultSet().setResults(Collections.EMPTY_LIST)));
+        when(dataCheckSumDao.deleteCheckSums(anyString(), anyString()))
+                .thenReturn(Future.failedFuture("delete checksums error"));
+
+        // act
+        dropTableDdlExecutor.execute(context, entity.getName())
+                .onComplete(promise);
+
+        // assert
+        assertEquals("delete checksums error", promise.future().cause().getMessage());
+        verify(changelogDao, never()).writeNewRecord(anyString(), anyString(), anyString(), any());
+    }
+
     @Test
     void executeWithSetEntityStateError() throws SqlParseException {
         // arrange
@@ -15,6 +15,7 @@
  */
 package io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.impl;
 
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.arenadata.dtm.cache.configuration.CacheProperties;
 import io.arenadata.dtm.cache.factory.CaffeineCacheManagerFactory;
 import io.arenadata.dtm.cache.factory.CaffeineCacheServiceFactory;
@@ -34,7 +35,10 @@ import io.arenadata.dtm.query.execution.core.delta.exception.DeltaIsNotCommitted
 import io.arenadata.dtm.query.execution.core.delta.exception.DeltaNotFinishedException;
 import io.arenadata.dtm.query.execution.core.delta.exception.TableBlockedException;
 import io.arenadata.dtm.query.execution.core.delta.repository.executor.*;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.junit5.VertxTestContext;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -47,6 +51,8 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static io.arenadata.dtm.query.execution.core.base.configuration.CacheConfiguration.HOT_DELTA_CACHE;
 import static io.arenadata.dtm.query.execution.core.base.configuration.CacheConfiguration.OK_DELTA_CACHE;
@@ -60,10 +66,12 @@ class DeltaServiceDaoImplTest {
     private static final String BAD_DTM = "bad_dtm";
     private TestingServer testingServer;
     private DeltaServiceDaoImpl dao;
+    private ZookeeperExecutor executor;
 
     @BeforeEach
     void before() throws Exception {
         testingServer = new TestingServer(55431, true);
+        DatabindCodec.mapper().registerModule(new JavaTimeModule());
         CaffeineCacheManagerFactory caffeineCacheManagerFactory = new CaffeineCacheManagerFactory();
         CacheProperties cacheProperties = new CacheProperties();
         cacheProperties.setInitialCapacity(100);
@@ -88,7 +96,7 @@ class DeltaServiceDaoImplTest {
         properties.setConnectionTimeoutMs(10_000);
         properties.setSessionTimeoutMs(30_000);
         ZookeeperConnectionProvider manager = new ZookeeperConnectionProviderImpl(properties, ENV_NAME);
-        ZookeeperExecutor executor = new ZookeeperExecutorImpl(manager, Vertx.vertx());
+        executor = new ZookeeperExecutorImpl(manager, Vertx.vertx());
         DatamartDao datamartDao = new DatamartDao(executor, ENV_NAME);
         dao.addExecutor(new DeleteDeltaHotExecutor(executor, ENV_NAME));
         dao.addExecutor(new DeleteWriteOperationExecutor(executor, ENV_NAME));
@@ -119,6 +127,9 @@ class DeltaServiceDaoImplTest {
                 .deltaNum(1)
                 .cnFrom(5)
                 .cnTo(15)
+                .changedEntities(IntStream.rangeClosed(0, 10)
+                        .mapToObj(i -> "tbl" + i)
+                        .collect(Collectors.toCollection(TreeSet::new)))
                 .build();
         OkDelta[] actualDeltas = new OkDelta[2];
         dao.writeNewDeltaHot(DATAMART)
@@ -263,6 +274,53 @@ class DeltaServiceDaoImplTest {
         assertTrue(testContext.completed());
     }
 
+    @Test
+    void writeDeltaHotSuccessStoresPreviousOkDelta() throws InterruptedException {
+        val testContext = new VertxTestContext();
+        dao.writeNewDeltaHot(DATAMART)
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART))
+                .compose(r -> dao.writeNewDeltaHot(DATAMART))
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART, LocalDateTime.now(CoreConstants.CORE_ZONE_ID).plusMinutes(1)))
+                .compose(r -> dao.writeNewDeltaHot(DATAMART))
+                .compose(r -> dao.getDeltaOk(DATAMART))
+                // node left by a commit that failed halfway
+                .compose(okDelta -> executor.createPersistentPath(String.format("/%s/%s/delta/num/1", ENV_NAME, DATAMART),
+                        Json.encode(okDelta).getBytes()))
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART, LocalDateTime.now(CoreConstants.CORE_ZONE_ID).plusMinutes(2)))
+                .compose(r -> CompositeFuture.all(dao.getDeltaByNum(DATAMART, 0L), dao.getDeltaByNum(DATAMART, 1L),
+                        dao.getDeltaByNum(DATAMART, 2L)))
+                .onSuccess(result -> testContext.verify(() -> {
+                    assertEquals(0L, ((OkDelta) result.resultAt(0)).getDeltaNum());
+                    assertEquals(1L, ((OkDelta) result.resultAt(1)).getDeltaNum());
+                    assertEquals(2L, ((OkDelta) result.resultAt(2)).getDeltaNum());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+        assertThat(testContext.awaitCompletion(120, TimeUnit.SECONDS)).isTrue();
+        assertTrue(testContext.completed());
+    }
+
+    @Test
+    void getDeltaByNumWithoutChangedEntities() throws InterruptedException {
+        val testContext = new VertxTestContext();
+        dao.writeNewDeltaHot(DATAMART)
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART))
+                .compose(r -> dao.writeNewDeltaHot(DATAMART))
+                .compose(r -> dao.writeDeltaHotSuccess(DATAMART, LocalDateTime.now(CoreConstants.CORE_ZONE_ID).plusMinutes(1)))
+                // delta committed before changed entities were tracked
+                .compose(r -> executor.setData(String.format("/%s/%s/delta/num/0", ENV_NAME, DATAMART),
+                        "{\"deltaNum\":0,\"cnFrom\":0,\"cnTo\":0}".getBytes(), -1))
+                .compose(r -> dao.getDeltaByNum(DATAMART, 0L))
+                .onSuccess(okDelta -> testContext.verify(() -> {
+                    assertEquals(0L, okDelta.getDeltaNum());
+                    assertNull(okDelta.getChangedEntities());
+                    testContext.completeNow();
+                }))
+                .onFailure(testContext::failNow);
+        assertThat(testContext.awaitCompletion(120, TimeUnit.SECONDS)).isTrue();
+        assertTrue(testContext.completed());
+    }
+
     @Test
     void writeDeltaHotSuccessNotStarted() throws InterruptedException {
         val testContext = new VertxTestContext();
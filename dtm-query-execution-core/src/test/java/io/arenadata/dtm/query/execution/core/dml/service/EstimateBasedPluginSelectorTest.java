@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service;
+
+import io.arenadata.dtm.cache.service.CacheService;
+import io.arenadata.dtm.common.cache.QueryTemplateKey;
+import io.arenadata.dtm.common.reader.QueryResult;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.dml.dto.EstimatedPlugin;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.EstimateRoutingProperties;
+import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
+import io.arenadata.dtm.query.execution.core.utils.TestUtils;
+import io.arenadata.dtm.query.execution.plugin.api.dml.LlrEstimateUtils;
+import io.arenadata.dtm.query.execution.plugin.api.request.LlrRequest;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.val;
+import org.apache.calcite.sql.SqlNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstimateBasedPluginSelectorTest {
+    private static final Set<SourceType> ACCEPTABLE = EnumSet.of(SourceType.ADB, SourceType.ADP, SourceType.ADQM);
+    private static final QueryTemplateKey TEMPLATE_KEY = QueryTemplateKey.builder()
+            .sourceQueryTemplate("SELECT * FROM dm.tbl WHERE id = ?")
+            .build();
+    private static final LlrRequest LLR_REQUEST = LlrRequest.builder()
+            .requestId(UUID.randomUUID())
+            .build();
+
+    @Mock
+    private DataSourcePluginService dataSourcePluginService;
+    @Mock
+    private CacheService<QueryTemplateKey, EstimatedPlugin> cacheService;
+    @Mock
+    private Vertx vertx;
+
+    private final EstimateRoutingProperties properties = new EstimateRoutingProperties();
+    private EstimateBasedPluginSelector selector;
+
+    @BeforeEach
+    void setUp() {
+        selector = new EstimateBasedPluginSelector(dataSourcePluginService, cacheService, properties, vertx);
+        lenient().when(vertx.setTimer(anyLong(), any())).thenReturn(1L);
+    }
+
+    @Test
+    void shouldSelectCheapestPlugin() {
+        // arrange
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1000.0)));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADP, 10.0)));
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADB, LLR_REQUEST);
+
+        // assert
+        assertEquals(SourceType.ADP, selected.result());
+        verify(cacheService).put(eq(TEMPLATE_KEY), argThat(value -> value.getPlugin() == SourceType.ADP));
+    }
+
+    @Test
+    void shouldApplyCostFactors() {
+        // arrange
+        properties.getCostFactors().put(SourceType.ADP, 200.0);
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1000.0)));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADP, 10.0)));
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADB, LLR_REQUEST);
+
+        // assert
+        assertEquals(SourceType.ADB, selected.result());
+    }
+
+    @Test
+    void shouldNotEstimatePluginsWithoutPlanCost() {
+        // arrange
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1000.0)));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADP, 900.0)));
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, EnumSet.allOf(SourceType.class), SourceType.ADB, LLR_REQUEST);
+
+        // assert
+        assertEquals(SourceType.ADP, selected.result());
+        verify(dataSourcePluginService, never()).llrEstimate(eq(SourceType.ADQM), any(), any());
+        verify(dataSourcePluginService, never()).llrEstimate(eq(SourceType.ADG), any(), any());
+    }
+
+    @Test
+    void shouldEstimateEachPluginOnOwnQueryCopy() {
+        // arrange
+        SqlNode query = TestUtils.DEFINITION_SERVICE.processingQuery("SELECT * FROM dm.tbl WHERE id = 1");
+        LlrRequest request = LlrRequest.builder()
+                .requestId(UUID.randomUUID())
+                .originalQuery(query)
+                .withoutViewsQuery(query)
+                .build();
+        ArgumentCaptor<LlrRequest> adbRequest = ArgumentCaptor.forClass(LlrRequest.class);
+        ArgumentCaptor<LlrRequest> adpRequest = ArgumentCaptor.forClass(LlrRequest.class);
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), adbRequest.capture()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1000.0)));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), adpRequest.capture()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADP, 10.0)));
+
+        // act
+        selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADB, request);
+
+        // assert
+        assertNotSame(query, adbRequest.getValue().getWithoutViewsQuery());
+        assertNotSame(query, adpRequest.getValue().getWithoutViewsQuery());
+        assertNotSame(adbRequest.getValue().getOriginalQuery(), adpRequest.getValue().getOriginalQuery());
+        assertEquals(query.toString(), adbRequest.getValue().getWithoutViewsQuery().toString());
+        assertEquals(request.getRequestId(), adpRequest.getValue().getRequestId());
+    }
+
+    @Test
+    void shouldKeepCategoryPluginWithoutEstimate() {
+        // arrange
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1000.0)));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADP, 10.0)));
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADQM, LLR_REQUEST);
+
+        // assert
+        assertEquals(SourceType.ADQM, selected.result());
+    }
+
+    @Test
+    void shouldIgnoreFailedAndLateEstimates() {
+        // arrange
+        when(vertx.setTimer(anyLong(), any())).thenAnswer(invocation -> {
+            Handler<Long> handler = invocation.getArgument(1);
+            handler.handle(1L);
+            return 1L;
+        });
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1000.0)));
+        Promise<QueryResult> adpEstimate = Promise.promise();
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), any()))
+                .thenReturn(adpEstimate.future());
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADB, LLR_REQUEST);
+        adpEstimate.complete(estimateResult(SourceType.ADP, 10.0));
+
+        // assert
+        assertEquals(SourceType.ADB, selected.result());
+        verify(cacheService).put(eq(TEMPLATE_KEY), argThat(value -> value.getPlugin() == SourceType.ADB));
+    }
+
+    @Test
+    void shouldUseCachedPlugin() {
+        // arrange
+        when(cacheService.get(TEMPLATE_KEY)).thenReturn(new EstimatedPlugin(SourceType.ADP, System.currentTimeMillis()));
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADB, LLR_REQUEST);
+
+        // assert
+        assertEquals(SourceType.ADP, selected.result());
+        verify(dataSourcePluginService, never()).llrEstimate(any(), any(), any());
+    }
+
+    @Test
+    void shouldEstimateAgainWhenCachedPluginExpired() {
+        // arrange
+        when(cacheService.get(TEMPLATE_KEY)).thenReturn(new EstimatedPlugin(SourceType.ADP, 0L));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADB), any(), any()))
+                .thenReturn(Future.succeededFuture(estimateResult(SourceType.ADB, 1.0)));
+        when(dataSourcePluginService.llrEstimate(eq(SourceType.ADP), any(), any()))
+                .thenReturn(Future.failedFuture("Failure"));
+
+        // act
+        val selected = selector.select(TEMPLATE_KEY, ACCEPTABLE, SourceType.ADB, LLR_REQUEST);
+
+        // assert
+        assertEquals(SourceType.ADB, selected.result());
+    }
+
+    private static QueryResult estimateResult(SourceType sourceType, Double totalCost) {
+        String plan = totalCost == null ? null : "[{\"Plan\": {\"Node Type\": \"Seq Scan\", \"Total Cost\": " + totalCost + "}}]";
+        return QueryResult.builder()
+                .result(Collections.singletonList(Collections.singletonMap("estimate",
+                        LlrEstimateUtils.prepareResultJson(sourceType, "SELECT 1", plan))))
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.dml.service;
+
+import io.arenadata.dtm.common.dml.SelectCategory;
+import io.arenadata.dtm.common.dml.ShardingCategory;
+import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.model.SqlProcessingType;
+import io.arenadata.dtm.common.reader.SourceType;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.AdaptivePluginSelectProperties;
+import io.arenadata.dtm.query.execution.core.plugin.configuration.properties.PluginSelectCategoryProperties;
+import io.arenadata.dtm.query.execution.core.plugin.service.PluginLatencyTracker;
+import io.arenadata.dtm.query.execution.plugin.api.exception.DataSourceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SuitablePluginSelectorTest {
+    private static final Set<SourceType> ACCEPTABLE = EnumSet.of(SourceType.ADB, SourceType.ADG);
+
+    private final AdaptivePluginSelectProperties adaptiveProperties = new AdaptivePluginSelectProperties();
+    private PluginLatencyTracker tracker;
+    private SuitablePluginSelector selector;
+
+    @BeforeEach
+    void setUp() {
+        PluginSelectCategoryProperties categoryProperties = new PluginSelectCategoryProperties();
+        categoryProperties.setMapping(Collections.singletonMap(SelectCategory.RELATIONAL,
+                Arrays.asList(SourceType.ADB, SourceType.ADQM, SourceType.ADG)));
+        adaptiveProperties.setEnabled(true);
+        adaptiveProperties.setMinSamples(5);
+        adaptiveProperties.setProbeIntervalMs(Long.MAX_VALUE);
+        tracker = new PluginLatencyTracker(adaptiveProperties);
+        selector = new SuitablePluginSelector(categoryProperties, adaptiveProperties, tracker);
+    }
+
+    @Test
+    void shouldSelectByPriorityWithoutStatistics() {
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldSelectByPriorityWhenPluginsAreHealthy() {
+        // arrange
+        record(SourceType.ADB, 100, true, 10);
+        record(SourceType.ADG, 5, true, 10);
+
+        // act & assert
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldSkipPluginWithHighErrorRate() {
+        // arrange
+        record(SourceType.ADB, 100, true, 10);
+        record(SourceType.ADB, 100, false, 10);
+
+        // act & assert
+        assertEquals(SourceType.ADG, select());
+    }
+
+    @Test
+    void shouldSkipPluginWithDataSourceFailures() {
+        // arrange
+        record(SourceType.ADB, 100, true, 10);
+        for (int i = 0; i < 10; i++) {
+            tracker.record(SourceType.ADB, SqlProcessingType.LLR, 100,
+                    new DataSourceException("Connection failed", new ConnectException("Connection refused")));
+        }
+
+        // act & assert
+        assertEquals(SourceType.ADG, select());
+    }
+
+    @Test
+    void shouldNotCountQueryErrorsAsPluginFailures() {
+        // arrange
+        record(SourceType.ADB, 100, true, 10);
+        for (int i = 0; i < 10; i++) {
+            tracker.record(SourceType.ADB, SqlProcessingType.LLR, 100, new DataSourceException("syntax error at or near \"SELEC\""));
+        }
+
+        // act & assert
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldSkipPluginWithGrownLatency() {
+        // arrange
+        record(SourceType.ADB, 100, true, 20);
+        record(SourceType.ADB, 2000, true, 10);
+
+        // act & assert
+        assertEquals(SourceType.ADG, select());
+    }
+
+    @Test
+    void shouldNotTrackDegradationBeforeMinSamples() {
+        // arrange
+        record(SourceType.ADB, 100, false, 4);
+
+        // act & assert
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldProbeDegradedPlugin() {
+        // arrange
+        adaptiveProperties.setProbeIntervalMs(0);
+        record(SourceType.ADB, 100, false, 10);
+
+        // act & assert
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldFallbackToPriorityWhenAllPluginsAreDegraded() {
+        // arrange
+        record(SourceType.ADB, 100, false, 10);
+        record(SourceType.ADG, 100, false, 10);
+
+        // act & assert
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldIgnoreStatisticsWhenDisabled() {
+        // arrange
+        adaptiveProperties.setEnabled(false);
+        record(SourceType.ADB, 100, false, 10);
+
+        // act & assert
+        assertEquals(SourceType.ADB, select());
+    }
+
+    @Test
+    void shouldFailWhenNoAcceptablePlugin() {
+        assertThrows(DtmException.class, () -> selector.selectByCategory(SelectCategory.RELATIONAL,
+                ShardingCategory.SHARD_ALL, EnumSet.of(SourceType.ADP)));
+    }
+
+    private SourceType select() {
+        return selector.selectByCategory(SelectCategory.RELATIONAL, ShardingCategory.SHARD_ALL, ACCEPTABLE);
+    }
+
+    private void record(SourceType sourceType, long durationMs, boolean succeeded, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(sourceType, SqlProcessingType.LLR, durationMs, succeeded);
+        }
+    }
+}
@@ -30,6 +30,7 @@ import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequestContext;
 import io.arenadata.dtm.query.execution.core.dml.dto.LlrRequestContext;
 import io.arenadata.dtm.query.execution.core.dml.dto.PluginDeterminationResult;
 import io.arenadata.dtm.query.execution.core.dml.factory.LlrRequestContextFactory;
+import io.arenadata.dtm.query.execution.core.dml.service.EstimateBasedPluginSelector;
 import io.arenadata.dtm.query.execution.core.dml.service.InformationSchemaDefinitionService;
 import io.arenadata.dtm.query.execution.core.dml.service.InformationSchemaExecutor;
 import io.arenadata.dtm.query.execution.core.dml.service.PluginDeterminationService;
@@ -85,6 +86,8 @@ class LlrDmlExecutorTest {
     @Mock
     private SqlParametersTypeExtractor parametersTypeExtractor;
     @Mock
+    private EstimateBasedPluginSelector estimateBasedPluginSelector;
+    @Mock
     private RelRoot relNode;
 
     private LlrDmlExecutor dmlExecutor;
@@ -94,7 +97,7 @@ class LlrDmlExecutorTest {
     void setUp() {
         dmlExecutor = new LlrDmlExecutor(dataSourcePluginService, deltaQueryPreprocessor, viewReplacerService,
                 infoSchemaExecutor, infoSchemaDefService, metricsService, templateExtractor, queryCacheService,
-                llrRequestContextFactory, pluginDeterminationService, SQL_DIALECT, parametersTypeExtractor);
+                llrRequestContextFactory, pluginDeterminationService, SQL_DIALECT, parametersTypeExtractor, estimateBasedPluginSelector);
 
         lenient().when(viewReplacerService.replace(any(), any())).thenAnswer(invocation -> Future.succeededFuture(invocation.getArgument(0)));
         DeltaInformation deltaInformation = DeltaInformation.builder()
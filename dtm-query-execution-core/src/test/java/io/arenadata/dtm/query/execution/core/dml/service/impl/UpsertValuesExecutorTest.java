@@ -16,13 +16,18 @@
 package io.arenadata.dtm.query.execution.core.dml.service.impl;
 
 import io.arenadata.dtm.common.exception.DtmException;
+import io.arenadata.dtm.common.metrics.RequestMetrics;
+import io.arenadata.dtm.common.model.SqlProcessingType;
 import io.arenadata.dtm.common.model.ddl.ColumnType;
 import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.model.ddl.EntityField;
 import io.arenadata.dtm.common.model.ddl.EntityType;
+import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.common.reader.QueryRequest;
+import io.arenadata.dtm.common.reader.QueryResult;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.calcite.core.extension.dml.DmlType;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.LlwProperties;
 import io.arenadata.dtm.query.execution.core.base.exception.table.ValidationDtmException;
 import io.arenadata.dtm.query.execution.core.base.repository.ServiceDbFacade;
 import io.arenadata.dtm.query.execution.core.base.repository.zookeeper.EntityDao;
@@ -36,27 +41,38 @@ import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaSer
 import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequest;
 import io.arenadata.dtm.query.execution.core.dml.dto.DmlRequestContext;
 import io.arenadata.dtm.query.execution.core.edml.mppw.dto.WriteOperationStatus;
+import io.arenadata.dtm.query.execution.core.metrics.service.MetricsService;
 import io.arenadata.dtm.query.execution.core.plugin.service.DataSourcePluginService;
 import io.arenadata.dtm.query.execution.core.rollback.service.RestoreStateService;
 import io.arenadata.dtm.query.execution.core.utils.TestUtils;
 import io.arenadata.dtm.query.execution.plugin.api.request.UpsertValuesRequest;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -75,7 +91,10 @@ class UpsertValuesExecutorTest {
     private ServiceDbFacade serviceDbFacade;
     @Mock
     private ServiceDbDao serviceDbDao;
+    @Mock
+    private MetricsService<RequestMetrics> metricsService;
 
+    private final LlwProperties llwProperties = new LlwProperties();
     private UpsertValuesExecutor upsertExecutor;
     private Entity entity;
     private DmlRequestContext requestContext;
@@ -87,7 +106,7 @@ class UpsertValuesExecutorTest {
         when(serviceDbFacade.getDeltaServiceDao()).thenReturn(deltaServiceDao);
         when(serviceDbDao.getEntityDao()).thenReturn(entityDao);
 
-        upsertExecutor = new UpsertValuesExecutor(pluginService, serviceDbFacade, restoreStateService);
+        upsertExecutor = new UpsertValuesExecutor(pluginService, serviceDbFacade, restoreStateService, mock(Vertx.class), llwProperties, metricsService);
         entity = Entity.builder()
                 .schema("datamart")
                 .name("users")
@@ -107,19 +126,7 @@ class UpsertValuesExecutorTest {
                 .entityType(EntityType.TABLE)
                 .build();
 
-        String sql = "UPSERT INTO users(id, name) values(1, 'Name')";
-        SqlNode sqlNode = TestUtils.DEFINITION_SERVICE.processingQuery(sql);
-        QueryRequest queryRequest = QueryRequest.builder()
-                .requestId(UUID.randomUUID())
-                .datamartMnemonic("datamart")
-                .sql(sql)
-                .build();
-        requestContext = DmlRequestContext.builder()
-                .envName("dev")
-                .request(new DmlRequest(queryRequest))
-                .sourceType(SourceType.ADB)
-                .sqlNode(sqlNode)
-                .build();
+        requestContext = createContext("UPSERT INTO users(id, name) values(1, 'Name')");
     }
 
     @Test
@@ -151,7 +158,7 @@ class UpsertValuesExecutorTest {
         when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
 
         DeltaWriteOp existWriteOp = DeltaWriteOp.builder()
-                .query("UPSERT INTO users (id, name) VALUES ca37a04282d9b18bf2a47122618b1594")
+                .query("UPSERT INTO users (id, name) VALUES e4da2ad2f2c5cc4b8feee7a56958edb5")
                 .tableName("users")
                 .status(WriteOperationStatus.EXECUTING.getValue())
                 .sysCn(1L)
@@ -169,6 +176,28 @@ class UpsertValuesExecutorTest {
                 .onFailure(testContext::failNow);
     }
 
+    @Test
+    void upsertSuccessWhenOperationIsExecutingOnThisNode(VertxTestContext testContext) {
+        when(deltaServiceDao.getDeltaHot("datamart")).thenReturn(Future.succeededFuture(new HotDelta()));
+        when(entityDao.getEntity("datamart", "users")).thenReturn(Future.succeededFuture(entity));
+        when(deltaServiceDao.writeNewOperation(any(DeltaWriteOpRequest.class)))
+                .thenReturn(Future.succeededFuture(1L))
+                .thenReturn(Future.failedFuture(new TableBlockedException("users", new RuntimeException())));
+        when(deltaServiceDao.writeOperationSuccess("datamart", 1L)).thenReturn(Future.succeededFuture());
+        when(pluginService.upsert(eq(SourceType.ADB), any(), any(UpsertValuesRequest.class)))
+                .thenReturn(Promise.<Void>promise().future())
+                .thenReturn(Future.succeededFuture());
+        when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
+
+        upsertExecutor.execute(requestContext);
+        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name')"))
+                .onSuccess(ar -> testContext.verify(() -> {
+                    verify(deltaServiceDao, never()).getDeltaWriteOperations("datamart");
+                    verify(deltaServiceDao).writeOperationSuccess("datamart", 1L);
+                }).completeNow())
+                .onFailure(testContext::failNow);
+    }
+
     @Test
     void upsertFailWhenNotTableBlockedException(VertxTestContext testContext) {
         when(deltaServiceDao.getDeltaHot("datamart")).thenReturn(Future.succeededFuture(new HotDelta()));
@@ -177,7 +206,7 @@ class UpsertValuesExecutorTest {
         when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
 
         DeltaWriteOp existWriteOp = DeltaWriteOp.builder()
-                .query("UPSERT INTO users (id, name) VALUES ca37a04282d9b18bf2a47122618b1594")
+                .query("UPSERT INTO users (id, name) VALUES e4da2ad2f2c5cc4b8feee7a56958edb5")
                 .tableName("unknown")
                 .status(WriteOperationStatus.EXECUTING.getValue())
                 .sysCn(1L)
@@ -205,7 +234,7 @@ class UpsertValuesExecutorTest {
         when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
 
         DeltaWriteOp existWriteOp = DeltaWriteOp.builder()
-                .query("UPSERT INTO users (id, name) VALUES ca37a04282d9b18bf2a47122618b1594")
+                .query("UPSERT INTO users (id, name) VALUES e4da2ad2f2c5cc4b8feee7a56958edb5")
                 .tableName("unknown")
                 .status(WriteOperationStatus.EXECUTING.getValue())
                 .sysCn(1L)
@@ -233,7 +262,7 @@ class UpsertValuesExecutorTest {
         when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
 
         DeltaWriteOp existWriteOp = DeltaWriteOp.builder()
-                .query("UPSERT INTO users (id, name) VALUES ca37a04282d9b18bf2a47122618b1594")
+                .query("UPSERT INTO users (id, name) VALUES e4da2ad2f2c5cc4b8feee7a56958edb5")
                 .tableName("users")
                 .status(WriteOperationStatus.ERROR.getValue())
                 .sysCn(1L)
@@ -530,4 +559,233 @@ class UpsertValuesExecutorTest {
         assertEquals(DmlType.UPSERT_VALUES, upsertExecutor.getType());
     }
 
+    @Test
+    void shouldFingerprintNullAndNullStringDifferently() {
+        assertNotEquals(fingerprint("UPSERT INTO users(id, name) values(1, NULL)"),
+                fingerprint("UPSERT INTO users(id, name) values(1, 'null')"));
+    }
+
+    @Test
+    void shouldFingerprintStringAndNumberDifferently() {
+        assertNotEquals(fingerprint("UPSERT INTO users(id, name) values('1', 'Name')"),
+                fingerprint("UPSERT INTO users(id, name) values(1, 'Name')"));
+    }
+
+    @Test
+    void shouldFingerprintValuesWithSeparatorsDifferently() {
+        assertNotEquals(fingerprint("UPSERT INTO users(id, name) values(?, ?)", "a\u0000", "b"),
+                fingerprint("UPSERT INTO users(id, name) values(?, ?)", "a", "\u0000b"));
+        assertNotEquals(fingerprint("UPSERT INTO users(id, name) values(?, ?)", null, "b"),
+                fingerprint("UPSERT INTO users(id, name) values(?, ?)", "null", "b"));
+    }
+
+    @Test
+    void shouldFingerprintEqualValuesEqually() {
+        assertEquals(fingerprint("UPSERT INTO users(id, name) values(1, NULL), (2, 'Name')"),
+                fingerprint("UPSERT INTO users(id, name) values(1, NULL), (2, 'Name')"));
+    }
+
+    @Test
+    void shouldCombineConcurrentUpsertsIntoOneWriteOperation(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        upsertExecutor = createGroupCommitExecutor(vertx);
+        ArgumentCaptor<UpsertValuesRequest> requestCaptor = ArgumentCaptor.forClass(UpsertValuesRequest.class);
+
+        // act
+        CompositeFuture.join(
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name1')")),
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(2, 'Name2'), (3, 'Name3')")))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    if (ar.failed()) {
+                        fail(ar.cause());
+                    }
+                    verify(deltaServiceDao).writeNewOperation(any(DeltaWriteOpRequest.class));
+                    verify(pluginService).upsert(eq(SourceType.ADB), any(), requestCaptor.capture());
+                    assertEquals(3, ((SqlCall) requestCaptor.getValue().getQuery().getSource()).operandCount());
+                    verify(deltaServiceDao).writeOperationSuccess("datamart", 1L);
+                }).completeNow());
+    }
+
+    @Test
+    void shouldExecuteUpsertsOfSameKeyOneAfterAnother(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        upsertExecutor = createGroupCommitExecutor(vertx);
+        ArgumentCaptor<UpsertValuesRequest> requestCaptor = ArgumentCaptor.forClass(UpsertValuesRequest.class);
+
+        // act
+        CompositeFuture.join(
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name1')")),
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name2')")))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    if (ar.failed()) {
+                        fail(ar.cause());
+                    }
+                    verify(deltaServiceDao, times(2)).writeNewOperation(any(DeltaWriteOpRequest.class));
+                    verify(pluginService, times(2)).upsert(eq(SourceType.ADB), any(), requestCaptor.capture());
+                    List<UpsertValuesRequest> requests = requestCaptor.getAllValues();
+                    assertEquals(1L, requests.get(0).getSysCn().longValue());
+                    assertEquals("'Name1'", ((SqlCall) ((SqlCall) requests.get(0).getQuery().getSource()).getOperandList().get(0)).operand(1).toString());
+                    assertEquals(2L, requests.get(1).getSysCn().longValue());
+                    assertEquals("'Name2'", ((SqlCall) ((SqlCall) requests.get(1).getQuery().getSource()).getOperandList().get(0)).operand(1).toString());
+                }).completeNow());
+    }
+
+    @Test
+    void shouldExecuteGroupedUpsertsOneByOneWhenGroupFailed(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        upsertExecutor = createGroupCommitExecutor(vertx);
+        when(deltaServiceDao.writeNewOperation(any(DeltaWriteOpRequest.class)))
+                .thenReturn(Future.succeededFuture(1L))
+                .thenReturn(Future.succeededFuture(2L))
+                .thenReturn(Future.succeededFuture(3L))
+                .thenReturn(Future.succeededFuture(4L));
+        when(deltaServiceDao.writeOperationError(eq("datamart"), anyLong())).thenReturn(Future.succeededFuture());
+        when(restoreStateService.restoreErase("datamart")).thenReturn(Future.succeededFuture());
+        when(pluginService.upsert(eq(SourceType.ADB), any(), any(UpsertValuesRequest.class))).thenAnswer(invocation -> {
+            UpsertValuesRequest request = invocation.getArgument(2);
+            return request.getQuery().getSource().toString().contains("'Invalid'")
+                    ? Future.failedFuture(new DtmException("Invalid value"))
+                    : Future.succeededFuture();
+        });
+
+        // act
+        Future<QueryResult> first = upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name1')"));
+        Future<QueryResult> invalid = upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(2, 'Invalid')"));
+        Future<QueryResult> third = upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(3, 'Name3')"));
+        CompositeFuture.join(first, invalid, third)
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertTrue(first.succeeded());
+                    assertTrue(invalid.failed());
+                    assertEquals("Invalid value", invalid.cause().getMessage());
+                    assertTrue(third.succeeded());
+                    verify(pluginService, times(4)).upsert(eq(SourceType.ADB), any(), any(UpsertValuesRequest.class));
+                    verify(deltaServiceDao).writeOperationError("datamart", 1L);
+                    verify(deltaServiceDao).writeOperationSuccess("datamart", 2L);
+                    verify(deltaServiceDao).writeOperationError("datamart", 3L);
+                    verify(deltaServiceDao).writeOperationSuccess("datamart", 4L);
+                }).completeNow());
+    }
+
+    @Test
+    void shouldExecuteUpsertsOfSameKeyWrittenDifferentlyOneAfterAnother(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        upsertExecutor = createGroupCommitExecutor(vertx);
+
+        // act
+        CompositeFuture.join(
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name1')")),
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1.0, 'Name2')")))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    if (ar.failed()) {
+                        fail(ar.cause());
+                    }
+                    verify(deltaServiceDao, times(2)).writeNewOperation(any(DeltaWriteOpRequest.class));
+                    verify(pluginService, times(2)).upsert(eq(SourceType.ADB), any(), any(UpsertValuesRequest.class));
+                }).completeNow());
+    }
+
+    @Test
+    void shouldRejectUpsertWhenTooManyPendingWrites(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        upsertExecutor = createGroupCommitExecutor(vertx);
+        llwProperties.setGroupCommitMaxPendingWrites(1);
+
+        // act
+        Future<QueryResult> accepted = upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name1')"));
+        Future<QueryResult> rejected = upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(2, 'Name2')"));
+        CompositeFuture.join(accepted, rejected)
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    assertTrue(accepted.succeeded());
+                    assertTrue(rejected.failed());
+                    assertEquals("Too many pending writes into [datamart.users], try again later", rejected.cause().getMessage());
+                    verify(pluginService).upsert(eq(SourceType.ADB), any(), any(UpsertValuesRequest.class));
+                }).completeNow());
+    }
+
+    @Test
+    void shouldPublishMetricsOfEachGroupedUpsert(Vertx vertx, VertxTestContext testContext) {
+        // arrange
+        upsertExecutor = createGroupCommitExecutor(vertx);
+        RequestMetrics firstMetrics = RequestMetrics.builder()
+                .requestId(UUID.randomUUID())
+                .build();
+        RequestMetrics secondMetrics = RequestMetrics.builder()
+                .requestId(UUID.randomUUID())
+                .build();
+        ArgumentCaptor<UpsertValuesRequest> requestCaptor = ArgumentCaptor.forClass(UpsertValuesRequest.class);
+
+        // act
+        CompositeFuture.join(
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(1, 'Name1')", firstMetrics)),
+                        upsertExecutor.execute(createContext("UPSERT INTO users(id, name) values(2, 'Name2')", secondMetrics)))
+                .onComplete(ar -> testContext.verify(() -> {
+                    // assert
+                    if (ar.failed()) {
+                        fail(ar.cause());
+                    }
+                    verify(pluginService).upsert(eq(SourceType.ADB), same(firstMetrics), requestCaptor.capture());
+                    assertEquals(firstMetrics.getRequestId(), requestCaptor.getValue().getRequestId());
+                    verify(metricsService).sendMetrics(SourceType.ADB, SqlProcessingType.LLW, secondMetrics);
+                    verify(metricsService).sendMetrics(eq(SourceType.ADB), eq(SqlProcessingType.LLW), same(secondMetrics), any());
+                    verify(metricsService, never()).sendMetrics(any(), any(), same(firstMetrics));
+                    verify(metricsService, never()).sendMetrics(any(), any(), same(firstMetrics), any());
+                }).completeNow());
+    }
+
+    private UpsertValuesExecutor createGroupCommitExecutor(Vertx vertx) {
+        llwProperties.setGroupCommitEnabled(true);
+        llwProperties.setGroupCommitWindowMs(50);
+        when(deltaServiceDao.getDeltaHot("datamart")).thenReturn(Future.succeededFuture(new HotDelta()));
+        when(entityDao.getEntity("datamart", "users")).thenReturn(Future.succeededFuture(entity));
+        when(deltaServiceDao.writeNewOperation(any(DeltaWriteOpRequest.class)))
+                .thenReturn(Future.succeededFuture(1L))
+                .thenReturn(Future.succeededFuture(2L));
+        when(deltaServiceDao.writeOperationSuccess(eq("datamart"), anyLong())).thenReturn(Future.succeededFuture());
+        when(pluginService.upsert(eq(SourceType.ADB), any(), any(UpsertValuesRequest.class))).thenReturn(Future.succeededFuture());
+        when(pluginService.hasSourceType(SourceType.ADB)).thenReturn(true);
+        when(metricsService.sendMetrics(any(), any(), any())).thenReturn(Future.succeededFuture());
+        when(metricsService.sendMetrics(any(), any(), any(), any())).thenReturn(ar -> {
+        });
+        return new UpsertValuesExecutor(pluginService, serviceDbFacade, restoreStateService, vertx, llwProperties, metricsService);
+    }
+
+    private String fingerprint(String sql) {
+        return upsertExecutor.createDeltaOp(createContext(sql), entity).getQuery();
+    }
+
+    private String fingerprint(String sql, Object... parameters) {
+        DmlRequestContext context = createContext(sql);
+        context.getRequest().getQueryRequest().setParameters(new QueryParameters(Arrays.asList(parameters),
+                Arrays.asList(ColumnType.VARCHAR, ColumnType.VARCHAR)));
+        return upsertExecutor.createDeltaOp(context, entity).getQuery();
+    }
+
+    private static DmlRequestContext createContext(String sql) {
+        return createContext(sql, UUID.randomUUID(), null);
+    }
+
+    private static DmlRequestContext createContext(String sql, RequestMetrics metrics) {
+        return createContext(sql, metrics.getRequestId(), metrics);
+    }
+
+    private static DmlRequestContext createContext(String sql, UUID requestId, RequestMetrics metrics) {
+        SqlNode sqlNode = TestUtils.DEFINITION_SERVICE.processingQuery(sql);
+        QueryRequest queryRequest = QueryRequest.builder()
+                .requestId(requestId)
+                .datamartMnemonic("datamart")
+                .sql(sql)
+                .build();
+        return DmlRequestContext.builder()
+                .metrics(metrics)
+                .envName("dev")
+                .request(new DmlRequest(queryRequest))
+                .sourceType(SourceType.ADB)
+                .sqlNode(sqlNode)
+                .build();
+    }
 }
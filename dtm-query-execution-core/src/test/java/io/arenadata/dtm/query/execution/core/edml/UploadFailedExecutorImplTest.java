@@ -26,6 +26,7 @@ import io.arenadata.dtm.common.model.ddl.ExternalTableLocationType;
 import io.arenadata.dtm.common.reader.QueryRequest;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.common.request.DatamartRequest;
+import io.arenadata.dtm.query.execution.core.base.configuration.properties.RestorationProperties;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.DeltaServiceDao;
 import io.arenadata.dtm.query.execution.core.delta.repository.zookeeper.impl.DeltaServiceDaoImpl;
 import io.arenadata.dtm.query.execution.core.edml.dto.EdmlRequestContext;
@@ -45,14 +46,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UploadFailedExecutorImplTest {
@@ -95,7 +100,7 @@ class UploadFailedExecutorImplTest {
     void executeSuccess() {
         Promise<Void> promise = Promise.promise();
         uploadFailedExecutor = new UploadFailedExecutorImpl(deltaServiceDao,
-                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService);
+                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService, new RestorationProperties());
         String selectSql = "(select id, lst_nam FROM test.upload_table)";
         String insertSql = "insert into test.pso " + selectSql;
         queryRequest.setSql(insertSql);
@@ -128,19 +133,68 @@ class UploadFailedExecutorImplTest {
         when(pluginService.rollback(any(), any(), any()))
                 .thenReturn(Future.succeededFuture());
 
+        when(deltaServiceDao.writeOperationRolledBack(any(), anyLong(), any()))
+                .thenReturn(Future.succeededFuture());
+
         when(deltaServiceDao.deleteWriteOperation(eq(sourceEntity.getSchema()), eq(context.getSysCn())))
                 .thenReturn(Future.succeededFuture());
 
         uploadFailedExecutor.execute(context)
                 .onComplete(promise);
         assertTrue(promise.future().succeeded());
+        verify(deltaServiceDao).writeOperationRolledBack(context.getSourceEntity().getName(), context.getSysCn(), SourceType.ADB);
+        verify(deltaServiceDao).writeOperationRolledBack(context.getSourceEntity().getName(), context.getSysCn(), SourceType.ADG);
+    }
+
+    @Test
+    void executeSkipsRolledBackDestinations() {
+        Promise<Void> promise = Promise.promise();
+        uploadFailedExecutor = new UploadFailedExecutorImpl(deltaServiceDao,
+                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService, new RestorationProperties());
+        queryRequest.setSql("insert into test.pso (select id, lst_nam FROM test.upload_table)");
+        DatamartRequest request = new DatamartRequest(queryRequest);
+
+        EdmlRequestContext context = new EdmlRequestContext(new RequestMetrics(), request, null, "env");
+        context.setDestinationEntity(destEntity);
+        context.setSourceEntity(sourceEntity);
+        context.setSysCn(1L);
+        final RollbackRequestContext rollbackRequestContext = new RollbackRequestContext(
+                new RequestMetrics(),
+                "test",
+                RollbackRequest.builder()
+                        .queryRequest(context.getRequest().getQueryRequest())
+                        .datamart(destEntity.getSchema())
+                        .destinationTable(destEntity.getName())
+                        .sysCn(context.getSysCn())
+                        .entity(destEntity)
+                        .rolledBackDestinations(EnumSet.of(SourceType.ADB))
+                        .build(),
+                mock(SqlNode.class)
+        );
+
+        when(rollbackRequestContextFactory.create(any()))
+                .thenReturn(rollbackRequestContext);
+        when(pluginService.hasSourceType(Mockito.any(SourceType.class))).thenAnswer(invocationOnMock -> sourceTypes.contains(invocationOnMock.getArgument(0, SourceType.class)));
+        when(pluginService.rollback(any(), any(), any()))
+                .thenReturn(Future.succeededFuture());
+        when(deltaServiceDao.writeOperationRolledBack(any(), anyLong(), any()))
+                .thenReturn(Future.failedFuture(new DtmException("")));
+        when(deltaServiceDao.deleteWriteOperation(destEntity.getSchema(), context.getSysCn()))
+                .thenReturn(Future.succeededFuture());
+
+        uploadFailedExecutor.execute(context)
+                .onComplete(promise);
+        assertTrue(promise.future().succeeded());
+        verify(pluginService).rollback(eq(SourceType.ADG), any(), any());
+        verify(pluginService, never()).rollback(eq(SourceType.ADB), any(), any());
+        verify(deltaServiceDao).writeOperationRolledBack(destEntity.getSchema(), context.getSysCn(), SourceType.ADG);
     }
 
     @Test
     void executePluginRollbackError() {
         Promise<Void> promise = Promise.promise();
         uploadFailedExecutor = new UploadFailedExecutorImpl(deltaServiceDao,
-                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService);
+                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService, new RestorationProperties());
         String selectSql = "(select id, lst_nam FROM test.upload_table)";
         String insertSql = "insert into test.pso " + selectSql;
         queryRequest.setSql(insertSql);
@@ -182,7 +236,7 @@ class UploadFailedExecutorImplTest {
     void executeDeleteOperationError() {
         Promise<Void> promise = Promise.promise();
         uploadFailedExecutor = new UploadFailedExecutorImpl(deltaServiceDao,
-                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService);
+                rollbackRequestContextFactory, pluginService, evictQueryTemplateCacheService, new RestorationProperties());
         String selectSql = "(select id, lst_nam FROM test.upload_table)";
         String insertSql = "insert into test.pso " + selectSql;
         queryRequest.setSql(insertSql);
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.plugin.service;
+
+import io.arenadata.dtm.common.reader.SourceType;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PluginQueryThrottleTest {
+    private static final int QUEUED_QUERIES = 20_000;
+    private final Vertx vertx = Vertx.vertx();
+    private final PluginQueryThrottle throttle = new PluginQueryThrottle(1);
+
+    @AfterEach
+    void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    void shouldRunLongQueueWithoutNestingStack() throws Exception {
+        // arrange
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        AtomicInteger maxParallel = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+
+        // act
+        vertx.runOnContext(v -> {
+            Promise<Integer> first = Promise.promise();
+            List<Future> queries = new ArrayList<>();
+            queries.add(throttle.execute(SourceType.ADB, first::future));
+            for (int i = 0; i < QUEUED_QUERIES; i++) {
+                queries.add(throttle.execute(SourceType.ADB, () -> {
+                    maxParallel.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    running.decrementAndGet();
+                    return Future.succeededFuture(1);
+                }));
+            }
+            first.complete(1);
+            CompositeFuture.all(queries)
+                    .onSuccess(all -> result.complete(all.size()))
+                    .onFailure(result::completeExceptionally);
+        });
+
+        // assert
+        assertEquals(QUEUED_QUERIES + 1, result.get(30, TimeUnit.SECONDS));
+        assertEquals(1, maxParallel.get());
+    }
+}
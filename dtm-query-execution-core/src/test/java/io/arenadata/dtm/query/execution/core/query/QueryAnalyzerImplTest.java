@@ -15,6 +15,7 @@
  */
 package io.arenadata.dtm.query.execution.core.query;
 
+import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.model.SqlProcessingType;
 import io.arenadata.dtm.common.reader.InputQueryRequest;
 import io.arenadata.dtm.common.reader.QueryRequest;
@@ -29,6 +30,7 @@ import io.arenadata.dtm.query.execution.core.query.service.impl.QueryAnalyzerImp
 import io.arenadata.dtm.query.execution.core.query.service.impl.QuerySemicolonRemoverImpl;
 import io.arenadata.dtm.query.execution.core.query.utils.DatamartMnemonicExtractor;
 import io.arenadata.dtm.query.execution.core.query.utils.DefaultDatamartSetter;
+import io.arenadata.dtm.query.execution.core.rollback.service.RestoreStateService;
 import io.arenadata.dtm.query.execution.core.utils.TestUtils;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -40,21 +42,35 @@ import lombok.Data;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class QueryAnalyzerImplTest {
     private final Vertx vertx = Vertx.vertx();
     private final RequestContextFactory requestContextFactory =
             new RequestContextFactory(TestUtils.getCoreConfiguration("test"));
     private final QueryDispatcher queryDispatcher = mock(QueryDispatcher.class);
+    private final RestoreStateService restoreStateService = mock(RestoreStateService.class);
     private QueryAnalyzer queryAnalyzer;
 
     @BeforeEach
     void setUp() {
+        when(restoreStateService.awaitRestored(any())).thenReturn(Future.succeededFuture());
         queryAnalyzer = new QueryAnalyzerImpl(queryDispatcher,
                 TestUtils.DEFINITION_SERVICE,
                 requestContextFactory,
@@ -62,7 +78,8 @@ class QueryAnalyzerImplTest {
                 new DatamartMnemonicExtractor(new DeltaInformationExtractorImpl()),
                 new DefaultDatamartSetter(),
                 new QuerySemicolonRemoverImpl(),
-                new QueryRequestFactory());
+                new QueryRequestFactory(),
+                restoreStateService);
     }
 
     @Test
@@ -337,6 +354,77 @@ class QueryAnalyzerImplTest {
         assertEquals(SqlProcessingType.DDL, testData.getProcessingType());
     }
 
+    @Test
+    void executeScriptStatementsPerDatamartInOrder() throws Exception {
+        InputQueryRequest scriptRequest = new InputQueryRequest();
+        scriptRequest.setSql("CREATE DATABASE test;\n" +
+                "-- tables\n" +
+                "CREATE TABLE test.a (id bigint, primary key (id)) distributed by (id);\n" +
+                "CREATE TABLE other.b (id bigint, primary key (id)) distributed by (id);\n" +
+                "DROP TABLE test.c;\n" +
+                "CREATE VIEW test.v AS SELECT * FROM test.a;");
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            final CoreRequestContext context = invocation.getArgument(0);
+            executed.add(context.getRequest().getQueryRequest().getSql());
+            return Future.succeededFuture(QueryResult.emptyResult());
+        }).when(queryDispatcher).dispatch(any());
+
+        queryAnalyzer.analyzeAndExecuteScript(scriptRequest)
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertEquals(5, executed.size());
+        assertEquals("CREATE DATABASE test", executed.get(0));
+        assertThat(executed.indexOf("DROP TABLE test.c"))
+                .isGreaterThan(executed.indexOf("CREATE TABLE test.a (id bigint, primary key (id)) distributed by (id)"));
+        assertEquals("CREATE VIEW test.v AS SELECT * FROM test.a", executed.get(4));
+    }
+
+    @Test
+    void rejectScriptWithDmlBeforeExecution() {
+        InputQueryRequest scriptRequest = new InputQueryRequest();
+        scriptRequest.setSql("DROP TABLE test.a; SELECT * FROM test.b");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                queryAnalyzer.analyzeAndExecuteScript(scriptRequest)
+                        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS));
+
+        assertThat(exception.getCause().getMessage()).contains("SELECT * FROM test.b");
+        verify(queryDispatcher, never()).dispatch(any());
+    }
+
+    @Test
+    void executeRollbackStatementsWhileDatamartIsRestored() throws Exception {
+        when(restoreStateService.awaitRestored(any()))
+                .thenReturn(Future.failedFuture(new DtmException("Datamart [test] state is being restored, try again later")));
+        prepareExecute();
+
+        for (String sql : Arrays.asList("ROLLBACK DELTA", "ROLLBACK CRASHED_WRITE_OPERATIONS", "BEGIN DELTA")) {
+            InputQueryRequest queryRequest = new InputQueryRequest();
+            queryRequest.setSql(sql);
+            queryRequest.setDatamartMnemonic("test");
+            queryAnalyzer.analyzeAndExecute(queryRequest)
+                    .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+
+        verify(queryDispatcher, times(3)).dispatch(any());
+    }
+
+    @Test
+    void rejectSelectWhileDatamartIsRestored() {
+        when(restoreStateService.awaitRestored(any()))
+                .thenReturn(Future.failedFuture(new DtmException("Datamart [test] state is being restored, try again later")));
+        InputQueryRequest queryRequest = new InputQueryRequest();
+        queryRequest.setSql("SELECT * FROM test.a");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () ->
+                queryAnalyzer.analyzeAndExecute(queryRequest)
+                        .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS));
+
+        assertThat(exception.getCause().getMessage()).contains("being restored");
+        verify(queryDispatcher, never()).dispatch(any());
+    }
+
     private void analyzeAndExecute(TestData testData, InputQueryRequest queryRequest) {
         TestSuite suite = TestSuite.create("parse");
         suite.test("parse", context -> {
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.core.query.utils;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlScriptSplitterTest {
+
+    @Test
+    void shouldSplitBySemicolons() {
+        // act
+        val statements = SqlScriptSplitter.split("CREATE DATABASE a;\n DROP TABLE a.b ;DROP TABLE a.c");
+
+        // assert
+        assertEquals(Arrays.asList("CREATE DATABASE a", "DROP TABLE a.b", "DROP TABLE a.c"), statements);
+    }
+
+    @Test
+    void shouldIgnoreSemicolonsInQuotesAndComments() {
+        // arrange
+        val view = "CREATE VIEW a.v AS SELECT ';' AS \"col;\" FROM a.b /* ; */";
+
+        // act
+        val statements = SqlScriptSplitter.split("-- first; statement\n" + view + ";");
+
+        // assert
+        assertEquals(Collections.singletonList("-- first; statement\n" + view), statements);
+    }
+
+    @Test
+    void shouldSkipEmptyStatements() {
+        // act
+        val statements = SqlScriptSplitter.split(";\n -- comment only;\n; DROP TABLE a.b;; /* trailing */");
+
+        // assert
+        assertEquals(Collections.singletonList("DROP TABLE a.b"), statements);
+    }
+}
@@ -38,6 +38,7 @@ import io.arenadata.dtm.query.execution.core.edml.mppw.service.impl.UploadFailed
 import io.arenadata.dtm.query.execution.core.rollback.service.RestoreStateService;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.apache.calcite.sql.SqlNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,6 +49,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 class RestoreStateServiceTest {
@@ -60,6 +62,7 @@ class RestoreStateServiceTest {
     private final EdmlUploadFailedExecutor edmlUploadFailedExecutor = mock(UploadFailedExecutorImpl.class);
     private final UploadExternalTableExecutor uploadExternalTableExecutor = mock(UploadExternalTableExecutor.class);
     private final RestorationProperties restorationProperties = mock(RestorationProperties.class);
+    private final Vertx vertx = mock(Vertx.class);
     private CalciteConfiguration config = new CalciteConfiguration();
     private CalciteCoreConfiguration calciteCoreConfiguration = new CalciteCoreConfiguration();
     private DefinitionService<SqlNode> definitionService =
@@ -79,7 +82,79 @@ class RestoreStateServiceTest {
                 uploadExternalTableExecutor,
                 definitionService,
                 envName,
-                restorationProperties);
+                restorationProperties,
+                vertx);
+    }
+
+    @Test
+    void restoreStateRestoresDatamartsWithLimitedParallelism() {
+        // arrange
+        when(restorationProperties.getRestoreMaxParallel()).thenReturn(1);
+        when(restorationProperties.getQueryWaitMs()).thenReturn(1000L);
+        restoreStateService = new RestoreStateService(serviceDbFacade, edmlUploadFailedExecutor, uploadExternalTableExecutor,
+                definitionService, envName, restorationProperties, vertx);
+        Promise<List<DeltaWriteOp>> firstWriteOps = Promise.promise();
+        when(datamartDao.getDatamarts()).thenReturn(Future.succeededFuture(Arrays.asList("test1", "test2")));
+        when(deltaServiceDao.getDeltaWriteOperations("test1")).thenReturn(firstWriteOps.future());
+        when(deltaServiceDao.getDeltaWriteOperations("test2")).thenReturn(Future.succeededFuture(Collections.emptyList()));
+
+        // act
+        Future<Void> result = restoreStateService.restoreState();
+
+        // assert
+        assertFalse(result.isComplete());
+        verify(deltaServiceDao, never()).getDeltaWriteOperations("test2");
+        Future<Void> test1Restored = restoreStateService.awaitRestored("test1");
+        Future<Void> test2Restored = restoreStateService.awaitRestored("test2");
+        assertFalse(test1Restored.isComplete());
+        assertFalse(test2Restored.isComplete());
+        assertTrue(restoreStateService.awaitRestored("other").succeeded());
+
+        firstWriteOps.complete(Collections.emptyList());
+
+        assertTrue(result.succeeded());
+        assertTrue(test1Restored.succeeded());
+        assertTrue(test2Restored.succeeded());
+        verify(vertx, times(2)).cancelTimer(anyLong());
+    }
+
+    @Test
+    void awaitRestoredCompletesWhenEraseFinishedBeforeUpload() {
+        // arrange
+        when(restorationProperties.getRestoreMaxParallel()).thenReturn(1);
+        when(restorationProperties.getQueryWaitMs()).thenReturn(1000L);
+        restoreStateService = new RestoreStateService(serviceDbFacade, edmlUploadFailedExecutor, uploadExternalTableExecutor,
+                definitionService, envName, restorationProperties, vertx);
+        Promise<List<DeltaWriteOp>> uploadWriteOps = Promise.promise();
+        when(datamartDao.getDatamarts()).thenReturn(Future.succeededFuture(Collections.singletonList("test1")));
+        when(deltaServiceDao.getDeltaWriteOperations("test1"))
+                .thenReturn(Future.succeededFuture(Collections.emptyList()), uploadWriteOps.future());
+
+        // act
+        Future<Void> result = restoreStateService.restoreState();
+        Future<Void> restored = restoreStateService.awaitRestored("test1");
+
+        // assert
+        assertFalse(result.isComplete());
+        assertTrue(restored.succeeded());
+
+        uploadWriteOps.complete(Collections.emptyList());
+        assertTrue(result.succeeded());
+    }
+
+    @Test
+    void awaitRestoredRejectsQueryWithoutWaiting() {
+        // arrange
+        when(datamartDao.getDatamarts()).thenReturn(Future.succeededFuture(Collections.singletonList("test1")));
+        when(deltaServiceDao.getDeltaWriteOperations("test1")).thenReturn(Promise.<List<DeltaWriteOp>>promise().future());
+
+        // act
+        restoreStateService.restoreState();
+        Future<Void> result = restoreStateService.awaitRestored("test1");
+
+        // assert
+        assertTrue(result.failed());
+        assertSame(DtmException.class, result.cause().getClass());
     }
 
     @Test
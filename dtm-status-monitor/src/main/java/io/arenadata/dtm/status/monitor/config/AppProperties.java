@@ -25,4 +25,7 @@ import org.springframework.stereotype.Component;
 public class AppProperties {
     private String brokersList;
     private int consumersCount = 8;
+    private long topicRefreshPeriodMs = 500;
+    private long topicMaxStalenessMs = 1000;
+    private long topicMonitoringTimeoutMs = 300000;
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.status.monitor.kafka;
+
+import kafka.common.OffsetAndMetadata;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Committed offsets replayed from __consumer_offsets, indexed as group -> topic -> partition -> offset,
+ * so lookups for a consumer group and topic don't depend on the total number of tracked offsets.
+ */
+public class CommittedOffsetStore {
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<Integer, OffsetAndMetadata>>> offsets =
+        new ConcurrentHashMap<>();
+
+    public void put(String consumerGroup, String topic, int partition, OffsetAndMetadata offset) {
+        offsets.compute(consumerGroup, (group, topics) -> {
+            ConcurrentHashMap<String, ConcurrentHashMap<Integer, OffsetAndMetadata>> groupTopics =
+                topics == null ? new ConcurrentHashMap<>() : topics;
+            groupTopics.computeIfAbsent(topic, t -> new ConcurrentHashMap<>()).put(partition, offset);
+            return groupTopics;
+        });
+    }
+
+    /**
+     * Handles an offset tombstone: drops the partition and any topic or group left empty after that.
+     */
+    public void removePartition(String consumerGroup, String topic, int partition) {
+        offsets.computeIfPresent(consumerGroup, (group, topics) -> {
+            topics.computeIfPresent(topic, (t, partitions) -> {
+                partitions.remove(partition);
+                return partitions.isEmpty() ? null : partitions;
+            });
+            return topics.isEmpty() ? null : topics;
+        });
+    }
+
+    /**
+     * Handles a group metadata tombstone: the group is dead and all its offsets are dropped.
+     */
+    public void removeGroup(String consumerGroup) {
+        offsets.remove(consumerGroup);
+    }
+
+    public Map<Integer, OffsetAndMetadata> get(String consumerGroup, String topic) {
+        Map<String, ConcurrentHashMap<Integer, OffsetAndMetadata>> topics = offsets.get(consumerGroup);
+        if (topics == null) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, OffsetAndMetadata> partitions = topics.get(topic);
+        return partitions == null ? Collections.emptyMap() : Collections.unmodifiableMap(partitions);
+    }
+
+    /**
+     * Copies tracked offsets sorted by group, topic and partition.
+     * Offsets committed during the copy may or may not be reflected, as with iteration over ConcurrentHashMap.
+     *
+     * @param consumerGroup group to copy, all groups if null
+     * @param topic         topic to copy, all topics if null
+     */
+    public SortedMap<String, SortedMap<String, SortedMap<Integer, OffsetAndMetadata>>> snapshot(String consumerGroup,
+                                                                                                String topic) {
+        SortedMap<String, SortedMap<String, SortedMap<Integer, OffsetAndMetadata>>> snapshot = new TreeMap<>();
+        Map<String, ConcurrentHashMap<String, ConcurrentHashMap<Integer, OffsetAndMetadata>>> groups = offsets;
+        if (consumerGroup != null) {
+            ConcurrentHashMap<String, ConcurrentHashMap<Integer, OffsetAndMetadata>> topics = offsets.get(consumerGroup);
+            groups = topics == null ? Collections.emptyMap() : Collections.singletonMap(consumerGroup, topics);
+        }
+        groups.forEach((group, topics) -> {
+            SortedMap<String, SortedMap<Integer, OffsetAndMetadata>> groupSnapshot = new TreeMap<>();
+            topics.forEach((groupTopic, partitions) -> {
+                if (topic == null || topic.equals(groupTopic)) {
+                    groupSnapshot.put(groupTopic, new TreeMap<>(partitions));
+                }
+            });
+            if (!groupSnapshot.isEmpty()) {
+                snapshot.put(group, groupSnapshot);
+            }
+        });
+        return snapshot;
+    }
+}
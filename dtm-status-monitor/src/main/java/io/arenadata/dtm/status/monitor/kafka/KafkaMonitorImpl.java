@@ -15,28 +15,30 @@
  */
 package io.arenadata.dtm.status.monitor.kafka;
 
+import io.arenadata.dtm.common.status.kafka.PartitionStatus;
+import io.arenadata.dtm.common.status.kafka.StatusListRequest;
+import io.arenadata.dtm.common.status.kafka.StatusListResponse;
 import io.arenadata.dtm.common.status.kafka.StatusRequest;
 import io.arenadata.dtm.common.status.kafka.StatusResponse;
 import io.arenadata.dtm.status.monitor.config.AppProperties;
 import kafka.common.OffsetAndMetadata;
 import kafka.coordinator.group.BaseKey;
+import kafka.coordinator.group.GroupMetadataKey;
 import kafka.coordinator.group.GroupMetadataManager;
-import kafka.coordinator.group.GroupTopicPartition;
 import kafka.coordinator.group.OffsetKey;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import lombok.val;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
@@ -44,18 +46,17 @@ import java.util.stream.IntStream;
 
 @Component
 @Slf4j
-public class KafkaMonitorImpl implements KafkaMonitor {
+public class KafkaMonitorImpl implements KafkaMonitor, DisposableBean {
     private static final String SYSTEM_TOPIC = "__consumer_offsets";
     private static final String CONSUMER_GROUP = "kafka.status.monitor";
+    private static final long UNKNOWN_OFFSET = -1;
 
-    private final KafkaConsumer<byte[], byte[]> offsetProvider;
-    private final KafkaConsumer<byte[], byte[]> lastMessageTimeProvider;
     private final AppProperties appProperties;
     private final ExecutorService consumerService;
     private final Properties consumerProperties;
+    private final TopicStateCache topicStateCache;
 
-    private final ConcurrentHashMap<TopicPartition, Long> uncommittedOffsets = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<GroupTopicPartition, OffsetAndMetadata> commitedOffsets = new ConcurrentHashMap<>();
+    private final CommittedOffsetStore commitedOffsets = new CommittedOffsetStore();
 
     public KafkaMonitorImpl(AppProperties appProperties) {
         this.appProperties = appProperties;
@@ -65,10 +66,12 @@ public class KafkaMonitorImpl implements KafkaMonitor {
         consumerService = Executors.newFixedThreadPool(appProperties.getConsumersCount());
         IntStream.range(0, appProperties.getConsumersCount()).forEach(i -> consumerService.submit(this::startConsumer));
 
-        offsetProvider = new KafkaConsumer<>(consumerProperties);
-        offsetProvider.subscribe(Collections.singletonList(SYSTEM_TOPIC));
+        topicStateCache = new TopicStateCache(appProperties, consumerProperties);
+    }
 
-        lastMessageTimeProvider = new KafkaConsumer<>(consumerProperties);
+    @Override
+    public void destroy() {
+        topicStateCache.close();
     }
 
     @SneakyThrows
@@ -78,8 +81,41 @@ public class KafkaMonitorImpl implements KafkaMonitor {
     }
 
     @Override
-    public List<StatusResponse> listAll() {
-        return null;
+    public StatusListResponse listAll(StatusListRequest request) {
+        long snapshotTime = System.currentTimeMillis();
+        List<PartitionStatus> partitions = new ArrayList<>();
+        commitedOffsets.snapshot(request.getConsumerGroup(), request.getTopic())
+            .forEach((group, topics) -> topics
+                .forEach((topic, offsets) -> offsets
+                    .forEach((partition, offset) -> partitions.add(new PartitionStatus(group, topic, partition,
+                        offset.offset(), UNKNOWN_OFFSET, UNKNOWN_OFFSET, offset.commitTimestamp())))));
+
+        int from = Math.min(Math.max(request.getOffset(), 0), partitions.size());
+        int to = request.getLimit() > 0 ? Math.min(from + request.getLimit(), partitions.size()) : partitions.size();
+        List<PartitionStatus> page = partitions.subList(from, to);
+        fillLag(page);
+        return new StatusListResponse(snapshotTime, partitions.size(), from, request.getLimit(), new ArrayList<>(page));
+    }
+
+    private void fillLag(List<PartitionStatus> page) {
+        Set<String> topics = page.stream()
+            .map(PartitionStatus::getTopic)
+            .collect(Collectors.toSet());
+        Map<TopicPartition, Long> endOffsets;
+        try {
+            endOffsets = topicStateCache.getEndOffsets(topics);
+        } catch (Exception e) {
+            log.error("Error fetching end offsets for topics {}", topics, e);
+            return;
+        }
+
+        page.forEach(status -> {
+            Long endOffset = endOffsets.get(new TopicPartition(status.getTopic(), status.getPartition()));
+            if (endOffset != null) {
+                status.setProducerOffset(endOffset);
+                status.setLag(Math.max(endOffset - status.getConsumerOffset(), 0));
+            }
+        });
     }
 
     private StatusResponse collectInfo(StatusRequest request) {
@@ -88,24 +124,14 @@ public class KafkaMonitorImpl implements KafkaMonitor {
         response.setTopic(request.getTopic());
 
         // make a local copy of current kafka state
-        List<GroupTopicPartition> partitions = commitedOffsets.keySet().stream()
-            .filter(p -> p.topicPartition().topic().equals(request.getTopic()) &&
-                p.group().equals(request.getConsumerGroup()))
-            .collect(Collectors.toList());
-
-        response.setLastMessageTime(getLastMessageTime(request.getTopic()));
+        Collection<OffsetAndMetadata> partitionOffsets =
+            new ArrayList<>(commitedOffsets.get(request.getConsumerGroup(), request.getTopic()).values());
 
-        log.debug("Fetching end offsets");
-        updateLatestOffsets(request.getTopic());
-        val endOffsets = uncommittedOffsets.entrySet().stream()
-            .filter(e -> e.getKey().topic().equals(request.getTopic()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        TopicState topicState = topicStateCache.get(request.getTopic());
+        response.setLastMessageTime(topicState.getLastMessageTime());
+        response.setProducerOffset(topicState.getProducerOffset());
 
-        endOffsets.forEach((tp, offset) -> response.setProducerOffset(response.getProducerOffset() + offset));
-        log.info(String.format("Finish fetching end offsets, received %d", endOffsets.entrySet().size()));
-
-        partitions.forEach(tp -> {
-            OffsetAndMetadata offset = commitedOffsets.get(tp);
+        partitionOffsets.forEach(offset -> {
             response.setConsumerOffset(offset.offset() + response.getConsumerOffset());
             response.setLastCommitTime(Math.max(offset.commitTimestamp(), response.getLastCommitTime()));
         });
@@ -145,66 +171,43 @@ public class KafkaMonitorImpl implements KafkaMonitor {
     private void updateOffsets(ConsumerRecord<byte[], byte[]> record) {
         byte[] key = record.key();
         byte[] value = record.value();
-        if (key == null || value == null) {
+        if (key == null) {
             return;
         }
 
         BaseKey baseKey = GroupMetadataManager.readMessageKey(ByteBuffer.wrap(key));
-        if (baseKey instanceof OffsetKey) {
+        if (baseKey instanceof GroupMetadataKey) {
+            if (value == null) {
+                // group tombstone, the group is removed by coordinator along with all of its offsets
+                String consumerGroup = ((GroupMetadataKey) baseKey).key();
+                commitedOffsets.removeGroup(consumerGroup);
+                log.debug(String.format("Received tombstone for group %s", consumerGroup));
+            }
+        } else if (baseKey instanceof OffsetKey) {
             OffsetKey offsetKey = (OffsetKey) baseKey;
             String topic = offsetKey.key().topicPartition().topic();
             String consumerGroup = offsetKey.key().group();
             int partition = offsetKey.key().topicPartition().partition();
 
+            if (value == null) {
+                // offset tombstone, written on offset expiration or deletion
+                commitedOffsets.removePartition(consumerGroup, topic, partition);
+                log.debug(String.format("Received offset tombstone for topic %s, partition %d, group %s",
+                    topic,
+                    partition,
+                    consumerGroup));
+                return;
+            }
+
             OffsetAndMetadata offset = GroupMetadataManager.readOffsetMessageValue(ByteBuffer.wrap(value));
             // Because all OffsetKey messages for specified group, topic and partition are placed into one partition,
             // so only one Consumer thread will read and update them.
             // We replay all messages from specified partition in chronological order, and we can perform simple update by key
-            commitedOffsets.put(new GroupTopicPartition(consumerGroup, topic, partition), offset);
+            commitedOffsets.put(consumerGroup, topic, partition, offset);
             log.debug(String.format("Received offset %d for topic %s, partition %d, group %s", offset.offset(),
                 topic,
                 partition,
                 consumerGroup));
         }
     }
-
-    private void updateLatestOffsets(String topicName) {
-        try {
-            synchronized (offsetProvider) {
-                List<TopicPartition> topicPartitions = offsetProvider.partitionsFor(topicName).stream()
-                    .map(partitionInfo -> new TopicPartition(topicName, partitionInfo.partition()))
-                    .collect(Collectors.toList());
-                Map<TopicPartition, Long> topicPartitionLongMap = offsetProvider.endOffsets(topicPartitions);
-                uncommittedOffsets.putAll(topicPartitionLongMap);
-            }
-        } catch (Exception e) {
-            log.error("Error updating last offsets for subscribed topic of {} ", topicName, e);
-        }
-    }
-
-    private long getLastMessageTime(String topic) {
-        long lastMessageTime = 0;
-
-        synchronized (lastMessageTimeProvider) {
-            List<TopicPartition> partitionsForRequestTopic = lastMessageTimeProvider.partitionsFor(topic).stream()
-                .map(partitionInfo -> new TopicPartition(partitionInfo.topic(), partitionInfo.partition()))
-                .collect(Collectors.toList());
-            lastMessageTimeProvider.assign(partitionsForRequestTopic);
-            lastMessageTimeProvider.seekToEnd(partitionsForRequestTopic);
-
-            partitionsForRequestTopic.forEach(tp -> {
-                long lastOffset = lastMessageTimeProvider.position(tp);
-                if (lastOffset > 0) {
-                    lastMessageTimeProvider.seek(tp, lastOffset - 1);
-                }
-            });
-
-            ConsumerRecords<byte[], byte[]> records = lastMessageTimeProvider.poll(Duration.ofMillis(100));
-            for (ConsumerRecord<byte[], byte[]> record : records) {
-                lastMessageTime = Math.max(record.timestamp(), lastMessageTime);
-            }
-        }
-        return lastMessageTime;
-    }
-
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.status.monitor.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class TopicState {
+    private final Map<TopicPartition, Long> endOffsets;
+    /**
+     * End offsets of partitions, which last messages are already accounted in lastMessageTime
+     */
+    private final Map<TopicPartition, Long> lastMessageOffsets;
+    private final long lastMessageTime;
+    private final long refreshTime;
+
+    public long getProducerOffset() {
+        return endOffsets.values().stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+}
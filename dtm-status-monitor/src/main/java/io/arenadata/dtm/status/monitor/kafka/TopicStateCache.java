@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.status.monitor.kafka;
+
+import io.arenadata.dtm.status.monitor.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * End offsets and last message time of the topics under monitoring.
+ * Topics are refreshed in background while they are requested, so status calls are served from memory
+ * as long as the cached state is not older than {@link AppProperties#getTopicMaxStalenessMs()}.
+ * Topics missing in the cache are loaded with a separate consumer, so requests don't wait for the background refresh,
+ * and concurrent requests of the same topic wait for a single load.
+ */
+@Slf4j
+public class TopicStateCache implements AutoCloseable {
+    private final AppProperties appProperties;
+    private final KafkaConsumer<byte[], byte[]> topicStateProvider;
+    private final KafkaConsumer<byte[], byte[]> topicStateLoader;
+    private final ScheduledExecutorService refreshService;
+
+    private final ConcurrentHashMap<String, TopicState> topicStates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> topicLastAccessTimes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<TopicState>> topicLoads = new ConcurrentHashMap<>();
+
+    public TopicStateCache(AppProperties appProperties, Properties consumerProperties) {
+        this.appProperties = appProperties;
+        this.topicStateProvider = new KafkaConsumer<>(consumerProperties);
+        this.topicStateLoader = new KafkaConsumer<>(consumerProperties);
+        this.refreshService = Executors.newSingleThreadScheduledExecutor();
+        refreshService.scheduleWithFixedDelay(this::refreshAll,
+            appProperties.getTopicRefreshPeriodMs(),
+            appProperties.getTopicRefreshPeriodMs(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    public TopicState get(String topic) {
+        long now = System.currentTimeMillis();
+        topicLastAccessTimes.put(topic, now);
+        TopicState state = topicStates.get(topic);
+        if (isFresh(state, now)) {
+            return state;
+        }
+
+        CompletableFuture<TopicState> load = new CompletableFuture<>();
+        CompletableFuture<TopicState> runningLoad = topicLoads.putIfAbsent(topic, load);
+        if (runningLoad != null) {
+            try {
+                return runningLoad.join();
+            } catch (CompletionException e) {
+                return getStaleState(topic, state, e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause() : e);
+            }
+        }
+
+        try {
+            // state could be refreshed while we were registering the load
+            TopicState currentState = topicStates.get(topic);
+            if (!isFresh(currentState, System.currentTimeMillis())) {
+                synchronized (topicStateLoader) {
+                    currentState = refresh(topicStateLoader, topic, currentState);
+                }
+            }
+            load.complete(currentState);
+            return currentState;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            return getStaleState(topic, state, e);
+        } finally {
+            topicLoads.remove(topic, load);
+        }
+    }
+
+    @Override
+    public void close() {
+        refreshService.shutdownNow();
+        try {
+            if (!refreshService.awaitTermination(appProperties.getTopicRefreshPeriodMs(), TimeUnit.MILLISECONDS)) {
+                log.warn("Topic state refresh is not stopped in {} ms", appProperties.getTopicRefreshPeriodMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (topicStateProvider) {
+            topicStateProvider.close();
+        }
+        synchronized (topicStateLoader) {
+            topicStateLoader.close();
+        }
+    }
+
+    private TopicState getStaleState(String topic, TopicState state, RuntimeException e) {
+        if (state == null) {
+            throw e;
+        }
+        log.error("Error refreshing state of topic {}, returning state from {}", topic, state.getRefreshTime(), e);
+        return state;
+    }
+
+    /**
+     * Returns end offsets of the topics without putting them under monitoring.
+     * Cached states are used when fresh, other topics are fetched with a single request.
+     */
+    public Map<TopicPartition, Long> getEndOffsets(Collection<String> topics) {
+        long now = System.currentTimeMillis();
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        List<String> notCachedTopics = new ArrayList<>();
+        topics.forEach(topic -> {
+            TopicState state = topicStates.get(topic);
+            if (isFresh(state, now)) {
+                endOffsets.putAll(state.getEndOffsets());
+            } else {
+                notCachedTopics.add(topic);
+            }
+        });
+
+        if (!notCachedTopics.isEmpty()) {
+            synchronized (topicStateLoader) {
+                List<TopicPartition> topicPartitions = notCachedTopics.stream()
+                    .flatMap(topic -> topicStateLoader.partitionsFor(topic).stream()
+                        .map(partitionInfo -> new TopicPartition(topic, partitionInfo.partition())))
+                    .collect(Collectors.toList());
+                endOffsets.putAll(topicStateLoader.endOffsets(topicPartitions));
+            }
+        }
+        return endOffsets;
+    }
+
+    private boolean isFresh(TopicState state, long now) {
+        return state != null && now - state.getRefreshTime() <= appProperties.getTopicMaxStalenessMs();
+    }
+
+    private void refreshAll() {
+        long now = System.currentTimeMillis();
+        topicLastAccessTimes.forEach((topic, lastAccessTime) -> {
+            if (now - lastAccessTime > appProperties.getTopicMonitoringTimeoutMs()) {
+                log.debug("Topic {} is not requested since {}, stop monitoring", topic, lastAccessTime);
+                topicLastAccessTimes.remove(topic, lastAccessTime);
+                topicStates.remove(topic);
+                return;
+            }
+
+            try {
+                synchronized (topicStateProvider) {
+                    refresh(topicStateProvider, topic, topicStates.get(topic));
+                }
+            } catch (Exception e) {
+                log.error("Error refreshing state of topic {}", topic, e);
+            }
+        });
+    }
+
+    private TopicState refresh(KafkaConsumer<byte[], byte[]> consumer, String topic, TopicState previousState) {
+        List<TopicPartition> topicPartitions = consumer.partitionsFor(topic).stream()
+            .map(partitionInfo -> new TopicPartition(topic, partitionInfo.partition()))
+            .collect(Collectors.toList());
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(topicPartitions);
+
+        // last message time can change only on partitions with new messages
+        long lastMessageTime = previousState == null ? 0 : previousState.getLastMessageTime();
+        Map<TopicPartition, Long> lastMessageOffsets = previousState == null ? new HashMap<>()
+            : new HashMap<>(previousState.getLastMessageOffsets());
+        List<TopicPartition> changedPartitions = new ArrayList<>();
+        endOffsets.forEach((tp, endOffset) -> {
+            if (endOffset == 0) {
+                lastMessageOffsets.put(tp, endOffset);
+            } else if (!endOffset.equals(lastMessageOffsets.get(tp))) {
+                changedPartitions.add(tp);
+            }
+        });
+        if (!changedPartitions.isEmpty()) {
+            lastMessageTime = Math.max(lastMessageTime, getLastMessageTime(consumer, changedPartitions, endOffsets, lastMessageOffsets));
+        }
+
+        TopicState state = new TopicState(endOffsets, lastMessageOffsets, lastMessageTime, System.currentTimeMillis());
+        topicStates.put(topic, state);
+        log.debug("Refreshed state of topic {}, partitions {}", topic, endOffsets.size());
+        return state;
+    }
+
+    private long getLastMessageTime(KafkaConsumer<byte[], byte[]> consumer,
+                                    List<TopicPartition> partitions,
+                                    Map<TopicPartition, Long> endOffsets,
+                                    Map<TopicPartition, Long> lastMessageOffsets) {
+        long lastMessageTime = 0;
+        consumer.assign(partitions);
+        partitions.forEach(tp -> consumer.seek(tp, endOffsets.get(tp) - 1));
+
+        // partitions without received records are left for the next refresh
+        ConsumerRecords<byte[], byte[]> records = consumer.poll(Duration.ofMillis(100));
+        for (ConsumerRecord<byte[], byte[]> record : records) {
+            lastMessageTime = Math.max(record.timestamp(), lastMessageTime);
+            TopicPartition tp = new TopicPartition(record.topic(), record.partition());
+            lastMessageOffsets.put(tp, endOffsets.get(tp));
+        }
+        return lastMessageTime;
+    }
+}
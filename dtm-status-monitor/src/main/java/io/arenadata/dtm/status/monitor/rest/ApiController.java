@@ -15,13 +15,20 @@
  */
 package io.arenadata.dtm.status.monitor.rest;
 
+import io.arenadata.dtm.common.status.kafka.StatusListRequest;
+import io.arenadata.dtm.common.status.kafka.StatusListResponse;
 import io.arenadata.dtm.common.status.kafka.StatusRequest;
 import io.arenadata.dtm.common.status.kafka.StatusResponse;
 import io.arenadata.dtm.common.version.VersionInfo;
 import io.arenadata.dtm.status.monitor.kafka.KafkaMonitor;
 import io.arenadata.dtm.status.monitor.version.VersionService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
 @RestController
 @RequestMapping("/")
 public class ApiController {
@@ -38,6 +45,34 @@ public class ApiController {
         return kafkaMonitor.status(request);
     }
 
+    /**
+     * Returns statuses in the order of requests, a status that could not be collected is returned as null
+     * so that the other statuses of the batch are not lost.
+     */
+    @PostMapping("/statuses")
+    public List<StatusResponse> statuses(@RequestBody List<StatusRequest> requests) {
+        return requests.stream()
+            .map(this::statusOrNull)
+            .collect(Collectors.toList());
+    }
+
+    private StatusResponse statusOrNull(StatusRequest request) {
+        try {
+            return kafkaMonitor.status(request);
+        } catch (Exception e) {
+            log.error("Error collecting status of {}", request, e);
+            return null;
+        }
+    }
+
+    @GetMapping("/list")
+    public StatusListResponse list(@RequestParam(required = false) String consumerGroup,
+                                   @RequestParam(required = false) String topic,
+                                   @RequestParam(defaultValue = "0") int offset,
+                                   @RequestParam(defaultValue = "100") int limit) {
+        return kafkaMonitor.listAll(new StatusListRequest(consumerGroup, topic, offset, limit));
+    }
+
     @GetMapping("/versions")
     public VersionInfo version() {
         return versionService.getVersionInfo();
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.status.monitor.rest;
+
+import io.arenadata.dtm.common.status.kafka.StatusRequest;
+import io.arenadata.dtm.common.status.kafka.StatusResponse;
+import io.arenadata.dtm.status.monitor.kafka.KafkaMonitor;
+import io.arenadata.dtm.status.monitor.version.VersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiControllerTest {
+    @Mock
+    private KafkaMonitor kafkaMonitor;
+    @Mock
+    private VersionService versionService;
+    private ApiController apiController;
+
+    @BeforeEach
+    void setUp() {
+        apiController = new ApiController(kafkaMonitor, versionService);
+    }
+
+    @Test
+    void shouldReturnStatusesInRequestOrder() {
+        // arrange
+        StatusRequest first = new StatusRequest("topic1", "group");
+        StatusRequest second = new StatusRequest("topic2", "group");
+        when(kafkaMonitor.status(first)).thenReturn(statusResponse(first));
+        when(kafkaMonitor.status(second)).thenReturn(statusResponse(second));
+
+        // act
+        List<StatusResponse> statuses = apiController.statuses(Arrays.asList(first, second));
+
+        // assert
+        assertEquals(2, statuses.size());
+        assertEquals("topic1", statuses.get(0).getTopic());
+        assertEquals("topic2", statuses.get(1).getTopic());
+    }
+
+    @Test
+    void shouldReturnNullForFailedStatusOnly() {
+        // arrange
+        StatusRequest failed = new StatusRequest("topic1", "group");
+        StatusRequest succeeded = new StatusRequest("topic2", "group");
+        when(kafkaMonitor.status(failed)).thenThrow(new IllegalStateException("Topic is not available"));
+        when(kafkaMonitor.status(succeeded)).thenReturn(statusResponse(succeeded));
+
+        // act
+        List<StatusResponse> statuses = apiController.statuses(Arrays.asList(failed, succeeded));
+
+        // assert
+        assertEquals(2, statuses.size());
+        assertNull(statuses.get(0));
+        assertEquals("topic2", statuses.get(1).getTopic());
+    }
+
+    private StatusResponse statusResponse(StatusRequest request) {
+        StatusResponse response = new StatusResponse();
+        response.setTopic(request.getTopic());
+        response.setConsumerGroup(request.getConsumerGroup());
+        return response;
+    }
+}
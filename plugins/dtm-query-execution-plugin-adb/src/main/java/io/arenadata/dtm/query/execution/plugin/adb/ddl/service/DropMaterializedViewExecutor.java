@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adb.ddl.service;
+
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.SynchronizeDestinationExecutorDelegate;
+import io.arenadata.dtm.query.execution.plugin.api.request.DdlRequest;
+import io.arenadata.dtm.query.execution.plugin.api.service.DdlExecutor;
+import io.arenadata.dtm.query.execution.plugin.api.service.DdlService;
+import io.vertx.core.Future;
+import org.apache.calcite.sql.SqlKind;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Releases synchronization resources of a dropped materialized view built from ADB,
+ * the view itself is dropped in its destinations.
+ */
+@Component
+public class DropMaterializedViewExecutor implements DdlExecutor<Void> {
+
+    private final SynchronizeDestinationExecutorDelegate synchronizeDestinationExecutorDelegate;
+
+    @Autowired
+    public DropMaterializedViewExecutor(SynchronizeDestinationExecutorDelegate synchronizeDestinationExecutorDelegate) {
+        this.synchronizeDestinationExecutorDelegate = synchronizeDestinationExecutorDelegate;
+    }
+
+    @Override
+    public Future<Void> execute(DdlRequest request) {
+        return synchronizeDestinationExecutorDelegate.release(request.getDatamartMnemonic(), request.getEntity());
+    }
+
+    @Override
+    public SqlKind getSqlKind() {
+        return SqlKind.DROP_MATERIALIZED_VIEW;
+    }
+
+    @Override
+    @Autowired
+    public void register(@Qualifier("adbDdlService") DdlService<Void> service) {
+        service.addExecutor(this);
+    }
+}
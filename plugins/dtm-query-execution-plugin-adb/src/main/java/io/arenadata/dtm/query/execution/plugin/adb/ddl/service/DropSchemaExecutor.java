@@ -17,6 +17,7 @@ package io.arenadata.dtm.query.execution.plugin.adb.ddl.service;
 
 import io.arenadata.dtm.query.execution.plugin.adb.ddl.factory.DdlSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.SynchronizeDestinationExecutorDelegate;
 import io.arenadata.dtm.query.execution.plugin.api.request.DdlRequest;
 import io.arenadata.dtm.query.execution.plugin.api.service.DdlExecutor;
 import io.arenadata.dtm.query.execution.plugin.api.service.DdlService;
@@ -31,17 +32,22 @@ public class DropSchemaExecutor implements DdlExecutor<Void> {
 
     private final DatabaseExecutor adbQueryExecutor;
     private final DdlSqlFactory sqlFactory;
+    private final SynchronizeDestinationExecutorDelegate synchronizeDestinationExecutorDelegate;
 
     @Autowired
-    public DropSchemaExecutor(@Qualifier("adbQueryExecutor") DatabaseExecutor adbQueryExecutor, DdlSqlFactory sqlFactory) {
+    public DropSchemaExecutor(@Qualifier("adbQueryExecutor") DatabaseExecutor adbQueryExecutor,
+                              DdlSqlFactory sqlFactory,
+                              SynchronizeDestinationExecutorDelegate synchronizeDestinationExecutorDelegate) {
         this.adbQueryExecutor = adbQueryExecutor;
         this.sqlFactory = sqlFactory;
+        this.synchronizeDestinationExecutorDelegate = synchronizeDestinationExecutorDelegate;
     }
 
     @Override
     public Future<Void> execute(DdlRequest request) {
         return createDropQuery(request.getDatamartMnemonic())
-                .compose(adbQueryExecutor::executeUpdate);
+                .compose(adbQueryExecutor::executeUpdate)
+                .onSuccess(v -> synchronizeDestinationExecutorDelegate.releaseDatamart(request.getDatamartMnemonic()));
     }
 
     private Future<String> createDropQuery(String datamartMnemonic) {
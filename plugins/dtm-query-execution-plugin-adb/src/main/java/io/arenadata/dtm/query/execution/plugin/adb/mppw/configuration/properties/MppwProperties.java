@@ -28,4 +28,14 @@ public class MppwProperties {
     private long stopTimeoutMs = 864_00_000L;
     private long fdwTimeoutMs = 1000L;
     private long defaultMessageLimit = 100L;
+    /**
+     * Chunks read from Kafka and not yet transferred to the actual table, reading of the next chunk overlaps
+     * with transfer of the previous ones. Every chunk past the first is staged in its own table created for the load.
+     * 1 reads and transfers chunks one after another
+     */
+    private int maxInFlightChunks = 1;
+    /**
+     * Foreign tables the topic partitions are split between, chunks are read through them concurrently
+     */
+    private int partitionGroups = 1;
 }
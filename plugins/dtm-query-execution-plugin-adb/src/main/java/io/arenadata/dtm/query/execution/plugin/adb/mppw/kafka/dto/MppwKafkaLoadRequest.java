@@ -48,4 +48,5 @@ public class MppwKafkaLoadRequest implements Serializable {
     private String consumerGroup;
     Long uploadMessageLimit;
     Long timeout;
+    private int partitionGroups;
 }
@@ -24,7 +24,7 @@ import java.io.Serializable;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class TransferDataRequest implements Serializable {
@@ -33,4 +33,8 @@ public class TransferDataRequest implements Serializable {
     private String tableName;
     private List<String> columnList;
     private List<String> keyColumnList;
+    /**
+     * Staging table the data is transferred from, {@code <tableName>_staging} if not set
+     */
+    private String stagingTableName;
 }
@@ -30,8 +30,13 @@ public interface KafkaMppwSqlFactory extends MppwSqlFactory {
 
     String insertIntoKadbOffsetsSqlQuery(String schema, String table);
 
+    /**
+     * Assigns to the foreign table the topic partitions of its group, all partitions if there is a single group
+     */
+    String insertIntoKadbOffsetsSqlQuery(String schema, String table, int partitionGroup, int partitionGroups);
+
     String createExtTableSqlQuery(String server, List<String> columnNameTypeList, MppwKafkaRequest request,
-                                  MppwProperties mppwProperties);
+                                  MppwProperties mppwProperties, int partitionGroup);
 
     String checkServerSqlQuery(String database, String brokerList);
 
@@ -41,9 +46,21 @@ public interface KafkaMppwSqlFactory extends MppwSqlFactory {
 
     String dropExtTableSqlQuery(String schema, String table);
 
-    String insertIntoStagingTableSqlQuery(String schema, String columns, String table, String extTable);
+    String insertIntoStagingTableSqlQuery(String schema, String columns, String stagingTable, String extTable);
+
+    /**
+     * Name of the staging table used for the chunk buffer, buffer 0 is the staging table of the entity
+     * and the others are created for the load
+     */
+    String getStagingTableName(String table, int buffer);
+
+    String createStagingBufferSqlQuery(String schema, String table, int buffer);
+
+    String dropStagingBufferSqlQuery(String schema, String table, int buffer);
 
     String getTableName(String requestId);
 
+    String getTableName(String requestId, int partitionGroup);
+
     String getServerName(String database, UUID requestId);
 }
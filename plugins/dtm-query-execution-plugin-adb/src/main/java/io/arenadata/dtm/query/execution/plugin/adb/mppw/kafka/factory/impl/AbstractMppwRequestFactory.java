@@ -22,6 +22,7 @@ import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.factory.MppwReques
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static io.arenadata.dtm.query.execution.plugin.adb.base.factory.Constants.STAGING_TABLE;
 import static io.arenadata.dtm.query.execution.plugin.adb.base.factory.Constants.SYS_FROM_ATTR;
 
 public abstract class AbstractMppwRequestFactory implements MppwRequestFactory<AdbKafkaMppwTransferRequest> {
@@ -31,4 +32,9 @@ public abstract class AbstractMppwRequestFactory implements MppwRequestFactory<A
                 .map(fieldName -> SYS_FROM_ATTR.equals(fieldName) ? String.valueOf(request.getHotDelta()) : fieldName)
                 .collect(Collectors.toList());
     }
+
+    protected String getStagingTableName(TransferDataRequest request) {
+        return request.getStagingTableName() != null ? request.getStagingTableName()
+                : request.getTableName() + "_" + STAGING_TABLE;
+    }
 }
@@ -40,6 +40,7 @@ public class KafkaMppwSqlFactoryImpl implements KafkaMppwSqlFactory {
     private static final String DELIMITER = ", ";
     private static final String DROP_FOREIGN_TABLE_SQL = "DROP FOREIGN TABLE IF EXISTS %s.%s";
     private static final String INSERT_INTO_KADB_OFFSETS = "insert into kadb.offsets SELECT * from kadb.load_partitions('%s.%s'::regclass::oid)";
+    private static final String PARTITION_GROUP_CONDITION = " WHERE prt %% %d = %d";
     private static final String MOVE_TO_OFFSETS_FOREIGN_TABLE_SQL = "SELECT kadb.offsets_to_committed('%s.%s'::regclass::oid)";
     private static final String CREATE_FOREIGN_TABLE_SQL =
             "CREATE FOREIGN TABLE %s.%s (%s)\n" +
@@ -69,6 +70,8 @@ public class KafkaMppwSqlFactoryImpl implements KafkaMppwSqlFactory {
                     "  k_brokers '%s'\n" +
                     ")";
     private static final String INSERT_INTO_STAGING_TABLE_SQL = "INSERT INTO %s.%s (%s) SELECT %s FROM %s.%s";
+    private static final String CREATE_STAGING_BUFFER_SQL = "CREATE TABLE %s.%s (LIKE %s.%s)";
+    private static final String DROP_STAGING_BUFFER_SQL = "DROP TABLE IF EXISTS %s.%s";
 
     @Override
     public String moveOffsetsExtTableSqlQuery(String schema, String table) {
@@ -85,13 +88,20 @@ public class KafkaMppwSqlFactoryImpl implements KafkaMppwSqlFactory {
         return String.format(INSERT_INTO_KADB_OFFSETS, schema, table);
     }
 
+    @Override
+    public String insertIntoKadbOffsetsSqlQuery(String schema, String table, int partitionGroup, int partitionGroups) {
+        val sql = insertIntoKadbOffsetsSqlQuery(schema, table);
+        return partitionGroups > 1 ? sql + String.format(PARTITION_GROUP_CONDITION, partitionGroups, partitionGroup) : sql;
+    }
+
     @Override
     public String createExtTableSqlQuery(String server,
                                          List<String> columnNameTypeList,
                                          MppwKafkaRequest request,
-                                         MppwProperties mppwProperties) {
+                                         MppwProperties mppwProperties,
+                                         int partitionGroup) {
         val schema = request.getDatamartMnemonic();
-        val table = WRITABLE_EXT_TABLE_PREF + getUuidString(request.getRequestId());
+        val table = getTableName(request.getRequestId().toString(), partitionGroup);
         val columns = String.join(DELIMITER, columnNameTypeList);
         val format = request.getUploadMetadata().getFormat().getName();
         val topic = request.getTopic();
@@ -137,16 +147,38 @@ public class KafkaMppwSqlFactoryImpl implements KafkaMppwSqlFactory {
     }
 
     @Override
-    public String insertIntoStagingTableSqlQuery(String schema, String columns, String table, String extTable) {
-        val stagingTable = table + TABLE_POSTFIX_DELIMITER + STAGING_TABLE;
+    public String insertIntoStagingTableSqlQuery(String schema, String columns, String stagingTable, String extTable) {
         return String.format(INSERT_INTO_STAGING_TABLE_SQL, schema, stagingTable, columns, columns, schema, extTable);
     }
 
+    @Override
+    public String getStagingTableName(String table, int buffer) {
+        val stagingTable = table + TABLE_POSTFIX_DELIMITER + STAGING_TABLE;
+        return buffer == 0 ? stagingTable : stagingTable + TABLE_POSTFIX_DELIMITER + buffer;
+    }
+
+    @Override
+    public String createStagingBufferSqlQuery(String schema, String table, int buffer) {
+        return String.format(CREATE_STAGING_BUFFER_SQL, schema, getStagingTableName(table, buffer),
+                schema, getStagingTableName(table, 0));
+    }
+
+    @Override
+    public String dropStagingBufferSqlQuery(String schema, String table, int buffer) {
+        return String.format(DROP_STAGING_BUFFER_SQL, schema, getStagingTableName(table, buffer));
+    }
+
     @Override
     public String getTableName(String requestId) {
         return WRITABLE_EXT_TABLE_PREF + requestId.replace("-", "_");
     }
 
+    @Override
+    public String getTableName(String requestId, int partitionGroup) {
+        val table = getTableName(requestId);
+        return partitionGroup == 0 ? table : table + TABLE_POSTFIX_DELIMITER + partitionGroup;
+    }
+
     @Override
     public String getServerName(String database, UUID requestId) {
         return String.format(SERVER_NAME_TEMPLATE, database + "_" + getUuidString(requestId));
@@ -65,6 +65,7 @@ public class MppwKafkaLoadRequestFactoryImpl implements MppwKafkaLoadRequestFact
             .topic(request.getTopic())
             .uploadMessageLimit(mppwProperties.getDefaultMessageLimit())
             .server(server)
+            .partitionGroups(mppwProperties.getPartitionGroups())
             .build();
     }
 
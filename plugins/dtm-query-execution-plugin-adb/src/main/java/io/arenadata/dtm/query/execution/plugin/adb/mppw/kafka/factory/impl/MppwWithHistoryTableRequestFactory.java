@@ -29,19 +29,19 @@ public class MppwWithHistoryTableRequestFactory extends AbstractMppwRequestFacto
     private static final String INSERT_HISTORY_SQL = "INSERT INTO %s.%s_history (%s)\n" +
         "SELECT %s\n" +
         "FROM %s.%s_actual a\n" +
-        "         INNER JOIN (SELECT DISTINCT * FROM %s.%s_staging) s ON\n" +
+        "         INNER JOIN (SELECT DISTINCT * FROM %s.%s) s ON\n" +
         "    %s";
 
     private static final String DELETE_ACTUAL_SQL = "DELETE\n" +
-        "FROM %s.%s_actual a USING %s.%s_staging s\n" +
+        "FROM %s.%s_actual a USING %s.%s s\n" +
         "WHERE %s";
 
     private static final String INSERT_ACTUAL_SQL = "INSERT INTO %s.%s_actual (%s)\n" +
         "SELECT DISTINCT %s\n" +
-        "FROM %s.%s_staging\n" +
-        "WHERE %s.%s_staging.sys_op <> 1";
+        "FROM %s.%s\n" +
+        "WHERE %s.%s.sys_op <> 1";
 
-    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE %s.%s_staging";
+    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE %s.%s";
 
     @Override
     public AdbKafkaMppwTransferRequest create(TransferDataRequest request) {
@@ -61,16 +61,17 @@ public class MppwWithHistoryTableRequestFactory extends AbstractMppwRequestFacto
             .collect(Collectors.joining(" AND "));
 
         String columnsString = String.join(",", request.getColumnList());
+        String stagingTable = getStagingTableName(request);
 
         String insertHistorySql = String.format(INSERT_HISTORY_SQL,
             request.getDatamart(), request.getTableName(), columnsString,
             actualColumns,
             request.getDatamart(), request.getTableName(),
-            request.getDatamart(), request.getTableName(),
+            request.getDatamart(), stagingTable,
             joinConditionInsert);
 
         String deleteActualSql = String.format(DELETE_ACTUAL_SQL,
-            request.getDatamart(), request.getTableName(), request.getDatamart(), request.getTableName(),
+            request.getDatamart(), request.getTableName(), request.getDatamart(), stagingTable,
             joinConditionDelete);
 
         String stagingColumnsString = String.join(",", getStagingColumnList(request));
@@ -78,11 +79,11 @@ public class MppwWithHistoryTableRequestFactory extends AbstractMppwRequestFacto
         String insertActualSql = String.format(INSERT_ACTUAL_SQL,
             request.getDatamart(), request.getTableName(), columnsString,
             stagingColumnsString,
-            request.getDatamart(), request.getTableName(),
-            request.getDatamart(), request.getTableName());
+            request.getDatamart(), stagingTable,
+            request.getDatamart(), stagingTable);
 
         String truncateStagingSql = String.format(TRUNCATE_STAGING_SQL,
-            request.getDatamart(), request.getTableName());
+            request.getDatamart(), stagingTable);
 
         return new AdbKafkaMppwTransferRequest(
             Arrays.asList(
@@ -35,22 +35,23 @@ public class MppwWithoutHistoryTableRequestFactory extends AbstractMppwRequestFa
             "  sys_op = staging.sys_op\n" +
             "FROM (\n" +
             "  SELECT ${primaryKeyFields}, MAX(sys_op) as sys_op\n" +
-            "  FROM ${datamart}.${table}_staging\n" +
+            "  FROM ${datamart}.${staging}\n" +
             "  GROUP BY ${primaryKeyFields}\n" +
             ") staging\n" +
             "WHERE ${primaryKeysCondition} AND\n" +
             "      actual.sys_from < ${sysCn} AND actual.sys_to IS NULL";
     private static final String INSERT_ACTUAL_SQL = "INSERT INTO ${datamart}.${table}_actual (${allFields})\n" +
-            "  SELECT DISTINCT ON (${primaryKeyStageFields}) ${allStagingFields}, ${sysCn} AS sys_from, 0 AS sys_op FROM ${datamart}.${table}_staging staging\n" +
+            "  SELECT DISTINCT ON (${primaryKeyStageFields}) ${allStagingFields}, ${sysCn} AS sys_from, 0 AS sys_op FROM ${datamart}.${staging} staging\n" +
             "    LEFT JOIN ${datamart}.${table}_actual actual ON ${primaryKeysCondition} AND actual.sys_from = ${sysCn}\n" +
             "  WHERE actual.sys_from IS NULL AND staging.sys_op <> 1";
-    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE %s.%s_staging";
+    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE %s.%s";
 
     @Override
     public AdbKafkaMppwTransferRequest create(TransferDataRequest request) {
 
         String sysFrom = String.valueOf(request.getHotDelta() - 1);
         String sysCn = String.valueOf(request.getHotDelta());
+        String stagingTable = getStagingTableName(request);
         String primaryKeyFields = request.getKeyColumnList().stream()
                 .filter(columnName -> !SYS_FROM_ATTR.equals(columnName))
                 .collect(Collectors.joining(", "));
@@ -63,6 +64,7 @@ public class MppwWithoutHistoryTableRequestFactory extends AbstractMppwRequestFa
         String insertHistorySql = INSERT_HISTORY_SQL
                 .replace("${datamart}", request.getDatamart())
                 .replace("${table}", request.getTableName())
+                .replace("${staging}", stagingTable)
                 .replace("${sysFrom}", sysFrom)
                 .replace("${sysCn}", sysCn)
                 .replace("${primaryKeyFields}", primaryKeyFields)
@@ -91,6 +93,7 @@ public class MppwWithoutHistoryTableRequestFactory extends AbstractMppwRequestFa
         String insertActualSql = INSERT_ACTUAL_SQL
                 .replace("${datamart}", request.getDatamart())
                 .replace("${table}", request.getTableName())
+                .replace("${staging}", stagingTable)
                 .replace("${allFields}", allColumnsStr)
                 .replace("${primaryKeyStageFields}", primaryKeyStageFields)
                 .replace("${allStagingFields}", allStagingFields)
@@ -98,7 +101,7 @@ public class MppwWithoutHistoryTableRequestFactory extends AbstractMppwRequestFa
                 .replace("${primaryKeysCondition}", primaryKeysCondition);
 
         String truncateStagingSql = String.format(TRUNCATE_STAGING_SQL,
-                request.getDatamart(), request.getTableName());
+                request.getDatamart(), stagingTable);
 
         return new AdbKafkaMppwTransferRequest(
                 Collections.singletonList(PreparedStatementRequest.onlySql(insertHistorySql)),
@@ -87,9 +87,10 @@ public class AdbMppwStartRequestExecutorImpl implements AdbMppwRequestExecutor {
         return Future.future((Promise<QueryResult> promise) -> {
             List<KafkaBrokerInfo> brokers = request.getBrokers();
             getOrCreateServer(brokers, dbName, request.getRequestId())
-                    .compose(server -> createWritableExternalTable(request, server))
+                    .compose(server -> createWritableExternalTables(request, server))
+                    .compose(server -> createStagingBuffers(request).map(v -> server))
                     .map(server -> createMppwKafkaRequestContext(request, server))
-                    .compose(kafkaContext -> moveOffsetsExtTable(request).map(v -> kafkaContext))
+                    .compose(kafkaContext -> moveOffsetsExtTables(request).map(v -> kafkaContext))
                     .onSuccess(kafkaContext -> {
                         vertx.eventBus().request(MppwTopic.KAFKA_START.getValue(), Json.encode(kafkaContext));
                         log.debug("Mppw started successfully");
@@ -122,24 +123,60 @@ public class AdbMppwStartRequestExecutorImpl implements AdbMppwRequestExecutor {
                 .map(v -> kafkaMppwSqlFactory.getServerName(currentDatabase, requestId));
     }
 
-    private Future<String> createWritableExternalTable(MppwKafkaRequest request, String server) {
+    private Future<String> createWritableExternalTables(MppwKafkaRequest request, String server) {
+        Future<Void> result = Future.succeededFuture();
+        for (int partitionGroup = 0; partitionGroup < getPartitionGroups(); partitionGroup++) {
+            val group = partitionGroup;
+            result = result.compose(v -> createWritableExternalTable(request, server, group));
+        }
+        return result.map(v -> server);
+    }
+
+    private Future<Void> createWritableExternalTable(MppwKafkaRequest request, String server, int partitionGroup) {
         val sourceEntity = request.getSourceEntity();
         val columns = kafkaMppwSqlFactory.getColumnsFromEntity(sourceEntity);
         columns.add("sys_op int");
         return adbQueryExecutor.executeUpdate(kafkaMppwSqlFactory.createExtTableSqlQuery(server,
                 columns,
                 request,
-                mppwProperties))
-                .map(v -> server);
+                mppwProperties,
+                partitionGroup));
+    }
+
+    private Future<Void> createStagingBuffers(MppwKafkaRequest request) {
+        val schema = request.getDatamartMnemonic();
+        val table = request.getDestinationEntity().getName();
+        Future<Void> result = Future.succeededFuture();
+        for (int buffer = 1; buffer < mppwProperties.getMaxInFlightChunks(); buffer++) {
+            val dropBufferSql = kafkaMppwSqlFactory.dropStagingBufferSqlQuery(schema, table, buffer);
+            val createBufferSql = kafkaMppwSqlFactory.createStagingBufferSqlQuery(schema, table, buffer);
+            result = result.compose(v -> adbQueryExecutor.executeUpdate(dropBufferSql))
+                    .compose(v -> adbQueryExecutor.executeUpdate(createBufferSql));
+        }
+        return result;
+    }
+
+    private Future<Void> moveOffsetsExtTables(MppwKafkaRequest request) {
+        Future<Void> result = Future.succeededFuture();
+        for (int partitionGroup = 0; partitionGroup < getPartitionGroups(); partitionGroup++) {
+            val group = partitionGroup;
+            result = result.compose(v -> moveOffsetsExtTable(request, group));
+        }
+        return result;
     }
 
-    private Future<Void> moveOffsetsExtTable(MppwKafkaRequest request) {
+    private Future<Void> moveOffsetsExtTable(MppwKafkaRequest request, int partitionGroup) {
         val schema = request.getDatamartMnemonic();
-        val table = kafkaMppwSqlFactory.getTableName(request.getRequestId().toString());
-        return adbQueryExecutor.executeUpdate(kafkaMppwSqlFactory.insertIntoKadbOffsetsSqlQuery(schema, table))
+        val table = kafkaMppwSqlFactory.getTableName(request.getRequestId().toString(), partitionGroup);
+        return adbQueryExecutor.executeUpdate(kafkaMppwSqlFactory.insertIntoKadbOffsetsSqlQuery(schema, table,
+                partitionGroup, getPartitionGroups()))
                 .compose(v -> adbQueryExecutor.executeUpdate(kafkaMppwSqlFactory.moveOffsetsExtTableSqlQuery(schema, table)));
     }
 
+    private int getPartitionGroups() {
+        return Math.max(1, mppwProperties.getPartitionGroups());
+    }
+
     private MppwKafkaRequestContext createMppwKafkaRequestContext(MppwKafkaRequest request, String server) {
         final MppwKafkaLoadRequest mppwKafkaLoadRequest =
                 mppwKafkaLoadRequestFactory.create(request, server, mppwProperties);
@@ -29,6 +29,7 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.DeliveryOptions;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -59,7 +60,8 @@ public class AdbMppwStopRequestExecutorImpl implements AdbMppwRequestExecutor {
                 MppwTopic.KAFKA_STOP.getValue(),
                 request.getRequestId().toString(),
                 new DeliveryOptions().setSendTimeout(mppwProperties.getStopTimeoutMs()),
-                ar -> dropExtTable(request)
+                ar -> dropExtTables(request)
+                        .compose(v -> dropStagingBuffers(request))
                         .onSuccess(v -> {
                             if (ar.succeeded()) {
                                 log.debug("Mppw kafka stopped successfully");
@@ -71,10 +73,30 @@ public class AdbMppwStopRequestExecutorImpl implements AdbMppwRequestExecutor {
                         .onFailure(error -> promise.fail(new MppwDatasourceException("Error stopping mppw kafka", error)))));
     }
 
-    private Future<Void> dropExtTable(MppwRequest request) {
+    private Future<Void> dropStagingBuffers(MppwRequest request) {
+        val schema = request.getDatamartMnemonic();
+        val table = request.getDestinationEntity().getName();
+        Future<Void> result = Future.succeededFuture();
+        for (int buffer = 1; buffer < mppwProperties.getMaxInFlightChunks(); buffer++) {
+            val dropBufferSql = kafkaMppwSqlFactory.dropStagingBufferSqlQuery(schema, table, buffer);
+            result = result.compose(v -> adbQueryExecutor.executeUpdate(dropBufferSql));
+        }
+        return result;
+    }
+
+    private Future<Void> dropExtTables(MppwRequest request) {
+        Future<Void> result = Future.succeededFuture();
+        for (int partitionGroup = 0; partitionGroup < Math.max(1, mppwProperties.getPartitionGroups()); partitionGroup++) {
+            val group = partitionGroup;
+            result = result.compose(v -> dropExtTable(request, group));
+        }
+        return result;
+    }
+
+    private Future<Void> dropExtTable(MppwRequest request, int partitionGroup) {
         return Future.future(promise ->
                 adbQueryExecutor.executeUpdate(kafkaMppwSqlFactory.dropExtTableSqlQuery(request.getDatamartMnemonic(),
-                        kafkaMppwSqlFactory.getTableName(request.getRequestId().toString())))
+                        kafkaMppwSqlFactory.getTableName(request.getRequestId().toString(), partitionGroup)))
                         .onComplete(promise));
     }
 }
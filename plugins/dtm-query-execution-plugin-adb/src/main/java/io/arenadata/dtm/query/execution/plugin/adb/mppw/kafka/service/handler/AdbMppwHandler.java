@@ -20,5 +20,13 @@ import io.vertx.core.Future;
 
 public interface AdbMppwHandler {
 
-    Future<Void> handle(MppwKafkaRequestContext requestContext);
+    /**
+     * Reads the next chunk of messages from Kafka into the staging buffer and commits their offsets
+     */
+    Future<Void> readChunk(MppwKafkaRequestContext requestContext, int buffer);
+
+    /**
+     * Transfers the chunk from the staging buffer to the actual table, the buffer is empty afterwards
+     */
+    Future<Void> transferChunk(MppwKafkaRequestContext requestContext, int buffer);
 }
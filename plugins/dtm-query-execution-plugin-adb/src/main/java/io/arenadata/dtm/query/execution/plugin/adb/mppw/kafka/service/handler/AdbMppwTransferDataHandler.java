@@ -20,6 +20,7 @@ import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.MppwKafkaReque
 import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.factory.KafkaMppwSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.service.executor.AdbMppwDataTransferService;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -27,6 +28,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 @Component("adbMppwTransferDataHandler")
 @Slf4j
 public class AdbMppwTransferDataHandler implements AdbMppwHandler {
@@ -44,29 +49,44 @@ public class AdbMppwTransferDataHandler implements AdbMppwHandler {
         this.mppwDataTransferService = mppwDataTransferService;
     }
 
+    /**
+     * Every partition group is read through its own foreign table, groups are inserted into the staging buffer
+     * concurrently and then transferred together
+     */
     @Override
-    public Future<Void> handle(MppwKafkaRequestContext requestContext) {
-        return insertIntoStagingTable(requestContext.getMppwKafkaLoadRequest())
-                .compose(v -> commitKafkaMessages(requestContext))
-                .compose(s -> mppwDataTransferService.execute(requestContext.getTransferDataRequest()));
+    public Future<Void> readChunk(MppwKafkaRequestContext requestContext, int buffer) {
+        val request = requestContext.getMppwKafkaLoadRequest();
+        List<Future> groupReads = IntStream.range(0, Math.max(1, request.getPartitionGroups()))
+                .mapToObj(partitionGroup -> insertIntoStagingTable(request, partitionGroup, buffer)
+                        .compose(v -> commitKafkaMessages(request, partitionGroup)))
+                .collect(Collectors.toList());
+        return CompositeFuture.join(groupReads).mapEmpty();
     }
 
-    private Future<Void> commitKafkaMessages(MppwKafkaRequestContext requestContext) {
+    @Override
+    public Future<Void> transferChunk(MppwKafkaRequestContext requestContext, int buffer) {
+        val transferDataRequest = requestContext.getTransferDataRequest();
+        return mppwDataTransferService.execute(transferDataRequest.toBuilder()
+                .stagingTableName(kafkaMppwSqlFactory.getStagingTableName(transferDataRequest.getTableName(), buffer))
+                .build());
+    }
+
+    private Future<Void> commitKafkaMessages(MppwKafkaLoadRequest request, int partitionGroup) {
         return Future.future(promise -> {
-            val schema = requestContext.getMppwKafkaLoadRequest().getDatamart();
-            val table = kafkaMppwSqlFactory.getTableName(requestContext.getMppwKafkaLoadRequest().getRequestId());
+            val schema = request.getDatamart();
+            val table = kafkaMppwSqlFactory.getTableName(request.getRequestId(), partitionGroup);
             val commitOffsetsSql = kafkaMppwSqlFactory.commitOffsetsSqlQuery(schema, table);
             adbQueryExecutor.executeUpdate(commitOffsetsSql)
                     .onComplete(promise);
         });
     }
 
-    private Future<Void> insertIntoStagingTable(MppwKafkaLoadRequest request) {
+    private Future<Void> insertIntoStagingTable(MppwKafkaLoadRequest request, int partitionGroup, int buffer) {
         return Future.future(promise -> {
             val schema = request.getDatamart();
             val columns = String.join(", ", request.getColumns());
-            val extTable = request.getWritableExtTableName().replace("-", "_");
-            val stagingTable = request.getTableName();
+            val extTable = kafkaMppwSqlFactory.getTableName(request.getRequestId(), partitionGroup);
+            val stagingTable = kafkaMppwSqlFactory.getStagingTableName(request.getTableName(), buffer);
             adbQueryExecutor.executeUpdate(kafkaMppwSqlFactory.insertIntoStagingTableSqlQuery(schema,
                     columns,
                     stagingTable,
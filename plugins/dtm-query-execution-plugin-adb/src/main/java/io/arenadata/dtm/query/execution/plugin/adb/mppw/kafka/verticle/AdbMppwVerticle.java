@@ -54,7 +54,7 @@ public class AdbMppwVerticle extends AbstractVerticle {
                 .setWorker(true);
         for (int i = 0; i < this.mppwProperties.getPoolSize(); i++) {
             vertx.deployVerticle(new AdbMppwWorker(this.requestMap, this.resultMap,
-                    this.mppwTransferDataHandler), options, ar -> {
+                    this.mppwTransferDataHandler, this.mppwProperties.getMaxInFlightChunks()), options, ar -> {
                 if (ar.succeeded()) {
                     log.debug("Mppw workers deployed successfully");
                 } else {
@@ -23,9 +23,12 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.Json;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 
 @Slf4j
@@ -35,12 +38,14 @@ public class AdbMppwWorker extends AbstractVerticle {
     private final Map<String, MppwKafkaRequestContext> requestMap;
     private final Map<String, Future> resultMap;
     private final AdbMppwHandler mppwTransferDataHandler;
+    private final int maxInFlightChunks;
 
     public AdbMppwWorker(Map<String, MppwKafkaRequestContext> requestMap, Map<String, Future> resultMap,
-                         AdbMppwHandler mppwTransferDataHandler) {
+                         AdbMppwHandler mppwTransferDataHandler, int maxInFlightChunks) {
         this.requestMap = requestMap;
         this.resultMap = resultMap;
         this.mppwTransferDataHandler = mppwTransferDataHandler;
+        this.maxInFlightChunks = Math.max(1, maxInFlightChunks);
     }
 
     @Override
@@ -80,19 +85,59 @@ public class AdbMppwWorker extends AbstractVerticle {
         val requestContext = requestMap.get(requestId);
         if (requestContext != null) {
             log.debug("Received requestId: {}, found requestContext in map: {}", requestId, requestContext);
-            Promise<?> promise = Promise.promise();
+            Promise<Void> promise = Promise.promise();
             resultMap.put(requestId, promise.future());
-            mppwTransferDataHandler.handle(requestContext)
-                    .onSuccess(s -> {
-                        log.debug("Request executed successfully: {}", requestContext.getMppwKafkaLoadRequest());
-                        vertx.eventBus().request(MppwTopic.KAFKA_TRANSFER_DATA.getValue(),
-                                requestContext.getMppwKafkaLoadRequest().getRequestId());
-                        promise.complete();
-                    })
-                    .onFailure(err -> {
-                        log.error("Error transferring data: {}", requestContext.getMppwKafkaLoadRequest(), err);
-                        promise.fail(err);
-                    });
+            readNextChunk(new TransferState(requestContext, promise));
         }
     }
+
+    /**
+     * Reads chunks until the load is stopped. Transfer of each chunk is chained after the transfer of the previous one,
+     * so the next chunk is read from Kafka while the previous ones are transferred to the actual table.
+     * A staging buffer is reused only after the chunk read into it is transferred.
+     */
+    private void readNextChunk(TransferState state) {
+        val loadRequest = state.requestContext.getMppwKafkaLoadRequest();
+        if (state.lastTransfer.failed()) {
+            log.error("Error transferring data: {}", loadRequest, state.lastTransfer.cause());
+            state.promise.fail(state.lastTransfer.cause());
+            return;
+        }
+        if (resultMap.get(loadRequest.getRequestId()) != state.promise.future()) {
+            log.debug("Mppw kafka stopped, finishing transfer of chunks already read: {}", loadRequest);
+            state.lastTransfer.onComplete(state.promise);
+            return;
+        }
+
+        val chunk = state.chunk++;
+        val buffer = (int) (chunk % maxInFlightChunks);
+        Future<Void> bufferReleased = state.inFlight.size() < maxInFlightChunks
+                ? Future.succeededFuture()
+                : state.inFlight.poll();
+        bufferReleased
+                .compose(v -> mppwTransferDataHandler.readChunk(state.requestContext, buffer))
+                .onSuccess(v -> {
+                    log.debug("Chunk {} read into staging buffer {}: {}", chunk, buffer, loadRequest);
+                    val transfer = state.lastTransfer
+                            .compose(t -> mppwTransferDataHandler.transferChunk(state.requestContext, buffer))
+                            .onSuccess(t -> log.debug("Chunk {} transferred: {}", chunk, loadRequest));
+                    state.lastTransfer = transfer;
+                    state.inFlight.add(transfer);
+                    readNextChunk(state);
+                })
+                .onFailure(err -> {
+                    log.error("Error transferring data: {}", loadRequest, err);
+                    // rollback starts on the failure, so chunks already read must finish writing first
+                    state.lastTransfer.onComplete(ignored -> state.promise.fail(err));
+                });
+    }
+
+    @RequiredArgsConstructor
+    private static class TransferState {
+        private final MppwKafkaRequestContext requestContext;
+        private final Promise<Void> promise;
+        private final Deque<Future<Void>> inFlight = new ArrayDeque<>();
+        private Future<Void> lastTransfer = Future.succeededFuture();
+        private long chunk;
+    }
 }
@@ -20,6 +20,7 @@ import io.arenadata.dtm.query.execution.plugin.adb.rollback.dto.AdbRollbackReque
 import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
 import io.arenadata.dtm.query.execution.plugin.api.factory.RollbackRequestFactory;
 import io.arenadata.dtm.query.execution.plugin.api.service.RollbackService;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -45,9 +46,11 @@ public class AdbRollbackService implements RollbackService<Void> {
     public Future<Void> execute(RollbackRequest request) {
         return Future.future(promise -> {
             val rollbackRequest = rollbackRequestFactory.create(request);
-            adbQueryExecutor.executeUpdate(rollbackRequest.getTruncate().getSql())
-                    .compose(v -> adbQueryExecutor.executeUpdate(rollbackRequest.getDeleteFromActual().getSql()))
-                    .compose(v -> adbQueryExecutor.executeInTransaction(rollbackRequest.getEraseOps()))
+            // staging is independent of actual and history tables, so it's truncated while they are restored
+            val truncateFuture = adbQueryExecutor.executeUpdate(rollbackRequest.getTruncate().getSql());
+            val eraseFuture = adbQueryExecutor.executeUpdate(rollbackRequest.getDeleteFromActual().getSql())
+                    .compose(v -> adbQueryExecutor.executeInTransaction(rollbackRequest.getEraseOps()));
+            CompositeFuture.join(truncateFuture, eraseFuture)
                     .onSuccess(success -> promise.complete())
                     .onFailure(promise::fail);
         });
@@ -15,6 +15,7 @@
  */
 package io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors;
 
+import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
 import io.vertx.core.Future;
@@ -22,5 +23,15 @@ import io.vertx.core.Future;
 public interface SynchronizeDestinationExecutor {
     Future<Long> execute(SynchronizeRequest request);
 
+    /**
+     * Drops external tables kept for the materialized view between synchronizations
+     */
+    Future<Void> release(String datamart, Entity entity);
+
+    /**
+     * Forgets external tables kept for the materialized views of the datamart, they are dropped with its schema
+     */
+    void releaseDatamart(String datamart);
+
     SourceType getDestination();
 }
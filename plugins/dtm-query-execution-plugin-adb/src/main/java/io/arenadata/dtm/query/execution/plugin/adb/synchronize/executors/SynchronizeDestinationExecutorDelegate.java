@@ -15,10 +15,15 @@
  */
 package io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors;
 
+import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
 import io.vertx.core.Future;
 
 public interface SynchronizeDestinationExecutorDelegate {
     Future<Long> execute(SourceType sourceType, SynchronizeRequest synchronizeRequest);
+
+    Future<Void> release(String datamart, Entity entity);
+
+    void releaseDatamart(String datamart);
 }
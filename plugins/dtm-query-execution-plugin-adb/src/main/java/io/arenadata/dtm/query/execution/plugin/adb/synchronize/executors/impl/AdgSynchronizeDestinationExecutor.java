@@ -20,6 +20,7 @@ import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.plugin.adb.base.factory.adg.AdgConnectorSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.configuration.properties.SynchronizeProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.SynchronizeDestinationExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesRequest;
@@ -28,13 +29,16 @@ import io.arenadata.dtm.query.execution.plugin.api.service.shared.adg.AdgSharedS
 import io.arenadata.dtm.query.execution.plugin.api.shared.adg.AdgSharedPrepareStagingRequest;
 import io.arenadata.dtm.query.execution.plugin.api.shared.adg.AdgSharedTransferDataRequest;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Slf4j
@@ -45,15 +49,22 @@ public class AdgSynchronizeDestinationExecutor implements SynchronizeDestination
     private final DatabaseExecutor databaseExecutor;
     private final AdgConnectorSqlFactory connectorSqlFactory;
     private final AdgSharedService adgSharedService;
+    private final SynchronizeProperties synchronizeProperties;
+    /**
+     * Create statements of the external tables kept between synchronizations in incremental mode
+     */
+    private final Map<String, String> externalTables = new ConcurrentHashMap<>();
 
     public AdgSynchronizeDestinationExecutor(@Qualifier("adgPrepareQueriesOfChangesService") PrepareQueriesOfChangesService prepareQueriesOfChangesService,
                                              DatabaseExecutor databaseExecutor,
                                              AdgConnectorSqlFactory connectorSqlFactory,
-                                             AdgSharedService adgSharedService) {
+                                             AdgSharedService adgSharedService,
+                                             SynchronizeProperties synchronizeProperties) {
         this.prepareQueriesOfChangesService = prepareQueriesOfChangesService;
         this.databaseExecutor = databaseExecutor;
         this.connectorSqlFactory = connectorSqlFactory;
         this.adgSharedService = adgSharedService;
+        this.synchronizeProperties = synchronizeProperties;
     }
 
     @Override
@@ -69,7 +80,7 @@ public class AdgSynchronizeDestinationExecutor implements SynchronizeDestination
             prepareQueriesOfChangesService.prepare(new PrepareRequestOfChangesRequest(request.getDatamarts(), request.getEnvName(),
                             request.getDeltaToBe(), request.getBeforeDeltaCnTo(), request.getViewQuery(), request.getEntity()))
                     .compose(requestOfChanges -> synchronize(requestOfChanges, request))
-                    .onComplete(result -> executeDropExternalTable(request.getDatamartMnemonic(), request.getEntity())
+                    .onComplete(result -> releaseExternalTable(result, request)
                             .onComplete(dropResult -> {
                                 if (dropResult.failed()) {
                                     log.error("Could not drop external table [{}]", request.getEntity().getNameWithSchema(), dropResult.cause());
@@ -85,8 +96,7 @@ public class AdgSynchronizeDestinationExecutor implements SynchronizeDestination
     }
 
     private Future<Void> synchronize(PrepareRequestOfChangesResult requestOfChanges, SynchronizeRequest synchronizeRequest) {
-        return executeDropExternalTable(synchronizeRequest.getDatamartMnemonic(), synchronizeRequest.getEntity())
-                .compose(r -> executeCreateExternalTable(synchronizeRequest.getEnvName(), synchronizeRequest.getDatamartMnemonic(), synchronizeRequest.getEntity()))
+        return prepareExternalTable(synchronizeRequest)
                 .compose(r -> truncateSpace(synchronizeRequest))
                 .compose(r -> insertChanges(requestOfChanges, synchronizeRequest))
                 .compose(r -> transferSpaceChanges(synchronizeRequest));
@@ -97,9 +107,70 @@ public class AdgSynchronizeDestinationExecutor implements SynchronizeDestination
                 synchronizeRequest.getEntity()));
     }
 
-    private Future<List<Map<String, Object>>> insertChanges(PrepareRequestOfChangesResult requestOfChanges, SynchronizeRequest synchronizeRequest) {
+    private Future<Void> prepareExternalTable(SynchronizeRequest request) {
+        if (!synchronizeProperties.isIncremental()) {
+            return executeDropExternalTable(request.getDatamartMnemonic(), request.getEntity())
+                    .compose(r -> executeCreateExternalTable(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity()))
+                    .mapEmpty();
+        }
+
+        return Future.future(promise -> {
+            val key = getExternalTableKey(request);
+            val createSql = connectorSqlFactory.createExternalTable(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity());
+            if (createSql.equals(externalTables.get(key))) {
+                log.debug("External table [{}] is reused", key);
+                promise.complete();
+                return;
+            }
+
+            executeDropExternalTable(request.getDatamartMnemonic(), request.getEntity())
+                    .compose(r -> databaseExecutor.execute(createSql))
+                    .onSuccess(r -> externalTables.put(key, createSql))
+                    .<Void>mapEmpty()
+                    .onComplete(promise);
+        });
+    }
+
+    private Future<Void> releaseExternalTable(AsyncResult<Void> result, SynchronizeRequest request) {
+        if (result.succeeded() && synchronizeProperties.isIncremental()) {
+            return Future.succeededFuture();
+        }
+
+        externalTables.remove(getExternalTableKey(request));
+        return executeDropExternalTable(request.getDatamartMnemonic(), request.getEntity()).mapEmpty();
+    }
+
+    @Override
+    public Future<Void> release(String datamart, Entity entity) {
+        if (!synchronizeProperties.isIncremental()) {
+            return Future.succeededFuture();
+        }
+
+        externalTables.remove(getExternalTableKey(datamart, entity.getName()));
+        return executeDropExternalTable(datamart, entity).mapEmpty();
+    }
+
+    @Override
+    public void releaseDatamart(String datamart) {
+        externalTables.keySet().removeIf(key -> key.startsWith(datamart + "."));
+    }
+
+    private String getExternalTableKey(SynchronizeRequest request) {
+        return getExternalTableKey(request.getDatamartMnemonic(), request.getEntity().getName());
+    }
+
+    private String getExternalTableKey(String datamart, String entityName) {
+        return datamart + "." + entityName;
+    }
+
+    /**
+     * Deleted and new records go through the same external table into the same staging space,
+     * so new records are inserted after the deleted ones: an updated key is in both sets and must end up upserted.
+     */
+    private Future<Void> insertChanges(PrepareRequestOfChangesResult requestOfChanges, SynchronizeRequest synchronizeRequest) {
         return executeInsertIntoExternalTable(synchronizeRequest.getDatamartMnemonic(), synchronizeRequest.getEntity(), requestOfChanges.getDeletedRecordsQuery(), ONLY_PRIMARY_KEYS)
-                .compose(ar -> executeInsertIntoExternalTable(synchronizeRequest.getDatamartMnemonic(), synchronizeRequest.getEntity(), requestOfChanges.getNewRecordsQuery(), ALL_COLUMNS));
+                .compose(ar -> executeInsertIntoExternalTable(synchronizeRequest.getDatamartMnemonic(), synchronizeRequest.getEntity(), requestOfChanges.getNewRecordsQuery(), ALL_COLUMNS))
+                .mapEmpty();
     }
 
     private Future<Void> transferSpaceChanges(SynchronizeRequest synchronizeRequest) {
@@ -20,12 +20,14 @@ import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.plugin.adb.base.factory.adqm.AdqmConnectorSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.configuration.properties.SynchronizeProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.SynchronizeDestinationExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesRequest;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesResult;
 import io.arenadata.dtm.query.execution.plugin.api.service.shared.adqm.AdqmSharedService;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +35,9 @@ import lombok.val;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 @Slf4j
 public class AdqmSynchronizeDestinationExecutor implements SynchronizeDestinationExecutor {
@@ -40,15 +45,22 @@ public class AdqmSynchronizeDestinationExecutor implements SynchronizeDestinatio
     private final DatabaseExecutor databaseExecutor;
     private final AdqmConnectorSqlFactory connectorSqlFactory;
     private final AdqmSharedService adqmSharedService;
+    private final SynchronizeProperties synchronizeProperties;
+    /**
+     * Create statements of the external tables kept between synchronizations in incremental mode
+     */
+    private final Map<String, String> externalTables = new ConcurrentHashMap<>();
 
     public AdqmSynchronizeDestinationExecutor(@Qualifier("adqmPrepareQueriesOfChangesService") PrepareQueriesOfChangesService prepareQueriesOfChangesService,
                                               DatabaseExecutor databaseExecutor,
                                               AdqmConnectorSqlFactory connectorSqlFactory,
-                                              AdqmSharedService adqmSharedService) {
+                                              AdqmSharedService adqmSharedService,
+                                              SynchronizeProperties synchronizeProperties) {
         this.prepareQueriesOfChangesService = prepareQueriesOfChangesService;
         this.databaseExecutor = databaseExecutor;
         this.connectorSqlFactory = connectorSqlFactory;
         this.adqmSharedService = adqmSharedService;
+        this.synchronizeProperties = synchronizeProperties;
     }
 
     @Override
@@ -66,7 +78,7 @@ public class AdqmSynchronizeDestinationExecutor implements SynchronizeDestinatio
                     .compose(v -> prepareQueriesOfChangesService.prepare(new PrepareRequestOfChangesRequest(request.getDatamarts(), request.getEnvName(),
                             request.getDeltaToBe(), request.getBeforeDeltaCnTo(), request.getViewQuery(), request.getEntity())))
                     .compose(requestOfChanges -> synchronize(requestOfChanges, request))
-                    .onComplete(result -> CompositeFuture.join(executeDropExternalTable(request.getEntity()),
+                    .onComplete(result -> CompositeFuture.join(releaseExternalTable(result, request),
                                     adqmSharedService.dropBufferTables(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity()))
                             .onComplete(dropResult -> {
                                 if (dropResult.failed()) {
@@ -83,8 +95,7 @@ public class AdqmSynchronizeDestinationExecutor implements SynchronizeDestinatio
     }
 
     private Future<Void> synchronize(PrepareRequestOfChangesResult requestOfChanges, SynchronizeRequest request) {
-        return executeDropExternalTable(request.getEntity())
-                .compose(r -> executeCreateExternalTable(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity()))
+        return prepareExternalTable(request)
                 .compose(r -> insertChanges(requestOfChanges, request))
                 .compose(r -> adqmSharedService.flushActualTable(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity()))
                 .compose(r -> adqmSharedService.closeVersionSqlByTableBuffer(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity(), request.getDeltaToBe().getCnTo()))
@@ -93,7 +104,72 @@ public class AdqmSynchronizeDestinationExecutor implements SynchronizeDestinatio
     }
 
 
+    private Future<Void> prepareExternalTable(SynchronizeRequest request) {
+        if (!synchronizeProperties.isIncremental()) {
+            return executeDropExternalTable(request.getEntity())
+                    .compose(r -> executeCreateExternalTable(request.getEnvName(), request.getDatamartMnemonic(), request.getEntity()));
+        }
+
+        return Future.future(p -> {
+            val entity = request.getEntity();
+            val key = getExternalTableKey(request);
+            val createExtTable = connectorSqlFactory.createExternalTable(request.getEnvName(), request.getDatamartMnemonic(), entity);
+            val createPkExtTable = connectorSqlFactory.createExternalPkOnlyTable(request.getEnvName(), request.getDatamartMnemonic(), entity);
+            val createSql = createExtTable + ";" + createPkExtTable;
+            if (createSql.equals(externalTables.get(key))) {
+                log.debug("External tables [{}] are reused", key);
+                p.complete();
+                return;
+            }
+
+            executeDropExternalTable(entity)
+                    .compose(v -> databaseExecutor.executeUpdate(createExtTable))
+                    .compose(v -> databaseExecutor.executeUpdate(createPkExtTable))
+                    .onSuccess(v -> externalTables.put(key, createSql))
+                    .onComplete(p);
+        });
+    }
+
+    private Future<Void> releaseExternalTable(AsyncResult<Void> result, SynchronizeRequest request) {
+        if (result.succeeded() && synchronizeProperties.isIncremental()) {
+            return Future.succeededFuture();
+        }
+
+        externalTables.remove(getExternalTableKey(request));
+        return executeDropExternalTable(request.getEntity());
+    }
+
+    @Override
+    public Future<Void> release(String datamart, Entity entity) {
+        if (!synchronizeProperties.isIncremental()) {
+            return Future.succeededFuture();
+        }
+
+        externalTables.remove(getExternalTableKey(datamart, entity.getName()));
+        return executeDropExternalTable(entity);
+    }
+
+    @Override
+    public void releaseDatamart(String datamart) {
+        externalTables.keySet().removeIf(key -> key.startsWith(datamart + "."));
+    }
+
+    private String getExternalTableKey(SynchronizeRequest request) {
+        return getExternalTableKey(request.getDatamartMnemonic(), request.getEntity().getName());
+    }
+
+    private String getExternalTableKey(String datamart, String entityName) {
+        return datamart + "." + entityName;
+    }
+
     private Future<Void> insertChanges(PrepareRequestOfChangesResult requestOfChanges, SynchronizeRequest request) {
+        if (synchronizeProperties.isIncremental()) {
+            return CompositeFuture.join(
+                            executeInsertIntoExternalTable(request.getDatamartMnemonic(), request.getEntity(), requestOfChanges.getDeletedRecordsQuery()),
+                            executeInsertIntoExternalTable(request.getDatamartMnemonic(), request.getEntity(), requestOfChanges.getNewRecordsQuery(), request.getDeltaToBe().getCnTo()))
+                    .mapEmpty();
+        }
+
         return executeInsertIntoExternalTable(request.getDatamartMnemonic(), request.getEntity(), requestOfChanges.getDeletedRecordsQuery())
                 .compose(ar -> executeInsertIntoExternalTable(request.getDatamartMnemonic(), request.getEntity(), requestOfChanges.getNewRecordsQuery(), request.getDeltaToBe().getCnTo()));
     }
@@ -15,17 +15,21 @@
  */
 package io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.impl;
 
+import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.common.reader.SourceType;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.SynchronizeDestinationExecutor;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.executors.SynchronizeDestinationExecutorDelegate;
 import io.arenadata.dtm.query.execution.plugin.api.exception.SynchronizeDatasourceException;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -52,4 +56,19 @@ public class SynchronizeDestinationExecutorDelegateImpl implements SynchronizeDe
 
         return executorMap.get(sourceType).execute(synchronizeRequest);
     }
+
+    @Override
+    public Future<Void> release(String datamart, Entity entity) {
+        return CompositeFuture.join(entity.getDestination().stream()
+                        .map(executorMap::get)
+                        .filter(Objects::nonNull)
+                        .map(executor -> executor.release(datamart, entity))
+                        .collect(Collectors.toList()))
+                .mapEmpty();
+    }
+
+    @Override
+    public void releaseDatamart(String datamart) {
+        executorMap.values().forEach(executor -> executor.releaseDatamart(datamart));
+    }
 }
@@ -16,8 +16,10 @@
 package io.arenadata.dtm.query.execution.plugin.adb.converter;
 
 import io.arenadata.dtm.common.configuration.core.CoreConstants;
+import io.arenadata.dtm.common.converter.ColumnConverter;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.model.ddl.ColumnType;
+import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
 import io.arenadata.dtm.query.execution.plugin.adb.base.configuration.ConverterConfiguration;
 import io.arenadata.dtm.query.execution.plugin.adb.base.service.converter.AdbTypeToSqlTypeConverter;
 import io.vertx.core.json.JsonObject;
@@ -28,7 +30,9 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -202,4 +206,28 @@ class AdbTypeToSqlTypeConverterTest {
                 () -> assertNull(typeConverter.convert(ColumnType.ANY, objMapVal))
         );
     }
+
+    @Test
+    void convertCompiled() {
+        List<ColumnMetadata> metadata = Arrays.asList(
+                new ColumnMetadata("varchar_col", ColumnType.VARCHAR),
+                new ColumnMetadata("date_col", ColumnType.DATE),
+                new ColumnMetadata("timestamp_col", ColumnType.TIMESTAMP),
+                new ColumnMetadata("uuid_col", ColumnType.UUID));
+        LocalDate date = LocalDate.ofEpochDay(dateLongVal);
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampLongVal), CoreConstants.CORE_ZONE_ID);
+
+        ColumnConverter[] converters = typeConverter.compile(metadata);
+
+        assertEquals(metadata.size(), converters.length);
+        for (int i = 0; i < 2; i++) {
+            assertAll("Compiled converting",
+                    () -> assertEquals(typeConverter.convert(ColumnType.VARCHAR, charVal), converters[0].convert(charVal)),
+                    () -> assertEquals(typeConverter.convert(ColumnType.DATE, date), converters[1].convert(date)),
+                    () -> assertEquals(typeConverter.convert(ColumnType.TIMESTAMP, timestamp), converters[2].convert(timestamp)),
+                    () -> assertEquals(typeConverter.convert(ColumnType.UUID, uuidStrVal), converters[3].convert(uuidStrVal)),
+                    () -> assertNull(converters[3].convert(null))
+            );
+        }
+    }
 }
@@ -58,4 +58,22 @@ class MppwWithoutHistoryTableRequestFactoryTest {
         assertEquals(EXPECTED_UPDATE, transferRequest.getFirstTransaction().get(0).getSql());
         assertEquals(EXPECTED_INSERT, transferRequest.getSecondTransaction().get(0).getSql());
     }
+
+    @Test
+    void createWithStagingBuffer() {
+        MppwWithoutHistoryTableRequestFactory factory = new MppwWithoutHistoryTableRequestFactory();
+        AdbKafkaMppwTransferRequest transferRequest = factory.create(TransferDataRequest.builder()
+                .columnList(Arrays.asList("id1", "id2", "c", "sys_from", "sys_to", "sys_op"))
+                .datamart("datamart")
+                .tableName("tbl1")
+                .stagingTableName("tbl1_staging_1")
+                .hotDelta(55)
+                .keyColumnList(Arrays.asList("id1", "id2", "sys_from"))
+                .build());
+        assertEquals(EXPECTED_UPDATE.replace("tbl1_staging", "tbl1_staging_1"),
+                transferRequest.getFirstTransaction().get(0).getSql());
+        assertEquals(EXPECTED_INSERT.replace("tbl1_staging", "tbl1_staging_1"),
+                transferRequest.getSecondTransaction().get(0).getSql());
+        assertEquals("TRUNCATE datamart.tbl1_staging_1", transferRequest.getSecondTransaction().get(1).getSql());
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.service.handler;
+
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.MppwKafkaLoadRequest;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.MppwKafkaRequestContext;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.TransferDataRequest;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.factory.impl.KafkaMppwSqlFactoryImpl;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.service.executor.AdbMppwDataTransferService;
+import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdbMppwTransferDataHandlerTest {
+
+    private static final String REQUEST_ID = "8d2c9bd5-d1a8-4b22-a96e-9a2d1b4c3f10";
+    private static final String EXT_TABLE = "FDW_EXT_8d2c9bd5_d1a8_4b22_a96e_9a2d1b4c3f10";
+
+    @Mock
+    private DatabaseExecutor adbQueryExecutor;
+    @Mock
+    private AdbMppwDataTransferService mppwDataTransferService;
+    @Captor
+    private ArgumentCaptor<String> sqlCaptor;
+    @Captor
+    private ArgumentCaptor<TransferDataRequest> transferRequestCaptor;
+
+    private AdbMppwTransferDataHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new AdbMppwTransferDataHandler(adbQueryExecutor, new KafkaMppwSqlFactoryImpl(), mppwDataTransferService);
+    }
+
+    @Test
+    void shouldReadPartitionGroupsConcurrently() {
+        // arrange
+        val firstGroupInsert = Promise.<Void>promise();
+        when(adbQueryExecutor.executeUpdate(anyString())).thenReturn(Future.succeededFuture());
+        doReturn(firstGroupInsert.future()).when(adbQueryExecutor)
+                .executeUpdate("INSERT INTO dtm.tbl_staging_1 (id, sys_op) SELECT id, sys_op FROM dtm." + EXT_TABLE);
+
+        // act
+        val result = handler.readChunk(requestContext(2), 1);
+
+        // assert
+        assertFalse(result.isComplete());
+        verify(adbQueryExecutor).executeUpdate("INSERT INTO dtm.tbl_staging_1 (id, sys_op) SELECT id, sys_op FROM dtm." + EXT_TABLE + "_1");
+        verify(adbQueryExecutor).executeUpdate("SELECT kadb.commit_offsets('dtm." + EXT_TABLE + "_1'::regclass::oid)");
+        verify(adbQueryExecutor, never()).executeUpdate("SELECT kadb.commit_offsets('dtm." + EXT_TABLE + "'::regclass::oid)");
+
+        firstGroupInsert.complete();
+        assertTrue(result.succeeded());
+        verify(adbQueryExecutor).executeUpdate("SELECT kadb.commit_offsets('dtm." + EXT_TABLE + "'::regclass::oid)");
+    }
+
+    @Test
+    void shouldReadSingleForeignTableByDefault() {
+        // arrange
+        when(adbQueryExecutor.executeUpdate(anyString())).thenReturn(Future.succeededFuture());
+
+        // act
+        val result = handler.readChunk(requestContext(0), 0);
+
+        // assert
+        assertTrue(result.succeeded());
+        verify(adbQueryExecutor, times(2)).executeUpdate(sqlCaptor.capture());
+        assertEquals(Arrays.asList(
+                "INSERT INTO dtm.tbl_staging (id, sys_op) SELECT id, sys_op FROM dtm." + EXT_TABLE,
+                "SELECT kadb.commit_offsets('dtm." + EXT_TABLE + "'::regclass::oid)"),
+                sqlCaptor.getAllValues());
+    }
+
+    @Test
+    void shouldTransferFromStagingBuffer() {
+        // arrange
+        when(mppwDataTransferService.execute(transferRequestCaptor.capture())).thenReturn(Future.succeededFuture());
+
+        // act
+        val result = handler.transferChunk(requestContext(2), 1);
+
+        // assert
+        assertTrue(result.succeeded());
+        assertEquals("tbl_staging_1", transferRequestCaptor.getValue().getStagingTableName());
+        assertEquals("tbl", transferRequestCaptor.getValue().getTableName());
+    }
+
+    private static MppwKafkaRequestContext requestContext(int partitionGroups) {
+        return new MppwKafkaRequestContext(
+                MppwKafkaLoadRequest.builder()
+                        .requestId(REQUEST_ID)
+                        .datamart("dtm")
+                        .tableName("tbl")
+                        .columns(Arrays.asList("id", "sys_op"))
+                        .partitionGroups(partitionGroups)
+                        .build(),
+                TransferDataRequest.builder()
+                        .datamart("dtm")
+                        .tableName("tbl")
+                        .build());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2021 ProStore
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.verticle.worker;
+
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.MppwKafkaLoadRequest;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.MppwKafkaRequestContext;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.MppwTopic;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.dto.TransferDataRequest;
+import io.arenadata.dtm.query.execution.plugin.adb.mppw.kafka.service.handler.AdbMppwHandler;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdbMppwWorkerTest {
+
+    private static final String REQUEST_ID = "request_id";
+    private static final int MAX_IN_FLIGHT_CHUNKS = 2;
+
+    private final Map<String, MppwKafkaRequestContext> requestMap = new ConcurrentHashMap<>();
+    private final Map<String, Future> resultMap = new ConcurrentHashMap<>();
+    private final List<Promise<Void>> heldTransfers = new CopyOnWriteArrayList<>();
+    private final MppwKafkaRequestContext requestContext = new MppwKafkaRequestContext(
+            MppwKafkaLoadRequest.builder().requestId(REQUEST_ID).build(),
+            TransferDataRequest.builder().build());
+
+    @Mock
+    private AdbMppwHandler handler;
+
+    private Vertx vertx;
+    private volatile boolean holdTransfers = true;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        vertx.deployVerticle(new AdbMppwWorker(requestMap, resultMap, handler, MAX_IN_FLIGHT_CHUNKS),
+                new DeploymentOptions().setWorker(true))
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        requestMap.put(REQUEST_ID, requestContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    void shouldReadNextChunkWhileTransferring() throws Exception {
+        // arrange
+        when(handler.readChunk(any(), anyInt())).thenReturn(Future.succeededFuture());
+        when(handler.transferChunk(any(), anyInt())).thenAnswer(invocation -> {
+            if (holdTransfers) {
+                Promise<Void> promise = Promise.promise();
+                heldTransfers.add(promise);
+                return promise.future();
+            }
+            return Future.succeededFuture();
+        });
+
+        // act
+        vertx.eventBus().send(MppwTopic.KAFKA_TRANSFER_DATA.getValue(), REQUEST_ID);
+
+        // assert
+        verify(handler, timeout(5000)).readChunk(requestContext, 1);
+        verify(handler, after(300).times(2)).readChunk(any(), anyInt());
+        verify(handler).transferChunk(requestContext, 0);
+        verify(handler, never()).transferChunk(requestContext, 1);
+
+        // act
+        val stopped = vertx.eventBus().request(MppwTopic.KAFKA_STOP.getValue(), REQUEST_ID)
+                .toCompletionStage().toCompletableFuture();
+        while (resultMap.containsKey(REQUEST_ID)) {
+            Thread.sleep(10);
+        }
+        holdTransfers = false;
+        heldTransfers.get(0).complete();
+
+        // assert
+        assertEquals(REQUEST_ID, stopped.get(5, TimeUnit.SECONDS).body());
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).readChunk(requestContext, 0);
+        inOrder.verify(handler).transferChunk(requestContext, 0);
+        inOrder.verify(handler).readChunk(requestContext, 1);
+        inOrder.verify(handler).transferChunk(requestContext, 1);
+        inOrder.verify(handler).readChunk(requestContext, 0);
+        inOrder.verify(handler).transferChunk(requestContext, 0);
+        verify(handler, times(3)).readChunk(any(), anyInt());
+        verify(handler, times(2)).transferChunk(requestContext, 0);
+        verify(handler).transferChunk(requestContext, 1);
+    }
+
+    @Test
+    void shouldFailLoadWhenTransferFails() throws Exception {
+        // arrange
+        when(handler.readChunk(any(), anyInt())).thenReturn(Future.succeededFuture());
+        when(handler.transferChunk(any(), anyInt())).thenReturn(Future.failedFuture("transfer error"));
+
+        // act
+        vertx.eventBus().send(MppwTopic.KAFKA_TRANSFER_DATA.getValue(), REQUEST_ID);
+        verify(handler, timeout(5000)).transferChunk(requestContext, 0);
+        val stopped = vertx.eventBus().request(MppwTopic.KAFKA_STOP.getValue(), REQUEST_ID)
+                .toCompletionStage().toCompletableFuture();
+
+        // assert
+        val exception = assertThrows(ExecutionException.class, () -> stopped.get(5, TimeUnit.SECONDS));
+        assertEquals("transfer error", exception.getCause().getMessage());
+        verify(handler).readChunk(any(), anyInt());
+    }
+
+    @Test
+    void shouldFailLoadAfterTransferWhenReadFails() throws Exception {
+        // arrange
+        when(handler.readChunk(any(), anyInt()))
+                .thenReturn(Future.succeededFuture())
+                .thenReturn(Future.failedFuture("read error"));
+        when(handler.transferChunk(any(), anyInt())).thenAnswer(invocation -> {
+            Promise<Void> promise = Promise.promise();
+            heldTransfers.add(promise);
+            return promise.future();
+        });
+
+        // act
+        vertx.eventBus().send(MppwTopic.KAFKA_TRANSFER_DATA.getValue(), REQUEST_ID);
+        verify(handler, timeout(5000).times(2)).readChunk(any(), anyInt());
+        val stopped = vertx.eventBus().request(MppwTopic.KAFKA_STOP.getValue(), REQUEST_ID)
+                .toCompletionStage().toCompletableFuture();
+
+        // assert
+        Thread.sleep(300);
+        assertFalse(stopped.isDone());
+        heldTransfers.get(0).complete();
+        val exception = assertThrows(ExecutionException.class, () -> stopped.get(5, TimeUnit.SECONDS));
+        assertEquals("read error", exception.getCause().getMessage());
+        verify(handler).transferChunk(requestContext, 0);
+    }
+}
@@ -38,6 +38,7 @@ import io.arenadata.dtm.query.execution.plugin.adb.enrichment.service.AdbQueryEn
 import io.arenadata.dtm.query.execution.plugin.adb.enrichment.service.AdbQueryGenerator;
 import io.arenadata.dtm.query.execution.plugin.adb.enrichment.service.AdbSchemaExtender;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.configuration.properties.SynchronizeProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.impl.AdgPrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.service.QueryExtendService;
@@ -106,7 +107,7 @@ class AdgSynchronizeDestinationExecutorComplexTest {
         queryEnrichmentService = new AdbQueryEnrichmentService(new AdbQueryGenerator(queryExtender, sqlDialect, relToSqlConverter), contextProvider, new AdbSchemaExtender());
         prepareQueriesOfChangesService = new AdgPrepareQueriesOfChangesService(parserService, adgColumnsCastService, queryEnrichmentService);
         synchronizeSqlFactory = new AdgConnectorSqlFactory(adgSharedService);
-        adgSynchronizeDestinationExecutor = new AdgSynchronizeDestinationExecutor(prepareQueriesOfChangesService, databaseExecutor, synchronizeSqlFactory, adgSharedService);
+        adgSynchronizeDestinationExecutor = new AdgSynchronizeDestinationExecutor(prepareQueriesOfChangesService, databaseExecutor, synchronizeSqlFactory, adgSharedService, new SynchronizeProperties());
 
         lenient().when(databaseExecutor.execute(anyString())).thenReturn(Future.succeededFuture(Collections.emptyList()));
         lenient().when(adgSharedService.prepareStaging(any())).thenReturn(Future.succeededFuture());
@@ -21,6 +21,7 @@ import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 import io.arenadata.dtm.query.execution.plugin.adb.base.factory.adg.AdgConnectorSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.configuration.properties.SynchronizeProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesRequest;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesResult;
@@ -29,6 +30,7 @@ import io.arenadata.dtm.query.execution.plugin.api.shared.adg.AdgSharedPrepareSt
 import io.arenadata.dtm.query.execution.plugin.api.shared.adg.AdgSharedTransferDataRequest;
 import io.arenadata.dtm.query.execution.plugin.api.synchronize.SynchronizeRequest;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.apache.calcite.sql.SqlNode;
@@ -44,6 +46,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -76,6 +79,8 @@ class AdgSynchronizeDestinationExecutorTest {
     private AdgConnectorSqlFactory synchronizeSqlFactory;
     @Mock
     private AdgSharedService adgSharedService;
+    @Spy
+    private SynchronizeProperties synchronizeProperties = new SynchronizeProperties();
     @InjectMocks
     private AdgSynchronizeDestinationExecutor adgSynchronizeDestinationExecutor;
 
@@ -894,4 +899,157 @@ class AdgSynchronizeDestinationExecutorTest {
             }).completeNow();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReuseExternalTableWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adgSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .compose(v -> adgSynchronizeDestinationExecutor.execute(synchronizeRequest));
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            assertEquals(DELTA_NUM, ar.result());
+            verify(databaseExecutor).execute(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor).execute(eq(CREATE_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).execute(eq(INSERT_INTO_DELETE_QUERY));
+            verify(databaseExecutor, times(2)).execute(eq(INSERT_INTO_NEW_QUERY));
+            verify(adgSharedService, times(2)).transferData(any());
+        }).completeNow());
+    }
+
+    @Test
+    void shouldInsertNewRecordsAfterDeletedWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Promise<List<Map<String, Object>>> deletedInsert = Promise.promise();
+        when(databaseExecutor.execute(eq(INSERT_INTO_DELETE_QUERY))).thenReturn(deletedInsert.future());
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adgSynchronizeDestinationExecutor.execute(synchronizeRequest);
+
+        // assert
+        testContext.verify(() -> {
+            // an updated key is in both sets, its new version must not reach staging before the deleted one
+            verify(databaseExecutor).execute(eq(INSERT_INTO_DELETE_QUERY));
+            verify(databaseExecutor, never()).execute(eq(INSERT_INTO_NEW_QUERY));
+        });
+        deletedInsert.complete(Collections.emptyList());
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            InOrder inOrder = inOrder(databaseExecutor, adgSharedService);
+            inOrder.verify(databaseExecutor).execute(eq(INSERT_INTO_DELETE_QUERY));
+            inOrder.verify(databaseExecutor).execute(eq(INSERT_INTO_NEW_QUERY));
+            inOrder.verify(adgSharedService).transferData(any());
+        }).completeNow());
+    }
+
+    @Test
+    void shouldRecreateExternalTableAfterFailureWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        when(adgSharedService.transferData(any()))
+                .thenReturn(Future.failedFuture(new DtmException("Failed")))
+                .thenReturn(Future.succeededFuture());
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adgSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .recover(t -> adgSynchronizeDestinationExecutor.execute(synchronizeRequest));
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verify(databaseExecutor, times(3)).execute(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).execute(eq(CREATE_EXTERNAL_TABLE_QUERY));
+            verify(adgSharedService, times(2)).transferData(any());
+        }).completeNow());
+    }
+
+    @Test
+    void shouldDropAndForgetExternalTableOnReleaseWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adgSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .compose(v -> adgSynchronizeDestinationExecutor.release(DATAMART, entity))
+                .compose(v -> adgSynchronizeDestinationExecutor.execute(synchronizeRequest));
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verify(databaseExecutor, times(3)).execute(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).execute(eq(CREATE_EXTERNAL_TABLE_QUERY));
+        }).completeNow());
+    }
+
+    @Test
+    void shouldRecreateExternalTableAfterDatamartReleasedWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adgSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .compose(v -> {
+                    adgSynchronizeDestinationExecutor.releaseDatamart(DATAMART);
+                    return adgSynchronizeDestinationExecutor.execute(synchronizeRequest);
+                });
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verify(databaseExecutor, times(2)).execute(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).execute(eq(CREATE_EXTERNAL_TABLE_QUERY));
+        }).completeNow());
+    }
+
+    @Test
+    void shouldNotDropExternalTableOnReleaseWhenNotIncremental(VertxTestContext testContext) {
+        // arrange
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+
+        // act
+        Future<Void> result = adgSynchronizeDestinationExecutor.release(DATAMART, entity);
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verifyNoInteractions(databaseExecutor);
+        }).completeNow());
+    }
+}
@@ -38,6 +38,7 @@ import io.arenadata.dtm.query.execution.plugin.adb.enrichment.service.AdbQueryEn
 import io.arenadata.dtm.query.execution.plugin.adb.enrichment.service.AdbQueryGenerator;
 import io.arenadata.dtm.query.execution.plugin.adb.enrichment.service.AdbSchemaExtender;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.configuration.properties.SynchronizeProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.impl.AdqmPrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.api.service.enrichment.service.QueryExtendService;
@@ -106,7 +107,7 @@ class AdqmSynchronizeDestinationExecutorComplexTest {
         queryEnrichmentService = new AdbQueryEnrichmentService(new AdbQueryGenerator(queryExtender, sqlDialect, relToSqlConverter), contextProvider, new AdbSchemaExtender());
         prepareQueriesOfChangesService = new AdqmPrepareQueriesOfChangesService(parserService, adqmColumnsCastService, queryEnrichmentService);
         synchronizeSqlFactory = new AdqmConnectorSqlFactory(adqmSharedService);
-        adqmSynchronizeDestinationExecutor = new AdqmSynchronizeDestinationExecutor(prepareQueriesOfChangesService, databaseExecutor, synchronizeSqlFactory, adqmSharedService);
+        adqmSynchronizeDestinationExecutor = new AdqmSynchronizeDestinationExecutor(prepareQueriesOfChangesService, databaseExecutor, synchronizeSqlFactory, adqmSharedService, new SynchronizeProperties());
 
         lenient().when(databaseExecutor.executeUpdate(anyString())).thenReturn(Future.succeededFuture());
         lenient().when(adqmSharedService.closeVersionSqlByTableActual(any(), any(), any(), anyLong())).thenReturn(Future.succeededFuture());
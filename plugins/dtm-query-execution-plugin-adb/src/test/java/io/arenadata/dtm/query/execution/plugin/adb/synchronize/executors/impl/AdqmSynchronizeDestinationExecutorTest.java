@@ -21,6 +21,7 @@ import io.arenadata.dtm.common.model.ddl.Entity;
 import io.arenadata.dtm.query.execution.model.metadata.Datamart;
 import io.arenadata.dtm.query.execution.plugin.adb.base.factory.adqm.AdqmConnectorSqlFactory;
 import io.arenadata.dtm.query.execution.plugin.adb.query.service.DatabaseExecutor;
+import io.arenadata.dtm.query.execution.plugin.adb.synchronize.configuration.properties.SynchronizeProperties;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareQueriesOfChangesService;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesRequest;
 import io.arenadata.dtm.query.execution.plugin.adb.synchronize.service.PrepareRequestOfChangesResult;
@@ -78,6 +79,8 @@ class AdqmSynchronizeDestinationExecutorTest {
     private AdqmConnectorSqlFactory synchronizeSqlFactory;
     @Mock
     private AdqmSharedService adqmSharedService;
+    @Spy
+    private SynchronizeProperties synchronizeProperties = new SynchronizeProperties();
     @InjectMocks
     private AdqmSynchronizeDestinationExecutor adqmSynchronizeDestinationExecutor;
 
@@ -1335,4 +1338,130 @@ class AdqmSynchronizeDestinationExecutorTest {
             }).completeNow();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReuseExternalTablesWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adqmSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .compose(v -> adqmSynchronizeDestinationExecutor.execute(synchronizeRequest));
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            assertEquals(DELTA_NUM, ar.result());
+            verify(databaseExecutor).executeUpdate(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor).executeUpdate(eq(DROP_EXTERNAL_TABLE_PK_QUERY));
+            verify(databaseExecutor).executeUpdate(eq(CREATE_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor).executeUpdate(eq(CREATE_EXTERNAL_TABLE_PK_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(INSERT_INTO_DELETE_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(INSERT_INTO_NEW_QUERY));
+            verify(adqmSharedService, times(2)).recreateBufferTables(eq(ENV), eq(DATAMART), same(entity));
+            verify(adqmSharedService, times(2)).dropBufferTables(eq(ENV), eq(DATAMART), same(entity));
+        }).completeNow());
+    }
+
+    @Test
+    void shouldRecreateExternalTablesAfterFailureWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        when(adqmSharedService.closeVersionSqlByTableActual(any(), any(), any(), anyLong()))
+                .thenReturn(Future.failedFuture(new DtmException("Failed")))
+                .thenReturn(Future.succeededFuture());
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adqmSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .recover(t -> adqmSynchronizeDestinationExecutor.execute(synchronizeRequest));
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verify(databaseExecutor, times(3)).executeUpdate(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(CREATE_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(CREATE_EXTERNAL_TABLE_PK_QUERY));
+        }).completeNow());
+    }
+
+    @Test
+    void shouldDropAndForgetExternalTableOnReleaseWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adqmSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .compose(v -> adqmSynchronizeDestinationExecutor.release(DATAMART, entity))
+                .compose(v -> adqmSynchronizeDestinationExecutor.execute(synchronizeRequest));
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verify(databaseExecutor, times(3)).executeUpdate(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(3)).executeUpdate(eq(DROP_EXTERNAL_TABLE_PK_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(CREATE_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(CREATE_EXTERNAL_TABLE_PK_QUERY));
+        }).completeNow());
+    }
+
+    @Test
+    void shouldRecreateExternalTableAfterDatamartReleasedWhenIncremental(VertxTestContext testContext) {
+        // arrange
+        synchronizeProperties.setIncremental(true);
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+        SynchronizeRequest synchronizeRequest = new SynchronizeRequest(UUID.randomUUID(), ENV, DATAMART,
+                Collections.singletonList(Datamart.builder().mnemonic(DATAMART).build()), entity, VIEW_QUERY,
+                new DeltaData(DELTA_NUM, DELTA_NUM_CN_FROM, DELTA_NUM_CN_TO), PREVIOUS_DELTA_NUM_CN_TO);
+
+        // act
+        Future<Long> result = adqmSynchronizeDestinationExecutor.execute(synchronizeRequest)
+                .compose(v -> {
+                    adqmSynchronizeDestinationExecutor.releaseDatamart(DATAMART);
+                    return adqmSynchronizeDestinationExecutor.execute(synchronizeRequest);
+                });
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verify(databaseExecutor, times(2)).executeUpdate(eq(DROP_EXTERNAL_TABLE_QUERY));
+            verify(databaseExecutor, times(2)).executeUpdate(eq(CREATE_EXTERNAL_TABLE_QUERY));
+        }).completeNow());
+    }
+
+    @Test
+    void shouldNotDropExternalTableOnReleaseWhenNotIncremental(VertxTestContext testContext) {
+        // arrange
+        Entity entity = Entity.builder()
+                .name("matview")
+                .build();
+
+        // act
+        Future<Void> result = adqmSynchronizeDestinationExecutor.release(DATAMART, entity);
+
+        // assert
+        result.onComplete(ar -> testContext.verify(() -> {
+            assertTrue(ar.succeeded());
+            verifyNoInteractions(databaseExecutor);
+        }).completeNow());
+    }
+}
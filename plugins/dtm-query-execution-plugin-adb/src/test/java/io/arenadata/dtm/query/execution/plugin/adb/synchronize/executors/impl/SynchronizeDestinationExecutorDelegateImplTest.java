@@ -30,10 +30,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SynchronizeDestinationExecutorDelegateImplTest {
@@ -98,4 +99,41 @@ class SynchronizeDestinationExecutorDelegateImplTest {
         assertTrue(result.cause().getMessage().contains("Synchronize[ADB->ADG] is not implemented"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReleaseOnlyEntityDestinations() {
+        // arrange
+        when(executor1.getDestination()).thenReturn(SourceType.ADG);
+        when(executor2.getDestination()).thenReturn(SourceType.ADQM);
+        when(executor1.release(Mockito.any(), Mockito.any())).thenReturn(Future.succeededFuture());
+        Entity entity = Entity.builder()
+                .name("matview")
+                .destination(EnumSet.of(SourceType.ADG, SourceType.ADP))
+                .build();
+
+        SynchronizeDestinationExecutorDelegate delegate = new SynchronizeDestinationExecutorDelegateImpl(Arrays.asList(executor1, executor2));
+
+        // act
+        Future<Void> result = delegate.release("test", entity);
+
+        // assert
+        assertTrue(result.succeeded());
+        verify(executor1).release("test", entity);
+        verify(executor2, never()).release(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void shouldReleaseDatamartOnAllExecutors() {
+        // arrange
+        when(executor1.getDestination()).thenReturn(SourceType.ADG);
+        when(executor2.getDestination()).thenReturn(SourceType.ADQM);
+
+        SynchronizeDestinationExecutorDelegate delegate = new SynchronizeDestinationExecutorDelegateImpl(Arrays.asList(executor1, executor2));
+
+        // act
+        delegate.releaseDatamart("test");
+
+        // assert
+        verify(executor1).releaseDatamart("test");
+        verify(executor2).releaseDatamart("test");
+    }
+}
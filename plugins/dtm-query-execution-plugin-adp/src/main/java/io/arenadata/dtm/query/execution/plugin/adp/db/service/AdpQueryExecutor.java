@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.plugin.adp.db.service;
 
 import io.arenadata.dtm.async.AsyncUtils;
+import io.arenadata.dtm.common.converter.ColumnConverter;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.exception.DtmException;
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
@@ -212,21 +213,26 @@ public class AdpQueryExecutor implements DatabaseExecutor {
     private List<Map<String, Object>> createResult(List<ColumnMetadata> metadata,
                                                    RowSet<Row> pgRowSet) {
         List<Map<String, Object>> result = new ArrayList<>();
-        Function<Row, Map<String, Object>> func = metadata.isEmpty()
-                ? row -> createRowMap(row, pgRowSet.columnsNames().size())
-                : row -> createRowMap(metadata, row);
+        Function<Row, Map<String, Object>> func;
+        if (metadata.isEmpty()) {
+            func = row -> createRowMap(row, pgRowSet.columnsNames().size());
+        } else {
+            String[] columnNames = metadata.stream()
+                    .map(ColumnMetadata::getName)
+                    .toArray(String[]::new);
+            ColumnConverter[] converters = fromSqlConverter.compile(metadata);
+            func = row -> createRowMap(columnNames, converters, row);
+        }
         for (Row row : pgRowSet) {
             result.add(func.apply(row));
         }
         return result;
     }
 
-    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, Row row) {
+    private Map<String, Object> createRowMap(String[] columnNames, ColumnConverter[] converters, Row row) {
         Map<String, Object> rowMap = new HashMap<>();
-        for (int i = 0; i < metadata.size(); i++) {
-            ColumnMetadata columnMetadata = metadata.get(i);
-            rowMap.put(columnMetadata.getName(),
-                    fromSqlConverter.convert(columnMetadata.getType(), row.getValue(i)));
+        for (int i = 0; i < converters.length; i++) {
+            rowMap.put(columnNames[i], converters[i].convert(row.getValue(i)));
         }
         return rowMap;
     }
@@ -16,6 +16,7 @@
 package io.arenadata.dtm.query.execution.plugin.adqm.query.service;
 
 import io.arenadata.dtm.async.AsyncUtils;
+import io.arenadata.dtm.common.converter.ColumnConverter;
 import io.arenadata.dtm.common.converter.SqlTypeConverter;
 import io.arenadata.dtm.common.reader.QueryParameters;
 import io.arenadata.dtm.query.execution.model.metadata.ColumnMetadata;
@@ -124,9 +125,13 @@ public class AdqmQueryExecutor implements DatabaseExecutor {
 
     private List<Map<String, Object>> createResult(List<ColumnMetadata> metadata, ResultSet rs) {
         Map<String, Integer> columnIndexMap = new HashMap<>();
-        Function<JsonObject, Map<String, Object>> func = metadata.isEmpty()
-                ? JsonObject::getMap
-                : row -> createRowMap(metadata, columnIndexMap, row);
+        Function<JsonObject, Map<String, Object>> func;
+        if (metadata.isEmpty()) {
+            func = JsonObject::getMap;
+        } else {
+            ColumnConverter[] converters = adqmTypeConverter.compile(metadata);
+            func = row -> createRowMap(metadata, converters, columnIndexMap, row);
+        }
         return Optional.ofNullable(rs)
                 .map(resultSet -> resultSet.getRows().stream()
                         .map(func)
@@ -141,15 +146,15 @@ public class AdqmQueryExecutor implements DatabaseExecutor {
                 .collect(Collectors.toMap(fields::get, i -> i)));
     }
 
-    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, Map<String, Integer> columnIndexMap,
-                                             JsonObject row) {
+    private Map<String, Object> createRowMap(List<ColumnMetadata> metadata, ColumnConverter[] converters,
+                                             Map<String, Integer> columnIndexMap, JsonObject row) {
         if (columnIndexMap.isEmpty()) {
             initColumnIndexMap(columnIndexMap, row);
         }
         Map<String, Object> rowMap = new HashMap<>();
         row.stream().forEach(column -> {
-            final ColumnMetadata columnMetadata = metadata.get(columnIndexMap.get(column.getKey()));
-            rowMap.put(columnMetadata.getName(), adqmTypeConverter.convert(columnMetadata.getType(), column.getValue()));
+            final int index = columnIndexMap.get(column.getKey());
+            rowMap.put(metadata.get(index).getName(), converters[index].convert(column.getValue()));
         });
         return rowMap;
     }
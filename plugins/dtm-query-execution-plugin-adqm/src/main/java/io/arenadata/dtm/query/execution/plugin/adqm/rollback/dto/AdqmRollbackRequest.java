@@ -17,14 +17,31 @@ package io.arenadata.dtm.query.execution.plugin.adqm.rollback.dto;
 
 import io.arenadata.dtm.common.plugin.sql.PreparedStatementRequest;
 import io.arenadata.dtm.query.execution.plugin.api.rollback.PluginRollbackRequest;
+import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.ArrayList;
 import java.util.List;
 
+@Data
 @EqualsAndHashCode(callSuper = true)
 public class AdqmRollbackRequest extends PluginRollbackRequest {
+    /**
+     * Drops of loading tables: the first one drops the Kafka source so nothing flows into the rest,
+     * which are independent and could be dropped concurrently
+     */
+    private final List<PreparedStatementRequest> dropTables;
+    /**
+     * Statements restoring actual data, executed in order after drops
+     */
+    private final List<PreparedStatementRequest> eraseOps;
 
-    public AdqmRollbackRequest(List<PreparedStatementRequest> statements) {
-        super(statements);
+    public AdqmRollbackRequest(List<PreparedStatementRequest> dropTables,
+                               List<PreparedStatementRequest> eraseOps) {
+        super(new ArrayList<>(dropTables));
+        getStatements().addAll(eraseOps);
+
+        this.dropTables = dropTables;
+        this.eraseOps = eraseOps;
     }
 }
@@ -61,7 +61,9 @@ public class AdqmRollbackRequestFactory implements RollbackRequestFactory<AdqmRo
                     PreparedStatementRequest.onlySql(getDropTableSql(dbName, entityName, "actual_loader_shard", cluster)),
                     PreparedStatementRequest.onlySql(getDropTableSql(dbName, entityName, "buffer_loader_shard", cluster)),
                     PreparedStatementRequest.onlySql(getDropTableSql(dbName, entityName, "buffer", cluster)),
-                    PreparedStatementRequest.onlySql(getDropTableSql(dbName, entityName, "buffer_shard", cluster)),
+                    PreparedStatementRequest.onlySql(getDropTableSql(dbName, entityName, "buffer_shard", cluster))
+            ),
+            Arrays.asList(
                     PreparedStatementRequest.onlySql(adqmProcessingSqlFactory.getFlushActualSql(rollbackRequest.getEnvName(), rollbackRequest.getDatamartMnemonic(), entityName)),
                     PreparedStatementRequest.onlySql(gerInsertSql(dbName, entity, sysCn)),
                     PreparedStatementRequest.onlySql(adqmProcessingSqlFactory.getFlushActualSql(rollbackRequest.getEnvName(), rollbackRequest.getDatamartMnemonic(), entityName)),
@@ -21,12 +21,15 @@ import io.arenadata.dtm.query.execution.plugin.adqm.rollback.dto.AdqmRollbackReq
 import io.arenadata.dtm.query.execution.plugin.api.dto.RollbackRequest;
 import io.arenadata.dtm.query.execution.plugin.api.factory.RollbackRequestFactory;
 import io.arenadata.dtm.query.execution.plugin.api.service.RollbackService;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service("adqmRollbackService")
 public class AdqmRollbackService implements RollbackService<Void> {
@@ -44,8 +47,14 @@ public class AdqmRollbackService implements RollbackService<Void> {
     public Future<Void> execute(RollbackRequest request) {
         return Future.future(promise -> {
             val rollbackRequest = rollbackRequestFactory.create(request);
-            Future<Void> executingFuture = Future.succeededFuture();
-            for (PreparedStatementRequest statement : rollbackRequest.getStatements()) {
+            val dropTables = rollbackRequest.getDropTables();
+            Future<Void> executingFuture = dropTables.isEmpty() ? Future.succeededFuture()
+                    : adqmQueryExecutor.executeUpdate(dropTables.get(0).getSql())
+                    .compose(v -> CompositeFuture.join(dropTables.subList(1, dropTables.size()).stream()
+                            .map(statement -> (Future) adqmQueryExecutor.executeUpdate(statement.getSql()))
+                            .collect(Collectors.toList())))
+                    .mapEmpty();
+            for (PreparedStatementRequest statement : rollbackRequest.getEraseOps()) {
                 executingFuture = executingFuture.compose(v -> adqmQueryExecutor.executeUpdate(statement.getSql()));
             }
             executingFuture.onSuccess(success -> promise.complete())